@@ -106,7 +106,39 @@ public abstract class AbstractSeleniumConfig extends
         /** name: <b>selenium.grid.no.redirect</b> <br> default: {@code false} */
         GRID_NO_REDIRECT("selenium.grid.no.redirect", "false"),
         /** name: <b>selenium.context.platform</b> <br> default: {@code null} */
-        CONTEXT_PLATFORM("selenium.context.platform", null);
+        CONTEXT_PLATFORM("selenium.context.platform", null),
+        /** name: <b>selenium.pool.max.idle</b> <br> default: <b>0</b> (pooling disabled) */
+        POOL_MAX_IDLE("selenium.pool.max.idle", "0"),
+        /** name: <b>selenium.pool.idle.timeout</b> <br> default: <b>300</b> */
+        POOL_IDLE_TIMEOUT("selenium.pool.idle.timeout", "300"),
+        /** name: <b>selenium.pool.max.uses</b> <br> default: <b>25</b> */
+        POOL_MAX_USES("selenium.pool.max.uses", "25"),
+        /** name: <b>selenium.pool.health.check</b> <br> default: <b>true</b> */
+        POOL_HEALTH_CHECK("selenium.pool.health.check", "true"),
+        /** name: <b>selenium.provision.depth</b> <br> default: <b>0</b> (provisioning disabled) */
+        PROVISION_DEPTH("selenium.provision.depth", "0"),
+        /** name: <b>selenium.provision.navigate</b> <br> default: <b>false</b> */
+        PROVISION_NAVIGATE("selenium.provision.navigate", "false"),
+        /** name: <b>selenium.wait.compiled.slice</b> (milliseconds) <br> default: <b>0</b> (compiled waits disabled) */
+        COMPILED_WAIT_SLICE("selenium.wait.compiled.slice", "0"),
+        /** name: <b>selenium.timeout.implied.zero</b> <br> default: <b>false</b> */
+        ZERO_IMPLICIT_WAIT("selenium.timeout.implied.zero", "false"),
+        /** name: <b>selenium.optional.cache.ttl</b> (milliseconds) <br> default: <b>0</b> (cache disabled) */
+        OPTIONAL_CACHE_TTL("selenium.optional.cache.ttl", "0"),
+        /** name: <b>selenium.refresh.batch</b> <br> default: <b>false</b> */
+        BATCH_REFRESH("selenium.refresh.batch", "false"),
+        /** name: <b>selenium.command.metrics</b> <br> default: <b>true</b> */
+        COMMAND_METRICS("selenium.command.metrics", "true"),
+        /** name: <b>selenium.budget.report.only</b> <br> default: <b>false</b> */
+        COMMAND_BUDGET_REPORT_ONLY("selenium.budget.report.only", "false"),
+        /** name: <b>selenium.timeline.capacity</b> (spans) <br> default: <b>0</b> (timeline disabled) */
+        TIMELINE_CAPACITY("selenium.timeline.capacity", "0"),
+        /** name: <b>selenium.grid.in.process</b> <br> default: <b>false</b> */
+        GRID_IN_PROCESS("selenium.grid.in.process", "false"),
+        /** name: <b>selenium.grid.persistent</b> <br> default: <b>false</b> */
+        GRID_PERSISTENT("selenium.grid.persistent", "false"),
+        /** name: <b>selenium.grid.idle.timeout</b> (seconds) <br> default: <b>1800</b> */
+        GRID_IDLE_TIMEOUT("selenium.grid.idle.timeout", "1800");
         
         private String propertyName;
         private String defaultValue;
@@ -518,4 +550,4 @@ public abstract class AbstractSeleniumConfig extends
     public String getSettingsPath() {
         return SETTINGS_FILE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.nordstrom.automation.selenium.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import com.nordstrom.automation.selenium.core.CommandBudgetVerifier;
+
+/**
+ * This annotation enables you to specify limits on the number of driver commands issued by a test and on its
+ * wall-clock duration, on either individual test methods or for an entire test class. A test that exceeds its budget
+ * fails, unless the budget is declared to be report-only.
+ * <p>
+ * <b>NOTE</b>: Driver acquisition is excluded from the budget. The command count includes every command issued by the
+ * test (including those that open the initial page), as recorded by instrumented driver sessions.
+ * 
+ * @see CommandBudgetVerifier
+ */
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface CommandBudget {
+    /**
+     * Get the maximum number of driver commands.
+     * 
+     * @return maximum command count; 0 for no limit
+     */
+    long maxCommands() default 0;
+    
+    /**
+     * Get the maximum wall-clock duration.
+     * 
+     * @return maximum duration in milliseconds; 0 for no limit
+     */
+    long maxMillis() default 0;
+    
+    /**
+     * Determine if budget overruns are only reported (instead of failing the test).
+     * 
+     * @return 'true' to log a warning for budget overruns; 'false' to fail the test
+     */
+    boolean reportOnly() default false;
+}
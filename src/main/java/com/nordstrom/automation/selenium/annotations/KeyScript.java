@@ -0,0 +1,41 @@
+package com.nordstrom.automation.selenium.annotations;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import com.nordstrom.automation.selenium.model.ComponentContainer;
+
+/**
+ * This annotation declares a JavaScript expression that produces the map key for a container, enabling container maps
+ * to compute the keys of all their entries in a single script execution.
+ * <p>
+ * The expression is evaluated with the context element of each container bound to a variable named {@code element}.
+ * It must produce the same value that the container's static {@code getKey(SearchContext)} method would return:
+ * <pre>
+ * &#64;KeyScript("element.id")
+ * public class TableComponent extends PageComponent {
+ *     ...
+ *     public static Object getKey(SearchContext context) {
+ *         return ((WebElement) context).getAttribute("id");
+ *     }
+ * }</pre>
+ * <b>NOTE</b>: Containers that declare this annotation aren't required to declare a {@code getKey} method. If they do,
+ * that method is used as a fallback when the batch key script can't be executed (e.g. - when a Content Security
+ * Policy blocks script compilation). Otherwise, the expression is evaluated for each context element individually.
+ *
+ * @see ComponentContainer#newComponentMap
+ * @see ComponentContainer#newFrameMap
+ */
+@Retention(RUNTIME)
+@Target({TYPE})
+public @interface KeyScript {
+    /**
+     * Get the key expression.
+     *
+     * @return JavaScript expression that produces the map key for the context {@code element}
+     */
+    String value();
+}
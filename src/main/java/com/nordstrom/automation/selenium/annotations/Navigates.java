@@ -0,0 +1,22 @@
+package com.nordstrom.automation.selenium.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation declares that the page returned by a container method will replace the current page in the same
+ * window.
+ * <p>
+ * The interceptor skips capturing the initial set of window handles for methods with this annotation. A method that
+ * declares this annotation must not return a page that's set to open in a new window.
+ * 
+ * @see OpensWindow
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface Navigates {
+
+}
@@ -0,0 +1,21 @@
+package com.nordstrom.automation.selenium.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation declares that the page returned by a container method will be opened in a new window.
+ * <p>
+ * The interceptor captures the initial set of window handles for methods with this annotation, but doesn't wait for
+ * the current page to be replaced.
+ * 
+ * @see Navigates
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface OpensWindow {
+
+}
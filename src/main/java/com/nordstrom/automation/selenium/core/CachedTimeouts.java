@@ -0,0 +1,252 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriver.Timeouts;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.WaitType;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+
+/**
+ * This class tracks the timeout intervals applied to a driver session, skipping commands that wouldn't change them.
+ * <p>
+ * Each driver has a single instance of this class, obtained via {@link #of(WebDriver)}. Timeout changes made through
+ * this instance are only sent to the driver if the new interval differs from the one most recently applied. This
+ * eliminates redundant commands when the same intervals are set repeatedly - for example, when element references are
+ * acquired with implicit waits disabled, or when pooled driver sessions are reconfigured.
+ * <p>
+ * If the {@link SeleniumSettings#ZERO_IMPLICIT_WAIT zero implicit wait} setting is enabled, the implicit wait of each
+ * driver is set to zero and left there, with all waiting performed by {@link SearchContextWait}. In this mode, element
+ * acquisition issues no timeout commands at all.
+ * <p>
+ * Otherwise, element acquisition disables the implicit wait for each search and then {@link
+ * #deferImplicitWait(long, TimeUnit) defers} restoring it. For drivers whose commands pass through the executor
+ * installed by {@link GridUtility}, the restored interval is only sent before the next element search that isn't
+ * preceded by another acquisition. Consecutive acquisitions therefore issue no timeout commands after the first.
+ * <p>
+ * <b>NOTE</b>: Timeout changes made directly through {@link WebDriver.Options#timeouts() driver.manage().timeouts()}
+ * bypass this tracker. Always change timeouts through this class to keep its record in sync with the driver.
+ */
+public final class CachedTimeouts implements Timeouts {
+
+    private static final long UNKNOWN = -1;
+    private static final Map<WebDriver, CachedTimeouts> timeoutsMap =
+                    Collections.synchronizedMap(new WeakHashMap<WebDriver, CachedTimeouts>());
+    private static final AtomicLong issuedCount = new AtomicLong();
+    private static final AtomicLong skippedCount = new AtomicLong();
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedTimeouts.class);
+
+    private final WebDriver driver;
+    private long implicitWait = UNKNOWN;
+    private long scriptTimeout = UNKNOWN;
+    private long pageLoadTimeout = UNKNOWN;
+    private long deferredWait = UNKNOWN;
+    private final boolean canDefer;
+
+    /**
+     * Constructor for timeouts tracker
+     *
+     * @param driver driver object
+     */
+    private CachedTimeouts(final WebDriver driver) {
+        this.driver = driver;
+        this.canDefer = (driver instanceof RemoteWebDriver)
+                        && (((RemoteWebDriver) driver).getCommandExecutor() instanceof InstrumentedCommandExecutor);
+    }
+
+    /**
+     * Get the timeouts tracker for the specified driver.
+     *
+     * @param driver driver object
+     * @return timeouts tracker for the specified driver
+     */
+    public static CachedTimeouts of(final WebDriver driver) {
+        synchronized (timeoutsMap) {
+            CachedTimeouts timeouts = timeoutsMap.get(driver);
+            if (timeouts == null) {
+                timeouts = new CachedTimeouts(driver);
+                timeoutsMap.put(driver, timeouts);
+            }
+            return timeouts;
+        }
+    }
+
+    /**
+     * Discard the recorded timeout intervals for the specified driver.
+     * <p>
+     * <b>NOTE</b>: The next change to each timeout will be sent to the driver, regardless of its prior value.
+     *
+     * @param driver driver object
+     */
+    public static void invalidate(final WebDriver driver) {
+        timeoutsMap.remove(driver);
+    }
+
+    /**
+     * Get the implicit wait interval that should be applied to drivers between element searches.
+     *
+     * @param config configuration object
+     * @return configured {@link WaitType#IMPLIED implied} interval; 0 if zero implicit wait mode is enabled
+     */
+    public static long getImplicitWait(final SeleniumConfig config) {
+        if (config.getBoolean(SeleniumSettings.ZERO_IMPLICIT_WAIT.key())) {
+            return 0;
+        }
+        return WaitType.IMPLIED.getInterval(config);
+    }
+
+    /**
+     * Get the implicit wait interval that should be applied to drivers between element searches.
+     *
+     * @return configured {@link WaitType#IMPLIED implied} interval; 0 if zero implicit wait mode is enabled
+     */
+    public static long getImplicitWait() {
+        return getImplicitWait(SeleniumConfig.getConfig());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Timeouts implicitlyWait(final long time, final TimeUnit unit) {
+        long millis = unit.toMillis(time);
+        if (deferredWait != UNKNOWN) {
+            // superseded deferred change is never sent
+            skippedCount.incrementAndGet();
+            deferredWait = UNKNOWN;
+        }
+        if (isChange(implicitWait, millis)) {
+            driver.manage().timeouts().implicitlyWait(time, unit);
+            implicitWait = millis;
+        }
+        return this;
+    }
+
+    /**
+     * Request the specified implicit wait interval, deferring the command until the driver next searches for
+     * elements.
+     * <p>
+     * <b>NOTE</b>: If the driver's commands don't pass through the executor installed by {@link GridUtility}, the
+     * change can't be deferred and is applied immediately.
+     *
+     * @param time the amount of time to wait
+     * @param unit the unit of measure for {@code time}
+     * @return this timeouts tracker
+     */
+    public synchronized Timeouts deferImplicitWait(final long time, final TimeUnit unit) {
+        if (!canDefer) {
+            return implicitlyWait(time, unit);
+        }
+        long millis = unit.toMillis(time);
+        if (millis == implicitWait) {
+            if (deferredWait != UNKNOWN) {
+                skippedCount.incrementAndGet();
+            }
+            deferredWait = UNKNOWN;
+        } else {
+            deferredWait = millis;
+        }
+        return this;
+    }
+
+    /**
+     * Send the deferred implicit wait interval (if any) for the specified driver.
+     * <p>
+     * <b>NOTE</b>: This method is invoked by {@link InstrumentedCommandExecutor} before each element search.
+     *
+     * @param driver driver object
+     */
+    static void applyDeferredWait(final WebDriver driver) {
+        CachedTimeouts timeouts = timeoutsMap.get(driver);
+        if (timeouts != null) {
+            timeouts.applyDeferredWait();
+        }
+    }
+
+    /**
+     * Send the deferred implicit wait interval (if any).
+     */
+    private synchronized void applyDeferredWait() {
+        if (deferredWait != UNKNOWN) {
+            long millis = deferredWait;
+            deferredWait = UNKNOWN;
+            implicitlyWait(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Timeouts setScriptTimeout(final long time, final TimeUnit unit) {
+        long millis = unit.toMillis(time);
+        if (isChange(scriptTimeout, millis)) {
+            driver.manage().timeouts().setScriptTimeout(time, unit);
+            scriptTimeout = millis;
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Timeouts pageLoadTimeout(final long time, final TimeUnit unit) {
+        long millis = unit.toMillis(time);
+        if (isChange(pageLoadTimeout, millis)) {
+            driver.manage().timeouts().pageLoadTimeout(time, unit);
+            pageLoadTimeout = millis;
+        }
+        return this;
+    }
+
+    /**
+     * Get the number of timeout commands sent to drivers.
+     *
+     * @return count of issued timeout commands
+     */
+    public static long getIssuedCount() {
+        return issuedCount.get();
+    }
+
+    /**
+     * Get the number of redundant timeout commands that were skipped.
+     *
+     * @return count of skipped timeout commands
+     */
+    public static long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * Log the counts of issued and skipped timeout commands.
+     */
+    public static void logCounts() {
+        LOGGER.debug("Timeout commands: issued = {}; skipped = {}", issuedCount.get(), skippedCount.get());
+    }
+
+    /**
+     * Determine if the specified interval differs from the one currently applied, updating command counts.
+     *
+     * @param current currently applied interval in milliseconds ({@link #UNKNOWN} if not yet applied)
+     * @param millis requested interval in milliseconds
+     * @return 'true' if a timeout command must be sent; otherwise 'false'
+     */
+    private static boolean isChange(final long current, final long millis) {
+        if (current == millis) {
+            skippedCount.incrementAndGet();
+            return false;
+        }
+        issuedCount.incrementAndGet();
+        return true;
+    }
+}
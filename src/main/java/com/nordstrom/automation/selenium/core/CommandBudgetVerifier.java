@@ -0,0 +1,89 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.lang.reflect.Method;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.annotations.CommandBudget;
+import com.nordstrom.automation.selenium.exceptions.CommandBudgetExceededException;
+
+/**
+ * This class verifies that tests stay within the limits declared by their {@link CommandBudget} annotations.
+ * <p>
+ * The command count and wall-clock duration of each test are taken from its {@link CommandMetrics}. If a test exceeds
+ * its budget, {@link CommandBudgetExceededException} is thrown. If the budget is report-only (or the
+ * {@link SeleniumSettings#COMMAND_BUDGET_REPORT_ONLY report-only} setting is enabled), a warning is logged instead.
+ */
+public final class CommandBudgetVerifier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandBudgetVerifier.class);
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CommandBudgetVerifier() {
+        throw new AssertionError("CommandBudgetVerifier is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Get the command budget for the specified test method.
+     * 
+     * @param method test method
+     * @return budget declared by the method or the class that declares it; 'null' if none was declared
+     */
+    public static CommandBudget getBudget(final Method method) {
+        CommandBudget budget = method.getAnnotation(CommandBudget.class);
+        if (budget == null) {
+            budget = method.getDeclaringClass().getAnnotation(CommandBudget.class);
+        }
+        return budget;
+    }
+
+    /**
+     * Verify that the specified test metrics are within the specified budget.
+     * 
+     * @param budget command budget (may be 'null')
+     * @param metrics test metrics (may be 'null')
+     * @return description of the budget overrun; 'null' if within budget (or if either argument is 'null')
+     * @throws CommandBudgetExceededException if the budget was exceeded and overruns aren't report-only
+     */
+    public static String verify(final CommandBudget budget, final CommandMetrics metrics) {
+        if ((budget == null) || (metrics == null)) {
+            return null;
+        }
+
+        StringBuilder overrun = new StringBuilder();
+        long commandCount = metrics.getCommandCount();
+        if ((budget.maxCommands() > 0) && (commandCount > budget.maxCommands())) {
+            overrun.append(commandCount).append(" commands (limit ").append(budget.maxCommands()).append(')');
+        }
+        long elapsedMillis = metrics.getElapsedMillis();
+        if ((budget.maxMillis() > 0) && (elapsedMillis > budget.maxMillis())) {
+            overrun.append((overrun.length() > 0) ? "; " : "");
+            overrun.append(elapsedMillis).append("ms (limit ").append(budget.maxMillis()).append("ms)");
+        }
+
+        if (overrun.length() == 0) {
+            return null;
+        }
+
+        String message = "Test [" + metrics.getTestName() + "] exceeded its command budget: " + overrun;
+        if (budget.reportOnly() || isReportOnly()) {
+            LOGGER.warn(message);
+            return message;
+        }
+        throw new CommandBudgetExceededException(message);
+    }
+
+    /**
+     * Determine if all budget overruns are only reported.
+     * 
+     * @return 'true' if the report-only setting is enabled; otherwise 'false'
+     */
+    private static boolean isReportOnly() {
+        return SeleniumConfig.getConfig().getBoolean(SeleniumSettings.COMMAND_BUDGET_REPORT_ONLY.key());
+    }
+}
@@ -0,0 +1,603 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+
+/**
+ * This class records the WebDriver commands issued by instrumented driver sessions.
+ * <p>
+ * Sessions created by {@link GridUtility#getDriver(java.net.URL, org.openqa.selenium.Capabilities)} send their
+ * commands through an instrumented command executor (unless disabled by the {@link SeleniumSettings#COMMAND_METRICS
+ * command metrics} setting). For each command, the executor records the round-trip latency and the approximate size of
+ * the request and response payloads. Each command is attributed to:
+ * <ul>
+ *     <li>the test that was running on the issuing thread (if any)</li>
+ *     <li>the page-object class and method that issued the command (if any)</li>
+ *     <li>the command type (e.g. - {@code findElement}, {@code executeScript}, {@code getWindowHandles})</li>
+ * </ul>
+ * Commands are tallied by attribution in latency histograms, and each command is recorded twice: in the metrics of
+ * the entire run ({@link #global()}) and in the metrics of the current test ({@link #current()}). The metrics of the
+ * most recent test that ended on each thread are retained for reporting ({@link #lastEnded()}), which binds them to the
+ * invocation of that test even if several methods of the same test class instance run in parallel.
+ * <p>
+ * Metrics can be exported as JSON ({@link #toJson()}) or in Prometheus text exposition format
+ * ({@link #toPrometheus()}).
+ * <p>
+ * <b>NOTE</b>: Payload sizes are estimated from the JSON encoding of the command parameters and response values,
+ * without escape sequences or HTTP framing.
+ */
+public final class CommandMetrics {
+
+    /** upper bounds of latency histogram buckets, in milliseconds */
+    private static final long[] BUCKETS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final String PREFIX = "selenium_command_";
+    private static final CommandMetrics GLOBAL = new CommandMetrics("");
+    private static final ThreadLocal<CommandMetrics> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<CommandMetrics> ENDED = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<String[]>> SCOPE = new ThreadLocal<Deque<String[]>>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Deque<String[]> initialValue() {
+            return new ArrayDeque<>();
+        }
+    };
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandMetrics.class);
+
+    private final String testName;
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+    private final List<CommandStats> statsList = new ArrayList<>();
+    private final Map<String, Map<String, Map<String, Map<String, CommandStats>>>> statsIndex = new HashMap<>();
+
+    /**
+     * Constructor for command metrics
+     *
+     * @param testName name of test whose commands are recorded; empty for metrics of the entire run
+     */
+    private CommandMetrics(final String testName) {
+        this.testName = testName;
+    }
+
+    /**
+     * Get the metrics of all commands issued during this run.
+     *
+     * @return metrics of the entire run
+     */
+    public static CommandMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Get the metrics of the test that's currently running on this thread.
+     *
+     * @return metrics of the current test; 'null' if no test is running
+     */
+    public static CommandMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Get the metrics of the most recent test that ended on this thread.
+     *
+     * @return metrics of the most recent test; 'null' if no test has ended since the current test began
+     */
+    public static CommandMetrics lastEnded() {
+        return ENDED.get();
+    }
+
+    /**
+     * Begin recording the commands of the specified test on this thread.
+     *
+     * @param testName test name
+     * @return metrics of the specified test
+     */
+    public static CommandMetrics beginTest(final String testName) {
+        CommandMetrics metrics = new CommandMetrics(testName);
+        ENDED.remove();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * Stop recording the commands of the current test on this thread.
+     *
+     * @return metrics of the test that was running; 'null' if no test was running
+     */
+    public static CommandMetrics endTest() {
+        CommandMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.endNanos = System.nanoTime();
+            ENDED.set(metrics);
+        }
+        CURRENT.remove();
+        return metrics;
+    }
+
+    /**
+     * Attribute subsequent commands on this thread to the specified page-object method.
+     * <p>
+     * <b>NOTE</b>: Page-object methods may be nested; each call to this method must be paired with a call to
+     * {@link #exitMethod()}.
+     *
+     * @param containerClass page-object class
+     * @param methodName page-object method name
+     */
+    public static void enterMethod(final Class<?> containerClass, final String methodName) {
+        SCOPE.get().push(new String[] {containerClass.getSimpleName(), methodName});
+    }
+
+    /**
+     * Revert command attribution on this thread to the enclosing page-object method (if any).
+     */
+    public static void exitMethod() {
+        SCOPE.get().poll();
+    }
+
+    /**
+     * Record a command issued on this thread.
+     *
+     * @param command command name
+     * @param nanos round-trip latency in nanoseconds
+     * @param requestBytes approximate size of request payload
+     * @param responseBytes approximate size of response payload
+     */
+    static void record(final String command, final long nanos, final long requestBytes, final long responseBytes) {
+        CommandMetrics metrics = CURRENT.get();
+        String[] scope = SCOPE.get().peek();
+        String test = (metrics != null) ? metrics.testName : "";
+        String pageClass = (scope != null) ? scope[0] : "";
+        String pageMethod = (scope != null) ? scope[1] : "";
+
+        GLOBAL.getStats(test, pageClass, pageMethod, command).add(nanos, requestBytes, responseBytes);
+        if (metrics != null) {
+            metrics.getStats(test, pageClass, pageMethod, command).add(nanos, requestBytes, responseBytes);
+        }
+    }
+
+    /**
+     * Log a summary of all commands issued during this run.
+     */
+    public static void logSummary() {
+        LOGGER.debug("WebDriver commands: {}", GLOBAL);
+    }
+
+    /**
+     * Get the name of the test whose commands are recorded by these metrics.
+     *
+     * @return test name; empty for metrics of the entire run
+     */
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * Get the wall-clock time covered by these metrics.
+     *
+     * @return milliseconds from the start of the test to its end (or to now, if still running);
+     *         for metrics of the entire run, milliseconds since recording began
+     */
+    public long getElapsedMillis() {
+        long end = (endNanos != 0) ? endNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    /**
+     * Get the command statistics recorded by these metrics.
+     *
+     * @return list of command statistics, one per attribution, in order of first occurrence
+     */
+    public List<CommandStats> getStats() {
+        synchronized (statsList) {
+            return new ArrayList<>(statsList);
+        }
+    }
+
+    /**
+     * Get the total number of commands recorded by these metrics.
+     *
+     * @return command count
+     */
+    public long getCommandCount() {
+        long count = 0;
+        for (CommandStats stats : getStats()) {
+            count += stats.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the total round-trip latency of the commands recorded by these metrics.
+     *
+     * @return total latency in milliseconds
+     */
+    public long getTotalMillis() {
+        long nanos = 0;
+        for (CommandStats stats : getStats()) {
+            nanos += stats.getTotalNanos();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Get the number of commands of each type recorded by these metrics.
+     *
+     * @return map of command names to command counts, in order of first occurrence
+     */
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (CommandStats stats : getStats()) {
+            Long count = counts.get(stats.getCommand());
+            counts.put(stats.getCommand(), (count != null) ? count + stats.getCount() : stats.getCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Export these metrics as JSON.
+     *
+     * @return JSON representation of these metrics
+     */
+    public String toJson() {
+        StringBuilder builder = new StringBuilder("{\"test\":").append(quote(testName))
+                        .append(",\"commandCount\":").append(getCommandCount())
+                        .append(",\"totalMillis\":").append(getTotalMillis())
+                        .append(",\"elapsedMillis\":").append(getElapsedMillis()).append(",\"stats\":[");
+        String separator = "";
+        for (CommandStats stats : getStats()) {
+            builder.append(separator).append("{\"test\":").append(quote(stats.getTest()))
+                            .append(",\"pageClass\":").append(quote(stats.getPageClass()))
+                            .append(",\"pageMethod\":").append(quote(stats.getPageMethod()))
+                            .append(",\"command\":").append(quote(stats.getCommand()))
+                            .append(",\"count\":").append(stats.getCount())
+                            .append(",\"totalMillis\":").append(stats.getTotalNanos() / 1e6)
+                            .append(",\"maxMillis\":").append(stats.getMaxNanos() / 1e6)
+                            .append(",\"requestBytes\":").append(stats.getRequestBytes())
+                            .append(",\"responseBytes\":").append(stats.getResponseBytes())
+                            .append(",\"buckets\":{");
+            long[] counts = stats.getBucketCounts();
+            for (int i = 0; i < BUCKETS.length; i++) {
+                builder.append('"').append(BUCKETS[i]).append("\":").append(counts[i]).append(',');
+            }
+            builder.append("\"+Inf\":").append(stats.getCount()).append("}}");
+            separator = ",";
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Export these metrics in Prometheus text exposition format.
+     * <p>
+     * Latency is exported as a histogram ({@code selenium_command_duration_seconds}), and payload sizes are exported
+     * as counters ({@code selenium_command_request_bytes_total}, {@code selenium_command_response_bytes_total}). Each
+     * series is labeled with {@code test}, {@code page_class}, {@code page_method}, and {@code command}.
+     *
+     * @return Prometheus representation of these metrics
+     */
+    public String toPrometheus() {
+        List<CommandStats> statsList = getStats();
+        StringBuilder builder = new StringBuilder();
+
+        builder.append("# HELP ").append(PREFIX).append("duration_seconds WebDriver command round-trip latency\n");
+        builder.append("# TYPE ").append(PREFIX).append("duration_seconds histogram\n");
+        for (CommandStats stats : statsList) {
+            String labels = labelsOf(stats);
+            long[] counts = stats.getBucketCounts();
+            for (int i = 0; i < BUCKETS.length; i++) {
+                builder.append(PREFIX).append("duration_seconds_bucket{").append(labels).append(",le=\"")
+                                .append(BUCKETS[i] / 1000.0).append("\"} ").append(counts[i]).append('\n');
+            }
+            builder.append(PREFIX).append("duration_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                            .append(stats.getCount()).append('\n');
+            builder.append(PREFIX).append("duration_seconds_sum{").append(labels).append("} ")
+                            .append(stats.getTotalNanos() / 1e9).append('\n');
+            builder.append(PREFIX).append("duration_seconds_count{").append(labels).append("} ")
+                            .append(stats.getCount()).append('\n');
+        }
+
+        builder.append("# HELP ").append(PREFIX).append("request_bytes_total WebDriver command request payload\n");
+        builder.append("# TYPE ").append(PREFIX).append("request_bytes_total counter\n");
+        for (CommandStats stats : statsList) {
+            builder.append(PREFIX).append("request_bytes_total{").append(labelsOf(stats)).append("} ")
+                            .append(stats.getRequestBytes()).append('\n');
+        }
+
+        builder.append("# HELP ").append(PREFIX).append("response_bytes_total WebDriver command response payload\n");
+        builder.append("# TYPE ").append(PREFIX).append("response_bytes_total counter\n");
+        for (CommandStats stats : statsList) {
+            builder.append(PREFIX).append("response_bytes_total{").append(labelsOf(stats)).append("} ")
+                            .append(stats.getResponseBytes()).append('\n');
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Get a brief summary of these metrics.
+     *
+     * @return command count, total latency, and counts by command type
+     */
+    @Override
+    public String toString() {
+        return getCommandCount() + " commands in " + getTotalMillis() + "ms " + getCommandCounts();
+    }
+
+    /**
+     * Get the statistics for the specified attribution, creating them if necessary.
+     * <p>
+     * <b>NOTE</b>: Statistics are indexed by each element of their attribution in turn, so recording a command with an
+     * attribution that's been seen before doesn't allocate a composite key.
+     *
+     * @param test test name
+     * @param pageClass page-object class name
+     * @param pageMethod page-object method name
+     * @param command command name
+     * @return command statistics for the specified attribution
+     */
+    private CommandStats getStats(final String test, final String pageClass, final String pageMethod,
+                    final String command) {
+        synchronized (statsList) {
+            Map<String, CommandStats> byCommand = branchOf(branchOf(branchOf(statsIndex, test), pageClass), pageMethod);
+            CommandStats stats = byCommand.get(command);
+            if (stats == null) {
+                stats = new CommandStats(test, pageClass, pageMethod, command);
+                byCommand.put(command, stats);
+                statsList.add(stats);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Get the branch of the statistics index for the specified attribution element, creating it if necessary.
+     *
+     * @param <V> type of branch values
+     * @param index statistics index (or branch thereof)
+     * @param key attribution element
+     * @return index branch for the specified attribution element
+     */
+    private static <V> Map<String, V> branchOf(final Map<String, Map<String, V>> index, final String key) {
+        Map<String, V> branch = index.get(key);
+        if (branch == null) {
+            branch = new HashMap<>();
+            index.put(key, branch);
+        }
+        return branch;
+    }
+
+    /**
+     * Estimate the size of the JSON encoding of the specified value.
+     *
+     * @param value command parameter or response value
+     * @return approximate size of encoded value
+     */
+    static long sizeOf(final Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if ((value instanceof Number) || (value instanceof Boolean)) {
+            return String.valueOf(value).length();
+        }
+        if (value instanceof Map) {
+            long size = 1;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += sizeOf(String.valueOf(entry.getKey())) + sizeOf(entry.getValue()) + 2;
+            }
+            return Math.max(size, 2);
+        }
+        if (value instanceof Collection) {
+            long size = 1;
+            for (Object item : (Collection<?>) value) {
+                size += sizeOf(item) + 1;
+            }
+            return Math.max(size, 2);
+        }
+        if (value instanceof Object[]) {
+            return sizeOf(Arrays.asList((Object[]) value));
+        }
+        return String.valueOf(value).length() + 2L;
+    }
+
+    /**
+     * Encode the specified string as a JSON string literal.
+     *
+     * @param value string to be encoded
+     * @return JSON string literal
+     */
+    static String quote(final String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if ((c == '"') || (c == '\\')) {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Assemble the Prometheus labels for the specified command statistics.
+     *
+     * @param stats command statistics
+     * @return comma-delimited label list
+     */
+    private static String labelsOf(final CommandStats stats) {
+        return "test=" + label(stats.getTest()) + ",page_class=" + label(stats.getPageClass())
+                        + ",page_method=" + label(stats.getPageMethod()) + ",command=" + label(stats.getCommand());
+    }
+
+    /**
+     * Encode the specified string as a Prometheus label value.
+     *
+     * @param value string to be encoded
+     * @return quoted label value
+     */
+    private static String label(final String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    /**
+     * This class accumulates the statistics of a single command type with a single attribution.
+     */
+    public static final class CommandStats {
+
+        private final String test;
+        private final String pageClass;
+        private final String pageMethod;
+        private final String command;
+        private final long[] bucketCounts = new long[BUCKETS.length];
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long requestBytes;
+        private long responseBytes;
+
+        /**
+         * Constructor for command statistics
+         *
+         * @param test test name
+         * @param pageClass page-object class name
+         * @param pageMethod page-object method name
+         * @param command command name
+         */
+        private CommandStats(final String test, final String pageClass, final String pageMethod,
+                        final String command) {
+            this.test = test;
+            this.pageClass = pageClass;
+            this.pageMethod = pageMethod;
+            this.command = command;
+        }
+
+        /**
+         * Add a command to these statistics.
+         *
+         * @param nanos round-trip latency in nanoseconds
+         * @param requestSize approximate size of request payload
+         * @param responseSize approximate size of response payload
+         */
+        private synchronized void add(final long nanos, final long requestSize, final long responseSize) {
+            // count this command in every bucket whose upper bound is at or above its latency
+            for (int i = BUCKETS.length - 1; i >= 0; i--) {
+                if (nanos > TimeUnit.MILLISECONDS.toNanos(BUCKETS[i])) {
+                    break;
+                }
+                bucketCounts[i]++;
+            }
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            requestBytes += requestSize;
+            responseBytes += responseSize;
+        }
+
+        /**
+         * Get the name of the test that issued these commands.
+         *
+         * @return test name; empty if issued outside of a test
+         */
+        public String getTest() {
+            return test;
+        }
+
+        /**
+         * Get the simple name of the page-object class that issued these commands.
+         *
+         * @return page-object class name; empty if issued outside of a page-object method
+         */
+        public String getPageClass() {
+            return pageClass;
+        }
+
+        /**
+         * Get the name of the page-object method that issued these commands.
+         *
+         * @return page-object method name; empty if issued outside of a page-object method
+         */
+        public String getPageMethod() {
+            return pageMethod;
+        }
+
+        /**
+         * Get the command type of these commands.
+         *
+         * @return command name
+         */
+        public String getCommand() {
+            return command;
+        }
+
+        /**
+         * Get the number of these commands.
+         *
+         * @return command count
+         */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * Get the total round-trip latency of these commands.
+         *
+         * @return total latency in nanoseconds
+         */
+        public synchronized long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Get the maximum round-trip latency of these commands.
+         *
+         * @return maximum latency in nanoseconds
+         */
+        public synchronized long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Get the cumulative latency histogram of these commands.
+         *
+         * @return for each bucket, the number of commands with latency at or below its upper bound
+         *         (5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, and 10000 milliseconds)
+         */
+        public synchronized long[] getBucketCounts() {
+            return bucketCounts.clone();
+        }
+
+        /**
+         * Get the approximate total size of the request payloads of these commands.
+         *
+         * @return request payload size
+         */
+        public synchronized long getRequestBytes() {
+            return requestBytes;
+        }
+
+        /**
+         * Get the approximate total size of the response payloads of these commands.
+         *
+         * @return response payload size
+         */
+        public synchronized long getResponseBytes() {
+            return responseBytes;
+        }
+    }
+}
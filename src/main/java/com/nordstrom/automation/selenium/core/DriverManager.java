@@ -1,6 +1,11 @@
 package com.nordstrom.automation.selenium.core;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.openqa.selenium.JavascriptExecutor;
@@ -10,6 +15,8 @@ import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.SessionId;
 import org.openqa.selenium.support.ui.FluentWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
@@ -18,6 +25,7 @@ import com.nordstrom.automation.selenium.SeleniumConfig;
 import com.nordstrom.automation.selenium.annotations.InitialPage;
 import com.nordstrom.automation.selenium.annotations.NoDriver;
 import com.nordstrom.automation.selenium.annotations.PageUrl;
+import com.nordstrom.automation.selenium.core.DriverProvisioner.UpcomingTest;
 import com.nordstrom.automation.selenium.interfaces.DriverProvider;
 import com.nordstrom.automation.selenium.model.Page;
 
@@ -27,7 +35,10 @@ import com.nordstrom.automation.selenium.model.Page;
  *     <li>Manage Selenium driver lifetime.</li>
  *     <li>For local execution, manage a local instance of Selenium Grid.</li>
  *     <li>Store and dispense the driver instance created for the test.</li>
+ *     <li>If enabled, recycle driver sessions through the {@link DriverPool}.</li>
+ *     <li>If enabled, provision driver sessions in advance through the {@link DriverProvisioner}.</li>
  *     <li>Manage configured driver timeout intervals.</li>
+ *     <li>Record the driver commands issued by each test in {@link CommandMetrics}.</li>
  *     <li>If an initial page class is specified:
  *         <ul>
  *             <li>Open the initial page based on its {@link PageUrl} annotation.</li>
@@ -39,6 +50,8 @@ import com.nordstrom.automation.selenium.model.Page;
  * @see GridUtility
  */
 public final class DriverManager {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverManager.class);
 
     /**
      * Private constructor to prevent instantiation.
@@ -53,6 +66,7 @@ public final class DriverManager {
      *     <li>Ensure that a driver instance has been created for the test.</li>
      *     <li>Store the driver instance for subsequent dispensing.</li>
      *     <li>Manage configured driver timeout intervals.</li>
+     *     <li>If invoked method is a test, begin recording its driver commands and timeline.</li>
      *     <li>If specified, open the initial page, storing the page object for subsequent dispensing.</li>
      * </ul>
      * 
@@ -116,20 +130,30 @@ public final class DriverManager {
                     long after = System.currentTimeMillis();
                     instance.adjustTimeout(after - prior);
                     instance.activatePlatform(driver);
+                    DriverProvisioner.advance(new UpcomingTest(instance.getClass(), method));
                 }
             }
-            
-            // if initial page spec'd
-            if (initialPage != null) {
-                Page page = Page.openInitialPage(initialPage, optDriver.get(), config.getTargetUri());
-                instance.setInitialPage(instance.prepInitialPage(page));
-            }
+        }
+        
+        // if invoked method is @Test, record its commands (excluding driver acquisition)
+        if (instance.isTest(method)) {
+            String testName = instance.getClass().getSimpleName() + "." + method.getName();
+            CommandMetrics.beginTest(testName);
+            TimelineRecorder.beginTest(testName);
+        }
+        
+        // if initial page spec'd
+        if (getDriver && (initialPage != null)) {
+            URI targetUri = SeleniumConfig.getConfig().getTargetUri();
+            Page page = Page.openInitialPage(initialPage, optDriver.get(), targetUri);
+            instance.setInitialPage(instance.prepInitialPage(page));
         }
     }
 
     /**
      * Perform post-invocation processing:
      * <ul>
+     *     <li>If invoked method is a test, stop recording its driver commands and write its timeline.</li>
      *     <li>If indicated, close the driver that was acquired for this method.</li>
      * </ul>
      * 
@@ -139,6 +163,10 @@ public final class DriverManager {
     public static void afterInvocation(final Object obj, final Method method) {
         if (obj instanceof TestBase) {
             TestBase instance = (TestBase) obj;
+            if (instance.isTest(method)) {
+                CommandMetrics.endTest();
+                writeTimeline(instance);
+            }
             if (!(instance.isTest(method) || instance.isBeforeMethod(method))) {
                 closeDriver(instance);
             }
@@ -146,11 +174,53 @@ public final class DriverManager {
     }
 
     /**
-     * Perform post-suite processing, shutting down the local Selenium Grid.
+     * If the timeline of the current test was recorded, write it to the test output directory.
+     * 
+     * @param instance test class instance
+     */
+    private static void writeTimeline(final TestBase instance) {
+        TimelineRecorder recorder = TimelineRecorder.endTest();
+        if (recorder != null) {
+            try {
+                recorder.write(Paths.get(instance.getOutputDirectory()));
+            } catch (IOException | InvalidPathException e) {
+                LOGGER.warn("Failed writing timeline of test: {}", recorder.getTestName(), e);
+            }
+        }
+    }
+
+    /**
+     * Perform pre-suite processing, starting background provisioning of driver sessions for the specified methods.
+     * <p>
+     * <b>NOTE</b>: If persistent local Grid mode is enabled, this also starts the heartbeat that marks the Grid as
+     * used while the suite runs.
+     * 
+     * @param tests upcoming tests, in expected execution order
+     * @see DriverProvisioner
+     */
+    public static void onStart(final List<UpcomingTest> tests) {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        if (GridState.isEnabled(config)) {
+            GridState.startHeartbeat(config);
+        }
+        DriverProvisioner.expect(tests);
+    }
+    
+    /**
+     * Perform post-suite processing, draining the driver pool and shutting down the local Selenium Grid.
+     * <p>
+     * <b>NOTE</b>: A persistent local Grid isn't shut down; it's marked as used, deferring its idle shutdown.
      */
     public static void onFinish() {
+        DriverProvisioner.drain();
+        DriverPool.drain();
+        CachedTimeouts.logCounts();
+        CommandMetrics.logSummary();
         SeleniumConfig config = SeleniumConfig.getConfig();
-        if (config.getBoolean(SeleniumSettings.SHUTDOWN_GRID.key())) {
+        if (GridState.isEnabled(config)) {
+            GridState.stopHeartbeat();
+            GridState.touch(config);
+        } else if (config.getBoolean(SeleniumSettings.SHUTDOWN_GRID.key())) {
             try {
                 config.shutdownGrid(true);
             } catch (InterruptedException e) {
@@ -166,9 +236,9 @@ public final class DriverManager {
      * @param config configuration object that specifies timeout intervals
      */
     public static void setDriverTimeouts(final WebDriver driver, final SeleniumConfig config) {
-        Timeouts timeouts = driver.manage().timeouts();
+        Timeouts timeouts = CachedTimeouts.of(driver);
         timeouts.setScriptTimeout(WaitType.SCRIPT.getInterval(config), TimeUnit.SECONDS);
-        timeouts.implicitlyWait(WaitType.IMPLIED.getInterval(config), TimeUnit.SECONDS);
+        timeouts.implicitlyWait(CachedTimeouts.getImplicitWait(config), TimeUnit.SECONDS);
         timeouts.pageLoadTimeout(WaitType.PAGE_LOAD.getInterval(config), TimeUnit.SECONDS);
     }
     
@@ -238,7 +308,12 @@ public final class DriverManager {
             ((TestBase) obj).setInitialPage(null);
             ((TestBase) obj).setDriver(null);
             optDriver = Optional.absent();
-            driver.quit();
+            
+            // if not recycled by the pool
+            DriverProvisioner.forget(driver);
+            if (!DriverPool.release(driver)) {
+                driver.quit();
+            }
         }
         
         return optDriver;
@@ -263,7 +338,7 @@ public final class DriverManager {
                 if (instance instanceof DriverProvider) {
                     return ((DriverProvider) instance).provideDriver(method);
                 } else {
-                    return GridUtility.getDriver();
+                    return DriverPool.acquire(new UpcomingTest(instance.getClass(), method));
                 }
             }
             
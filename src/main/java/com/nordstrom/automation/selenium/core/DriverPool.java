@@ -0,0 +1,445 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.core.DriverProvisioner.UpcomingTest;
+import com.nordstrom.automation.selenium.model.BrowsingContext;
+
+/**
+ * This static utility class maintains a pool of recycled driver sessions, keyed by resolved {@link Capabilities}.
+ * <p>
+ * Released sessions are reset (cookies deleted, local/session storage cleared, extra windows closed, and the
+ * remaining window navigated to <b>about:blank</b>) and retained for the next request that specifies the same
+ * capabilities. The per-driver state held by other components (the {@link BrowsingContext browsing context} model and
+ * the {@link CachedTimeouts recorded timeouts}) is discarded whenever a session is reset or evicted, so the next test
+ * starts from what the driver reports rather than from what the previous test left behind. Pooling behavior is
+ * governed by the following settings:
+ * <ul>
+ *     <li>{@link SeleniumSettings#POOL_MAX_IDLE POOL_MAX_IDLE}: maximum idle sessions retained per capabilities
+ *         (<b>0</b> disables pooling)</li>
+ *     <li>{@link SeleniumSettings#POOL_IDLE_TIMEOUT POOL_IDLE_TIMEOUT}: maximum idle interval in seconds</li>
+ *     <li>{@link SeleniumSettings#POOL_MAX_USES POOL_MAX_USES}: maximum uses per session</li>
+ *     <li>{@link SeleniumSettings#POOL_HEALTH_CHECK POOL_HEALTH_CHECK}: verify that idle sessions are still
+ *         responsive before handing them out</li>
+ * </ul>
+ * If no idle session is available, sessions created in advance by the {@link DriverProvisioner} are claimed before
+ * new sessions are requested.
+ * <p>
+ * <b>NOTE</b>: Only sessions acquired through {@link #acquire()} are eligible for recycling. Drivers supplied by
+ * {@link com.nordstrom.automation.selenium.interfaces.DriverProvider DriverProvider} implementations are never
+ * retained.
+ */
+public final class DriverPool {
+
+    private static final String RESET_STORAGE =
+                    "try { window.localStorage.clear(); } catch (e) { } "
+                    + "try { window.sessionStorage.clear(); } catch (e) { }";
+    private static final String ABOUT_BLANK = "about:blank";
+
+    private static final Map<Map<String, ?>, Deque<PooledSession>> IDLE_MAP = new HashMap<>();
+    private static final Map<WebDriver, PooledSession> SESSION_MAP = new IdentityHashMap<>();
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong PROVISIONED = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverPool.class);
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private DriverPool() {
+        throw new AssertionError("DriverPool is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Get a driver with "current" capabilities, recycling an idle session if one is available.
+     * <p>
+     * <b>NOTE</b>: This method acquires Grid URL and desired driver capabilities from the active configuration.
+     *
+     * @return driver object
+     */
+    public static WebDriver acquire() {
+        return acquire((UpcomingTest) null);
+    }
+
+    /**
+     * Get a driver with "current" capabilities for the specified test, recycling an idle session if one is
+     * available. Otherwise, a session that the {@link DriverProvisioner} created for this test is preferred.
+     * <p>
+     * <b>NOTE</b>: This method acquires Grid URL and desired driver capabilities from the active configuration.
+     *
+     * @param test test for which the driver is acquired (may be 'null')
+     * @return driver object
+     */
+    public static WebDriver acquire(final UpcomingTest test) {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        URL remoteAddress = config.getSeleniumGrid().getHubServer().getUrl();
+        Capabilities capabilities = config.getCurrentCapabilities();
+        return acquire(remoteAddress, capabilities, test);
+    }
+
+    /**
+     * Get a driver with desired capabilities, recycling an idle session if one is available.
+     *
+     * @param remoteAddress Grid hub from which to obtain a new driver
+     * @param desiredCapabilities desired capabilities for the driver
+     * @return driver object
+     */
+    public static WebDriver acquire(final URL remoteAddress, final Capabilities desiredCapabilities) {
+        return acquire(remoteAddress, desiredCapabilities, null);
+    }
+
+    /**
+     * Get a driver with desired capabilities for the specified test, recycling an idle session if one is available.
+     *
+     * @param remoteAddress Grid hub from which to obtain a new driver
+     * @param desiredCapabilities desired capabilities for the driver
+     * @param test test for which the driver is acquired (may be 'null')
+     * @return driver object
+     */
+    private static WebDriver acquire(final URL remoteAddress, final Capabilities desiredCapabilities,
+                    final UpcomingTest test) {
+        boolean pooling = (getMaxIdle() > 0);
+        Map<String, ?> key = new HashMap<>(desiredCapabilities.asMap());
+
+        if (pooling) {
+            PooledSession session;
+            while (null != (session = pollIdle(key))) {
+                if (!isHealthy(session)) {
+                    evict(session, "failed health check");
+                } else {
+                    HITS.incrementAndGet();
+                    return activate(session);
+                }
+            }
+        }
+
+        // check for session created by the provisioner
+        WebDriver driver = DriverProvisioner.claim(key, test);
+        if (driver != null) {
+            PROVISIONED.incrementAndGet();
+        } else {
+            MISSES.incrementAndGet();
+            driver = GridUtility.getDriver(remoteAddress, desiredCapabilities);
+        }
+        return pooling ? activate(new PooledSession(key, driver)) : driver;
+    }
+
+    /**
+     * Release the specified driver to the pool.
+     * <p>
+     * <b>NOTE</b>: If this method returns 'false', the caller is responsible for quitting the driver.
+     *
+     * @param driver driver object to be released
+     * @return 'true' if the pool assumed ownership of the driver; otherwise 'false'
+     */
+    public static boolean release(final WebDriver driver) {
+        PooledSession session;
+        synchronized (DriverPool.class) {
+            session = SESSION_MAP.remove(driver);
+        }
+
+        if (session == null) {
+            return false;
+        }
+
+        if (session.useCount >= getMaxUses()) {
+            evict(session, "reached maximum uses");
+        } else if (!resetSession(driver)) {
+            evict(session, "failed to reset");
+        } else {
+            session.releasedAt = System.currentTimeMillis();
+
+            PooledSession excess = null;
+            synchronized (DriverPool.class) {
+                Deque<PooledSession> idle = IDLE_MAP.get(session.key);
+                if (idle == null) {
+                    idle = new ArrayDeque<>();
+                    IDLE_MAP.put(session.key, idle);
+                }
+                idle.push(session);
+                if (idle.size() > getMaxIdle()) {
+                    excess = idle.removeLast();
+                }
+            }
+
+            if (excess != null) {
+                evict(excess, "exceeded maximum idle count");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Quit all idle sessions currently held by the pool.
+     */
+    public static void drain() {
+        List<PooledSession> sessions = new ArrayList<>();
+        synchronized (DriverPool.class) {
+            for (Deque<PooledSession> idle : IDLE_MAP.values()) {
+                sessions.addAll(idle);
+            }
+            IDLE_MAP.clear();
+        }
+
+        for (PooledSession session : sessions) {
+            quitQuietly(session.driver);
+        }
+
+        LOGGER.debug("Driver pool drained: hits = {}; provisioned = {}; misses = {}; evictions = {}",
+                        HITS.get(), PROVISIONED.get(), MISSES.get(), EVICTIONS.get());
+    }
+
+    /**
+     * Get the number of requests that were satisfied by recycled sessions.
+     *
+     * @return pool hit count
+     */
+    public static long getHitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * Get the number of requests that were satisfied by sessions created in advance by the {@link DriverProvisioner}.
+     *
+     * @return provisioned session count
+     */
+    public static long getProvisionedCount() {
+        return PROVISIONED.get();
+    }
+
+    /**
+     * Get the number of requests that required creation of new sessions.
+     *
+     * @return pool miss count
+     */
+    public static long getMissCount() {
+        return MISSES.get();
+    }
+
+    /**
+     * Get the number of sessions that were discarded by pool policies.
+     *
+     * @return pool eviction count
+     */
+    public static long getEvictionCount() {
+        return EVICTIONS.get();
+    }
+
+    /**
+     * Retrieve the most-recently released idle session for the specified key, discarding expired sessions.
+     *
+     * @param key capabilities key
+     * @return idle session; 'null' if none available
+     */
+    private static PooledSession pollIdle(final Map<String, ?> key) {
+        List<PooledSession> expired = new ArrayList<>();
+        PooledSession session = null;
+        long threshold = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(getIdleTimeout());
+
+        synchronized (DriverPool.class) {
+            Deque<PooledSession> idle = IDLE_MAP.get(key);
+            if (idle != null) {
+                Iterator<PooledSession> iterator = idle.iterator();
+                while (iterator.hasNext()) {
+                    PooledSession candidate = iterator.next();
+                    if (candidate.releasedAt < threshold) {
+                        iterator.remove();
+                        expired.add(candidate);
+                    } else if (session == null) {
+                        iterator.remove();
+                        session = candidate;
+                    }
+                }
+            }
+        }
+
+        for (PooledSession candidate : expired) {
+            evict(candidate, "exceeded idle timeout");
+        }
+        return session;
+    }
+
+    /**
+     * Register the specified session as active and increment its use count.
+     *
+     * @param session pooled session
+     * @return driver object for the session
+     */
+    private static WebDriver activate(final PooledSession session) {
+        session.useCount++;
+        synchronized (DriverPool.class) {
+            SESSION_MAP.put(session.driver, session);
+        }
+        return session.driver;
+    }
+
+    /**
+     * Determine if the specified idle session is still responsive.
+     *
+     * @param session pooled session
+     * @return 'true' if session is healthy (or health checks are disabled); otherwise 'false'
+     */
+    private static boolean isHealthy(final PooledSession session) {
+        if (!getConfig().getBoolean(SeleniumSettings.POOL_HEALTH_CHECK.key())) {
+            return true;
+        }
+        try {
+            return (null != session.driver.getWindowHandle());
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reset the state of the specified driver for reuse by a subsequent test.
+     *
+     * @param driver driver object
+     * @return 'true' if reset succeeded; otherwise 'false'
+     */
+    private static boolean resetSession(final WebDriver driver) {
+        // the reset switches windows and navigates
+        forgetState(driver);
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            String keeper = null;
+            for (String handle : handles) {
+                if (keeper == null) {
+                    keeper = handle;
+                } else {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            if (keeper == null) {
+                return false;
+            }
+
+            driver.switchTo().window(keeper);
+            driver.manage().deleteAllCookies();
+            try {
+                ((JavascriptExecutor) driver).executeScript(RESET_STORAGE);
+            } catch (WebDriverException | UnsupportedOperationException e) { //NOSONAR
+                // Storage isn't available in every browser context; this is normal.
+            }
+            driver.get(ABOUT_BLANK);
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Evict the specified session from the pool.
+     *
+     * @param session pooled session
+     * @param reason reason for eviction
+     */
+    private static void evict(final PooledSession session, final String reason) {
+        EVICTIONS.incrementAndGet();
+        LOGGER.debug("Evicting pooled driver session ({}): {}", reason, session.key);
+        forgetState(session.driver);
+        quitQuietly(session.driver);
+    }
+
+    /**
+     * Discard the per-driver state recorded for the specified driver by other components.
+     *
+     * @param driver driver object
+     */
+    private static void forgetState(final WebDriver driver) {
+        BrowsingContext.invalidate(driver);
+        CachedTimeouts.invalidate(driver);
+    }
+
+    /**
+     * Quit the specified driver, ignoring failures.
+     *
+     * @param driver driver object
+     */
+    private static void quitQuietly(final WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) { //NOSONAR
+            // Let's make sure our graceful shutdown process doesn't cause failures.
+        }
+    }
+
+    /**
+     * Get the maximum number of idle sessions retained per capabilities.
+     *
+     * @return maximum idle session count
+     */
+    private static int getMaxIdle() {
+        return getConfig().getInt(SeleniumSettings.POOL_MAX_IDLE.key());
+    }
+
+    /**
+     * Get the maximum idle interval for pooled sessions.
+     *
+     * @return maximum idle interval in seconds
+     */
+    private static long getIdleTimeout() {
+        return getConfig().getLong(SeleniumSettings.POOL_IDLE_TIMEOUT.key());
+    }
+
+    /**
+     * Get the maximum number of uses per pooled session.
+     *
+     * @return maximum use count
+     */
+    private static int getMaxUses() {
+        return getConfig().getInt(SeleniumSettings.POOL_MAX_USES.key());
+    }
+
+    /**
+     * Get the active Selenium Foundation configuration.
+     *
+     * @return {@link SeleniumConfig} object
+     */
+    private static SeleniumConfig getConfig() {
+        return SeleniumConfig.getConfig();
+    }
+
+    /**
+     * This class records the state of a pooled driver session.
+     */
+    private static class PooledSession {
+        private final Map<String, ?> key;
+        private final WebDriver driver;
+        private int useCount;
+        private long releasedAt;
+
+        /**
+         * Constructor for pooled driver session
+         *
+         * @param key capabilities key
+         * @param driver driver object
+         */
+        PooledSession(final Map<String, ?> key, final WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.annotations.NoDriver;
+import com.nordstrom.automation.selenium.interfaces.DriverProvider;
+import com.nordstrom.automation.selenium.model.Page;
+
+/**
+ * This static utility class provisions driver sessions on background threads ahead of the tests that will use them.
+ * <p>
+ * The number of sessions kept in flight is specified by the
+ * {@link SeleniumSettings#PROVISION_DEPTH PROVISION_DEPTH} setting (<b>0</b> disables provisioning). If the
+ * upcoming test methods have been declared via {@link #expect(List)}, sessions are provisioned only for methods that
+ * will request a driver, and (if {@link SeleniumSettings#PROVISION_NAVIGATE PROVISION_NAVIGATE} is set) each session
+ * is pre-navigated to the URL of the {@link InitialPage} its method specifies. Otherwise, the provisioner simply keeps
+ * the configured number of sessions ready for the next driver request.
+ * <p>
+ * Provisioned sessions are claimed by the {@link DriverPool}. A test claims the session provisioned for it if there is
+ * one, falling back to a ready session with matching capabilities that no upcoming test is waiting for. Sessions left
+ * unclaimed are quit by {@link #drain()}.
+ */
+public final class DriverProvisioner {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(1);
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+        new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "DriverProvisioner-" + THREAD_COUNTER.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+
+    private static final List<UpcomingTest> UPCOMING = new LinkedList<>();
+    private static final List<SessionRequest> IN_FLIGHT = new LinkedList<>();
+    private static final Map<WebDriver, String> PREPARED = new IdentityHashMap<>();
+    private static boolean expecting = false;
+
+    private static final SessionFactory GRID_SESSIONS = new SessionFactory() {
+        @Override
+        public WebDriver newSession(final SeleniumConfig config, final Capabilities capabilities) {
+            URL remoteAddress = config.getSeleniumGrid().getHubServer().getUrl();
+            return GridUtility.getDriver(remoteAddress, capabilities);
+        }
+    };
+    private static volatile SessionFactory sessionFactory = GRID_SESSIONS;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverProvisioner.class);
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private DriverProvisioner() {
+        throw new AssertionError("DriverProvisioner is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Declare the test methods that are about to be executed, and begin provisioning sessions for them.
+     * <p>
+     * <b>NOTE</b>: Methods marked {@link NoDriver} and methods of {@link DriverProvider} test classes are ignored.
+     *
+     * @param tests upcoming tests, in expected execution order
+     */
+    public static void expect(final List<UpcomingTest> tests) {
+        synchronized (DriverProvisioner.class) {
+            expecting = true;
+            for (UpcomingTest test : tests) {
+                if ((null == test.method.getAnnotation(NoDriver.class))
+                                && !DriverProvider.class.isAssignableFrom(test.testClass)) {
+                    UPCOMING.add(test);
+                }
+            }
+        }
+        replenish();
+    }
+
+    /**
+     * Notify the provisioner that a driver has been acquired for the specified test, and top up the sessions in
+     * flight for the tests that follow it.
+     *
+     * @param test test for which a driver was acquired
+     */
+    public static void advance(final UpcomingTest test) {
+        synchronized (DriverProvisioner.class) {
+            UPCOMING.remove(test);
+        }
+        replenish();
+    }
+
+    /**
+     * Claim a provisioned session with the specified capabilities.
+     * <p>
+     * If a session with matching capabilities was requested for the specified test (or for no particular test), that
+     * session is claimed, waiting up to half of the {@link SeleniumSettings#HOST_TIMEOUT host timeout} for it to become
+     * ready. Otherwise, a ready session with matching capabilities that was requested for a test that's no longer
+     * upcoming is claimed. Requests made for other upcoming tests are left for those tests, and this method never
+     * waits for them.
+     * <p>
+     * <b>NOTE</b>: If this method returns 'null', the caller should request a new session directly.
+     *
+     * @param key capabilities key (see {@link Capabilities#asMap()})
+     * @param test test for which the session is claimed (may be 'null')
+     * @return provisioned driver; 'null' if none available
+     */
+    public static WebDriver claim(final Map<String, ?> key, final UpcomingTest test) {
+        SessionRequest ownRequest = null;
+        List<SessionRequest> readyRequests = new ArrayList<>();
+        synchronized (DriverProvisioner.class) {
+            for (SessionRequest request : IN_FLIGHT) {
+                if (!key.equals(request.key)) {
+                    continue;
+                }
+                // prefer the request made for this test over requests made for no particular test
+                if ((request.test == null) ? (ownRequest == null) : request.test.equals(test)) {
+                    if ((ownRequest != null) && ownRequest.future.isDone()) {
+                        readyRequests.add(ownRequest);
+                    }
+                    ownRequest = request;
+                } else if (request.future.isDone() && ((request.test == null) || !UPCOMING.contains(request.test))) {
+                    readyRequests.add(request);
+                }
+            }
+        }
+
+        if (ownRequest != null) {
+            long timeout = SeleniumConfig.getConfig().getLong(SeleniumSettings.HOST_TIMEOUT.key()) * 500;
+            try {
+                WebDriver driver = claim(ownRequest, ownRequest.future.get(timeout, TimeUnit.MILLISECONDS));
+                if (driver != null) {
+                    return driver;
+                }
+            } catch (ExecutionException e) {
+                LOGGER.debug("Failed to provision driver session", e.getCause());
+                claim(ownRequest, null);
+            } catch (TimeoutException e) {
+                // leave the request in flight; it can be claimed once it's ready
+                LOGGER.debug("Provisioned driver session wasn't ready within {} ms", timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        for (SessionRequest request : readyRequests) {
+            WebDriver driver = claim(request, getQuietly(request.future));
+            if (driver != null) {
+                return driver;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determine if the specified driver was pre-navigated to the specified URL.
+     * <p>
+     * <b>NOTE</b>: This method consumes the pre-navigation record, so it returns 'true' only once per session.
+     *
+     * @param driver driver object
+     * @param url initial page URL
+     * @return 'true' if the driver is already at the specified URL; otherwise 'false'
+     */
+    public static boolean isPreparedFor(final WebDriver driver, final String url) {
+        synchronized (DriverProvisioner.class) {
+            return url.equals(PREPARED.remove(driver));
+        }
+    }
+
+    /**
+     * Discard the pre-navigation record (if any) for the specified driver.
+     *
+     * @param driver driver object
+     */
+    public static void forget(final WebDriver driver) {
+        synchronized (DriverProvisioner.class) {
+            PREPARED.remove(driver);
+        }
+    }
+
+    /**
+     * Cancel pending session requests and quit all unclaimed sessions.
+     */
+    public static void drain() {
+        List<SessionRequest> unclaimed;
+        synchronized (DriverProvisioner.class) {
+            unclaimed = new ArrayList<>(IN_FLIGHT);
+            IN_FLIGHT.clear();
+            UPCOMING.clear();
+            PREPARED.clear();
+            expecting = false;
+        }
+
+        for (SessionRequest request : unclaimed) {
+            ProvisionedSession session = getQuietly(request.future);
+            if (session != null) {
+                try {
+                    session.driver.quit();
+                } catch (WebDriverException e) { //NOSONAR
+                    // Let's make sure our graceful shutdown process doesn't cause failures.
+                }
+            }
+        }
+    }
+
+    /**
+     * Submit session requests until the configured look-ahead depth is reached.
+     * <p>
+     * If upcoming tests have been declared, requests are submitted for the first upcoming tests that don't have one
+     * yet. Requests made for tests that have already acquired drivers by other means stay in flight until they're
+     * claimed or drained, but don't count toward the look-ahead depth.
+     */
+    private static void replenish() {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        int depth = config.getInt(SeleniumSettings.PROVISION_DEPTH.key());
+        if (depth <= 0) {
+            return;
+        }
+
+        Capabilities capabilities;
+        try {
+            capabilities = config.getCurrentCapabilities();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to resolve capabilities for provisioned sessions", e);
+            return;
+        }
+
+        synchronized (DriverProvisioner.class) {
+            // discard failed requests
+            Iterator<SessionRequest> iterator = IN_FLIGHT.iterator();
+            while (iterator.hasNext()) {
+                Future<ProvisionedSession> future = iterator.next().future;
+                if (future.isDone() && (getQuietly(future) == null)) {
+                    iterator.remove();
+                }
+            }
+
+            if (expecting) {
+                Set<UpcomingTest> requested = new HashSet<>();
+                for (SessionRequest request : IN_FLIGHT) {
+                    requested.add(request.test);
+                }
+                for (UpcomingTest test : UPCOMING.subList(0, Math.min(depth, UPCOMING.size()))) {
+                    if (requested.add(test)) {
+                        submit(test, capabilities);
+                    }
+                }
+            } else {
+                for (int index = IN_FLIGHT.size(); index < depth; index++) {
+                    submit(null, capabilities);
+                }
+            }
+        }
+    }
+
+    /**
+     * Submit a session request for the specified test.
+     * <p>
+     * <b>NOTE</b>: The caller must hold the lock on this class.
+     *
+     * @param test test for which the session is requested (may be 'null')
+     * @param capabilities desired capabilities for the session
+     */
+    private static void submit(final UpcomingTest test, final Capabilities capabilities) {
+        Map<String, ?> key = new HashMap<>(capabilities.asMap());
+        IN_FLIGHT.add(new SessionRequest(test, key, EXECUTOR.submit(sessionIsProvisioned(test, capabilities))));
+    }
+
+    /**
+     * Remove the specified request from the sessions in flight, recording its pre-navigation URL.
+     *
+     * @param request session request
+     * @param session provisioned session; 'null' if the request failed
+     * @return provisioned driver; 'null' if the request failed or was already claimed
+     */
+    private static WebDriver claim(final SessionRequest request, final ProvisionedSession session) {
+        synchronized (DriverProvisioner.class) {
+            if (IN_FLIGHT.remove(request) && (session != null)) {
+                if (session.url != null) {
+                    PREPARED.put(session.driver, session.url);
+                }
+                return session.driver;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the result of the specified session request, waiting for it to complete if necessary.
+     *
+     * @param future session request
+     * @return provisioned session; 'null' if request failed
+     */
+    private static ProvisionedSession getQuietly(final Future<ProvisionedSession> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            LOGGER.debug("Failed to provision driver session", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Specify the factory that creates provisioned sessions.
+     * <p>
+     * <b>NOTE</b>: By default, sessions are requested from the active Selenium Grid.
+     *
+     * @param factory session factory; 'null' to restore the default factory
+     */
+    static void setSessionFactory(final SessionFactory factory) {
+        sessionFactory = (factory != null) ? factory : GRID_SESSIONS;
+    }
+
+    /**
+     * Returns a task that creates a driver session with the specified capabilities.
+     *
+     * @param test test for which the session is provisioned (may be 'null')
+     * @param capabilities desired capabilities for the session
+     * @return session request task
+     */
+    private static Callable<ProvisionedSession> sessionIsProvisioned(final UpcomingTest test,
+                    final Capabilities capabilities) {
+        final SessionFactory factory = sessionFactory;
+        return new Callable<ProvisionedSession>() {
+            @Override
+            public ProvisionedSession call() {
+                SeleniumConfig config = SeleniumConfig.getConfig();
+                WebDriver driver = factory.newSession(config, capabilities);
+
+                String url = null;
+                if ((test != null) && config.getBoolean(SeleniumSettings.PROVISION_NAVIGATE.key())) {
+                    Method method = test.method;
+                    InitialPage initialPage = method.getAnnotation(InitialPage.class);
+                    if (initialPage == null) {
+                        // resolved the same way as by the driver manager
+                        initialPage = method.getDeclaringClass().getAnnotation(InitialPage.class);
+                    }
+                    if (initialPage != null) {
+                        url = Page.getInitialUrl(initialPage, config.getTargetUri());
+                        if (url != null) {
+                            try {
+                                driver.get(url);
+                            } catch (WebDriverException e) {
+                                LOGGER.debug("Failed to pre-navigate provisioned session", e);
+                                url = null;
+                            }
+                        }
+                    }
+                }
+
+                return new ProvisionedSession(driver, url);
+            }
+        };
+    }
+
+    /**
+     * This class identifies a test that's expected to request a driver: the test method and the class of the
+     * instance on which it will be invoked. For inherited test methods, these classes differ.
+     */
+    public static final class UpcomingTest {
+        private final Class<?> testClass;
+        private final Method method;
+
+        /**
+         * Constructor for upcoming test
+         *
+         * @param testClass class of the test instance
+         * @param method test method
+         */
+        public UpcomingTest(final Class<?> testClass, final Method method) {
+            this.testClass = Objects.requireNonNull(testClass, "[testClass] must be non-null");
+            this.method = Objects.requireNonNull(method, "[method] must be non-null");
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof UpcomingTest)) {
+                return false;
+            }
+            UpcomingTest that = (UpcomingTest) obj;
+            return testClass.equals(that.testClass) && method.equals(that.method);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(testClass, method);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return testClass.getSimpleName() + "." + method.getName();
+        }
+    }
+
+    /**
+     * This interface defines the contract for factories that create provisioned driver sessions.
+     */
+    interface SessionFactory {
+
+        /**
+         * Create a driver session with the specified capabilities.
+         *
+         * @param config active Selenium Foundation configuration
+         * @param capabilities desired capabilities for the driver
+         * @return driver object
+         */
+        WebDriver newSession(SeleniumConfig config, Capabilities capabilities);
+    }
+
+    /**
+     * This class records a pending session request, the test for which it was made, and its capabilities.
+     */
+    private static class SessionRequest {
+        private final UpcomingTest test;
+        private final Map<String, ?> key;
+        private final Future<ProvisionedSession> future;
+
+        /**
+         * Constructor for session request
+         *
+         * @param test test for which the session is requested (may be 'null')
+         * @param key capabilities key
+         * @param future result of the session request
+         */
+        SessionRequest(final UpcomingTest test, final Map<String, ?> key, final Future<ProvisionedSession> future) {
+            this.test = test;
+            this.key = key;
+            this.future = future;
+        }
+    }
+
+    /**
+     * This class records the state of a provisioned driver session.
+     */
+    private static class ProvisionedSession {
+        private final WebDriver driver;
+        private final String url;
+
+        /**
+         * Constructor for provisioned driver session
+         *
+         * @param driver driver object
+         * @param url pre-navigated URL (may be 'null')
+         */
+        ProvisionedSession(final WebDriver driver, final String url) {
+            this.driver = driver;
+            this.url = url;
+        }
+    }
+}
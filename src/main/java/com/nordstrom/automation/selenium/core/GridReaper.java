@@ -0,0 +1,138 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Properties;
+
+/**
+ * This class is the entry point of the reaper process that shuts down a persistent local Selenium Grid once it has been
+ * idle for the configured interval. The reaper is launched in its own process along with the Grid, and it exits when
+ * the Grid is shut down, when the state file is removed, or when the state file is taken over by another Grid.
+ * <p>
+ * <b>NOTE</b>: This class runs with only the Selenium Foundation classes on its classpath, so it must not depend on
+ * anything beyond the Java runtime.
+ *
+ * @see GridState
+ */
+public final class GridReaper {
+
+    private static final long MAX_SLEEP = 60000;
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final String TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private GridReaper() {
+        throw new AssertionError("GridReaper is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Watch the specified Grid state file, shutting down the Grid it describes once it has been idle.
+     *
+     * @param args [0] path of Grid state file; [1] identifier of Grid launch
+     * @throws InterruptedException if this thread was interrupted
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        Path statePath = Paths.get(args[0]);
+        String launchId = args[1];
+        log("Watching Grid launch " + launchId + " recorded in: " + statePath, null);
+
+        while (true) {
+            Properties state = load(statePath);
+            // exit if Grid was shut down or replaced
+            if ((state == null) || !launchId.equals(state.getProperty(GridState.LAUNCH_ID))) {
+                return;
+            }
+
+            long lastUsed = Long.parseLong(state.getProperty(GridState.LAST_USED));
+            long idleTimeout = Long.parseLong(state.getProperty(GridState.IDLE_TIMEOUT)) * 1000;
+            long remaining = lastUsed + idleTimeout - System.currentTimeMillis();
+            if (remaining <= 0) {
+                String hubUrl = state.getProperty(GridState.HUB_KEY + GridState.URL_KEY);
+                log("Shutting down idle Grid: " + hubUrl, null);
+                // shut down nodes before hub
+                for (String key : state.stringPropertyNames()) {
+                    if (key.startsWith(GridState.NODE_KEY) && key.endsWith(GridState.SHUTDOWN_KEY)) {
+                        request(state.getProperty(key));
+                    }
+                }
+                request(state.getProperty(GridState.HUB_KEY + GridState.SHUTDOWN_KEY));
+                try {
+                    Files.deleteIfExists(statePath);
+                } catch (IOException e) {
+                    log("Unable to delete Grid state file: " + statePath, e);
+                }
+                return;
+            }
+
+            Thread.sleep(Math.min(remaining, MAX_SLEEP));
+        }
+    }
+
+    /**
+     * Load the specified Grid state file.
+     *
+     * @param statePath path of Grid state file
+     * @return Grid state properties; {@code null} if state file is absent
+     */
+    private static Properties load(final Path statePath) {
+        try (InputStream in = Files.newInputStream(statePath)) {
+            Properties state = new Properties();
+            state.load(in);
+            return state;
+        } catch (NoSuchFileException e) { //NOSONAR
+            return null;
+        } catch (IOException e) {
+            log("Unable to load Grid state file: " + statePath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Send the specified shutdown request, ignoring failures.
+     *
+     * @param request shutdown request URL; {@code null} to do nothing
+     */
+    private static void request(final String request) {
+        if (request != null) {
+            HttpURLConnection connection = null;
+            try {
+                connection = (HttpURLConnection) new URL(request).openConnection();
+                connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+                connection.setReadTimeout(CONNECT_TIMEOUT_MS);
+                log(request + " => " + connection.getResponseCode(), null);
+            } catch (IOException e) {
+                log(request + " => " + e, null);
+            } finally {
+                if (connection != null) {
+                    connection.disconnect();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the specified message to the reaper log, prefixed with the current time.
+     * <p>
+     * <b>NOTE</b>: The output of the reaper process is appended to its log file.
+     *
+     * @param message message to be logged
+     * @param thrown exception to be logged with its stack trace; {@code null} for none
+     */
+    private static synchronized void log(final String message, final Throwable thrown) {
+        System.out.println(new SimpleDateFormat(TIMESTAMP_FORMAT).format(new Date()) + " " + message);
+        if (thrown != null) {
+            thrown.printStackTrace(System.out);
+        }
+        System.out.flush();
+    }
+}
@@ -0,0 +1,405 @@
+package com.nordstrom.automation.selenium.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.nordstrom.automation.selenium.core.LocalSeleniumGrid.LocalGridServer;
+
+/**
+ * This class watches a newly-launched local Grid server for readiness, signaling the moment the server is ready.
+ * <p>
+ * Readiness is detected by two complementary means:
+ * <ul>
+ *     <li>The output of the server is watched as it's written: log files via file-change notification, unredirected
+ *     output via a pump thread. Output is matched incrementally against the "ready" message and the registration
+ *     path, so each chunk of output is scanned only once.</li>
+ *     <li>The server is actively probed with exponential backoff: hubs via their configuration request, nodes via
+ *     their registration with the hub. This detects readiness even if the output of the server changes.</li>
+ * </ul>
+ * The wait ends early if the server process terminates before indicating readiness.
+ * <p>
+ * <b>NOTE</b>: The output of in-process servers isn't watched, because their log files are shared with all other
+ * in-process servers. These servers are probed only.
+ */
+final class GridServerWatcher {
+
+    private static final String GRID_REGISTER = "/grid/register";
+    private static final long MIN_PROBE_INTERVAL = 50;
+    private static final long MAX_PROBE_INTERVAL = 1000;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final LocalGridServer server;
+    private final String[] patterns;
+    private final boolean[] found;
+    private String tail = "";
+
+    /**
+     * Constructor for Grid server watcher
+     *
+     * @param server local Grid server to watch
+     */
+    private GridServerWatcher(final LocalGridServer server) {
+        this.server = server;
+        this.patterns = new String[] {server.getReadyMessage(), GRID_REGISTER};
+        this.found = new boolean[patterns.length];
+    }
+
+    /**
+     * Wait for the specified Grid server to indicate that it's ready.
+     *
+     * @param server {@link LocalGridServer} object to wait for
+     * @param outputPath {@link Path} to output log file; {@code null} if not redirected
+     * @param maxWait maximum interval in milliseconds to wait; negative interval to wait indefinitely
+     * @throws InterruptedException if this thread was interrupted
+     * @throws IOException if an I/O error occurs or the server process terminated
+     * @throws TimeoutException if not waiting indefinitely and exceeded maximum wait
+     */
+    static void waitUntilReady(final LocalGridServer server, final Path outputPath, final long maxWait)
+                    throws IOException, InterruptedException, TimeoutException {
+        GridServerWatcher watcher = new GridServerWatcher(server);
+        try (OutputSource source = getOutputSource(server, outputPath)) {
+            watcher.watch(source, maxWait);
+        }
+    }
+
+    /**
+     * Get the output source for the specified Grid server.
+     *
+     * @param server {@link LocalGridServer} object to watch
+     * @param outputPath {@link Path} to output log file; {@code null} if not redirected
+     * @return server output source
+     * @throws IOException if an I/O error occurs
+     */
+    private static OutputSource getOutputSource(final LocalGridServer server, final Path outputPath)
+                    throws IOException {
+        if (server.isInProcess()) {
+            return new ProbeSource();
+        } else if (outputPath != null) {
+            return new FileSource(outputPath);
+        } else {
+            return new PumpSource(server.getProcess().getInputStream());
+        }
+    }
+
+    /**
+     * Watch the specified output source and probe the server until it indicates that it's ready.
+     *
+     * @param source server output source
+     * @param maxWait maximum interval in milliseconds to wait; negative interval to wait indefinitely
+     * @throws InterruptedException if this thread was interrupted
+     * @throws IOException if an I/O error occurs or the server process terminated
+     * @throws TimeoutException if not waiting indefinitely and exceeded maximum wait
+     */
+    private void watch(final OutputSource source, final long maxWait)
+                    throws IOException, InterruptedException, TimeoutException {
+        long now = System.currentTimeMillis();
+        long maxTime = (maxWait > 0) ? now + maxWait : Long.MAX_VALUE;
+        long probeInterval = MIN_PROBE_INTERVAL;
+        long nextProbe = now + probeInterval;
+
+        while (true) {
+            if (append(source.drain())) {
+                return;
+            }
+
+            now = System.currentTimeMillis();
+            if (now >= nextProbe) {
+                if (server.isReady()) {
+                    return;
+                }
+                probeInterval = Math.min(probeInterval * 2, MAX_PROBE_INTERVAL);
+                nextProbe = System.currentTimeMillis() + probeInterval;
+            }
+
+            Integer exitValue = getExitValue(server.getProcess());
+            if (exitValue != null) {
+                // collect any output written before the process terminated
+                if (append(source.drain())) {
+                    return;
+                }
+                throw new IOException("Grid server process terminated with exit code " + exitValue);
+            }
+
+            if (now > maxTime) {
+                throw new TimeoutException("Timed out waiting for Grid server to be ready");
+            }
+
+            source.await(Math.max(1, Math.min(nextProbe, maxTime) - System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Append the specified server output to the launch output and match it against the readiness patterns.
+     * <p>
+     * Only the new output and the tail of prior output that could hold the start of a pattern are scanned.
+     *
+     * @param recv server output received since the last call
+     * @return {@code true} if all readiness patterns have been found; otherwise {@code false}
+     */
+    private boolean append(final String recv) {
+        if (recv.isEmpty()) {
+            return false;
+        }
+
+        server.appendLaunchOutput(recv);
+        String window = tail + recv;
+        boolean ready = true;
+        int keep = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            if (!found[i]) {
+                found[i] = (window.indexOf(patterns[i]) != -1);
+                ready &= found[i];
+                keep = Math.max(keep, patterns[i].length() - 1);
+            }
+        }
+        tail = window.substring(Math.max(0, window.length() - keep));
+        return ready;
+    }
+
+    /**
+     * Get the exit value of the specified process.
+     *
+     * @param process server process; {@code null} for in-process server
+     * @return exit value; {@code null} if process is still running
+     */
+    private static Integer getExitValue(final Process process) {
+        if (process == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(process.exitValue());
+        } catch (IllegalThreadStateException e) { //NOSONAR
+            return null;
+        }
+    }
+
+    /**
+     * This interface defines the contract for sources of Grid server output.
+     */
+    private interface OutputSource extends AutoCloseable {
+
+        /**
+         * Get the output that has been written since the last call.
+         *
+         * @return new server output (empty if none)
+         * @throws IOException if an I/O error occurs
+         */
+        String drain() throws IOException;
+
+        /**
+         * Wait up to the specified interval for new output to be written.
+         *
+         * @param millis maximum interval in milliseconds to wait
+         * @throws InterruptedException if this thread was interrupted
+         */
+        void await(long millis) throws InterruptedException;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * This class provides no server output, leaving readiness detection to probing.
+     */
+    private static final class ProbeSource implements OutputSource {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String drain() {
+            return "";
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void await(final long millis) throws InterruptedException {
+            Thread.sleep(millis);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+            // nothing to do here
+        }
+    }
+
+    /**
+     * This class reads server output from a log file, waiting for changes via file-change notification.
+     */
+    private static final class FileSource implements OutputSource {
+
+        private final Path fileName;
+        private final InputStream inputStream;
+        private final WatchService watchService;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        /**
+         * Constructor for log file output source
+         *
+         * @param outputPath {@link Path} to output log file
+         * @throws IOException if an I/O error occurs
+         */
+        FileSource(final Path outputPath) throws IOException {
+            Path directory = outputPath.toAbsolutePath().getParent();
+            this.fileName = outputPath.getFileName();
+            this.watchService = directory.getFileSystem().newWatchService();
+            try {
+                directory.register(watchService, ENTRY_MODIFY);
+                this.inputStream = Files.newInputStream(outputPath);
+            } catch (IOException e) {
+                watchService.close();
+                throw e;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String drain() throws IOException {
+            StringBuilder recv = new StringBuilder();
+            int length;
+            while ((length = inputStream.read(buffer)) > 0) {
+                recv.append(new String(buffer, 0, length, StandardCharsets.UTF_8));
+            }
+            return recv.toString();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void await(final long millis) throws InterruptedException {
+            long maxTime = System.currentTimeMillis() + millis;
+            long remaining = millis;
+            while (remaining > 0) {
+                WatchKey key = watchService.poll(remaining, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    return;
+                }
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // other log files share this directory
+                    changed |= fileName.equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    return;
+                }
+                remaining = maxTime - System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                inputStream.close();
+            } finally {
+                watchService.close();
+            }
+        }
+    }
+
+    /**
+     * This class reads unredirected server output on a pump thread, which hands it off as it arrives.
+     * <p>
+     * <b>NOTE</b>: The pump thread reads the output of the server until the process closes it. Once the watcher is
+     * done, output is discarded. If output were left unread, the server would stall as soon as it filled the pipe.
+     */
+    private static final class PumpSource implements OutputSource, Runnable {
+
+        private final InputStream inputStream;
+        private final StringBuilder pending = new StringBuilder();
+        private boolean closed;
+
+        /**
+         * Constructor for process output source
+         *
+         * @param inputStream process output stream
+         */
+        PumpSource(final InputStream inputStream) {
+            this.inputStream = inputStream;
+            Thread pump = new Thread(this, "GridOutputPump");
+            pump.setDaemon(true);
+            pump.start();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try {
+                int length;
+                while ((length = inputStream.read(buffer)) != -1) {
+                    synchronized (this) {
+                        // keep draining once the watcher is done, so the server never blocks on a full pipe
+                        if (!closed) {
+                            pending.append(new String(buffer, 0, length, StandardCharsets.UTF_8));
+                            notifyAll();
+                        }
+                    }
+                }
+            } catch (IOException e) { //NOSONAR
+                // process output closed
+            } finally {
+                try {
+                    inputStream.close();
+                } catch (IOException e) { //NOSONAR
+                    // nothing to do here
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized String drain() {
+            String recv = pending.toString();
+            pending.setLength(0);
+            return recv;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void await(final long millis) throws InterruptedException {
+            if (pending.length() == 0) {
+                wait(millis);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void close() {
+            closed = true;
+            pending.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,540 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.core.SeleniumGrid.GridServer;
+
+/**
+ * This class records the state of a persistent local Selenium Grid in a file, so that subsequent test runs can find and
+ * reuse the Grid instead of launching a new one. For the hub and each node, the state file records the server URL,
+ * process ID (if available), shutdown request, and a hash of the configuration from which the server was launched.
+ * Nodes are recorded by the browser name of their driver plug-in.
+ * <p>
+ * The state file also records when the Grid was last used. Each persistent Grid is launched with a {@link GridReaper}
+ * process that shuts the Grid down once it has been idle for the {@link SeleniumSettings#GRID_IDLE_TIMEOUT idle
+ * timeout} interval. While a test run is in progress, a {@link #startHeartbeat(SeleniumConfig) heartbeat} refreshes
+ * the time of last use, so runs that outlast the idle timeout keep their Grid.
+ *
+ * @see SeleniumSettings#GRID_PERSISTENT
+ */
+final class GridState {
+
+    static final String HUB_KEY = "hub";
+    static final String NODE_KEY = "node.";
+    static final String URL_KEY = ".url";
+    static final String PID_KEY = ".pid";
+    static final String HASH_KEY = ".hash";
+    static final String SHUTDOWN_KEY = ".shutdown";
+    static final String LAUNCH_ID = "launch.id";
+    static final String LAST_USED = "last.used";
+    static final String IDLE_TIMEOUT = "idle.timeout";
+
+    private static final String STATE_FILE = "grid-state.properties";
+    private static final String REAPER_LOG = "grid-reaper.log";
+    private static final long MIN_HEARTBEAT_MS = 100;
+    private static final Logger LOGGER = LoggerFactory.getLogger(GridState.class);
+    
+    private static final ScheduledExecutorService HEARTBEAT_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "GridHeartbeat");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    private static ScheduledFuture<?> heartbeat;
+
+    private final SeleniumConfig config;
+    private final Path statePath;
+    private final Properties state;
+
+    /**
+     * Constructor for Grid state
+     *
+     * @param config {@link SeleniumConfig} object
+     * @param state Grid state properties
+     */
+    private GridState(final SeleniumConfig config, final Properties state) {
+        this.config = config;
+        this.statePath = getStatePath(config);
+        this.state = state;
+    }
+
+    /**
+     * Determine if persistent local Grid mode is enabled.
+     * <p>
+     * <b>NOTE</b>: Persistent mode is unavailable for in-process Grid servers, which can't outlive the test run.
+     *
+     * @param config {@link SeleniumConfig} object
+     * @return {@code true} if persistent mode is enabled; otherwise {@code false}
+     */
+    static boolean isEnabled(final SeleniumConfig config) {
+        return config.getBoolean(SeleniumSettings.GRID_PERSISTENT.key())
+                        && !config.getBoolean(SeleniumSettings.GRID_IN_PROCESS.key());
+    }
+
+    /**
+     * Create an empty Grid state for a newly-launched Grid.
+     *
+     * @param config {@link SeleniumConfig} object
+     * @return empty Grid state
+     */
+    static GridState create(final SeleniumConfig config) {
+        Properties state = new Properties();
+        state.setProperty(LAUNCH_ID, Long.toString(System.currentTimeMillis()));
+        return new GridState(config, state);
+    }
+
+    /**
+     * Load the recorded state of the persistent local Grid.
+     *
+     * @param config {@link SeleniumConfig} object
+     * @return recorded Grid state; {@code null} if no state has been recorded
+     */
+    static GridState load(final SeleniumConfig config) {
+        try (InputStream in = Files.newInputStream(getStatePath(config))) {
+            Properties state = new Properties();
+            state.load(in);
+            return new GridState(config, state);
+        } catch (NoSuchFileException e) { //NOSONAR
+            return null;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to load Grid state file", e);
+            return null;
+        }
+    }
+
+    /**
+     * Record that the persistent local Grid has just been used, deferring its idle shutdown.
+     *
+     * @param config {@link SeleniumConfig} object
+     */
+    static void touch(final SeleniumConfig config) {
+        synchronized (GridState.class) {
+            GridState state = load(config);
+            if (state != null) {
+                state.save();
+            }
+        }
+    }
+
+    /**
+     * Start refreshing the time of last use of the persistent local Grid at a third of the idle timeout interval.
+     * <p>
+     * <b>NOTE</b>: If the heartbeat is already running, this method does nothing.
+     *
+     * @param config {@link SeleniumConfig} object
+     */
+    static void startHeartbeat(final SeleniumConfig config) {
+        synchronized (GridState.class) {
+            if (heartbeat == null) {
+                long interval = Math.max(MIN_HEARTBEAT_MS,
+                                config.getLong(SeleniumSettings.GRID_IDLE_TIMEOUT.key()) * 1000 / 3);
+                heartbeat = HEARTBEAT_EXECUTOR.scheduleWithFixedDelay(new Runnable() {
+                    @Override
+                    public void run() {
+                        touch(config);
+                    }
+                }, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Stop refreshing the time of last use of the persistent local Grid.
+     */
+    static void stopHeartbeat() {
+        synchronized (GridState.class) {
+            if (heartbeat != null) {
+                heartbeat.cancel(false);
+                heartbeat = null;
+            }
+        }
+    }
+
+    /**
+     * Get the path of the Grid state file.
+     *
+     * @param config {@link SeleniumConfig} object
+     * @return Grid state file path
+     */
+    static Path getStatePath(final SeleniumConfig config) {
+        return GridUtility.getLogsPath(config).resolve(STATE_FILE);
+    }
+
+    /**
+     * Compute the configuration hash of a Grid server from the specified values.
+     * <p>
+     * <b>NOTE</b>: The hash is a SHA-256 digest of the string representations of the specified values.
+     *
+     * @param values configuration values
+     * @return configuration hash
+     */
+    static String hashOf(final Object... values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object value : values) {
+                digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                // separate values, so adjacent values can't run together
+                digest.update((byte) 0);
+            }
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest.digest()) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 digest is unavailable", e);
+        }
+    }
+
+    /**
+     * Get the recorded URL of the hub.
+     *
+     * @return hub URL; {@code null} if unrecorded
+     */
+    URL getHubUrl() {
+        return getUrl(HUB_KEY);
+    }
+
+    /**
+     * Get the recorded configuration hash of the hub.
+     *
+     * @return hub configuration hash; {@code null} if unrecorded
+     */
+    String getHubHash() {
+        return state.getProperty(HUB_KEY + HASH_KEY);
+    }
+
+    /**
+     * Determine if the recorded process of the hub is still alive.
+     *
+     * @return {@code true} if the hub process is alive or unrecorded; otherwise {@code false}
+     */
+    boolean isHubAlive() {
+        return isAlive(HUB_KEY);
+    }
+
+    /**
+     * Get the browser names of the recorded nodes.
+     *
+     * @return list of browser names
+     */
+    List<String> getNodeNames() {
+        List<String> names = new ArrayList<>();
+        for (String key : new TreeSet<>(state.stringPropertyNames())) {
+            if (key.startsWith(NODE_KEY) && key.endsWith(URL_KEY)) {
+                names.add(key.substring(NODE_KEY.length(), key.length() - URL_KEY.length()));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Get the recorded URL of the node for the specified browser.
+     *
+     * @param browserName browser name of node
+     * @return node URL; {@code null} if unrecorded
+     */
+    URL getNodeUrl(final String browserName) {
+        return getUrl(NODE_KEY + browserName);
+    }
+
+    /**
+     * Get the recorded configuration hash of the node for the specified browser.
+     *
+     * @param browserName browser name of node
+     * @return node configuration hash; {@code null} if unrecorded
+     */
+    String getNodeHash(final String browserName) {
+        return state.getProperty(NODE_KEY + browserName + HASH_KEY);
+    }
+
+    /**
+     * Determine if the recorded process of the node for the specified browser is still alive.
+     *
+     * @param browserName browser name of node
+     * @return {@code true} if the node process is alive or unrecorded; otherwise {@code false}
+     */
+    boolean isNodeAlive(final String browserName) {
+        return isAlive(NODE_KEY + browserName);
+    }
+
+    /**
+     * Record the specified hub server.
+     *
+     * @param server hub server
+     * @param hash hub configuration hash
+     */
+    void putHub(final GridServer server, final String hash) {
+        put(HUB_KEY, server, hash, config.getString(SeleniumSettings.HUB_SHUTDOWN.key()));
+    }
+
+    /**
+     * Record the specified node server.
+     *
+     * @param browserName browser name of node
+     * @param server node server
+     * @param hash node configuration hash
+     */
+    void putNode(final String browserName, final GridServer server, final String hash) {
+        put(NODE_KEY + browserName, server, hash, config.getString(SeleniumSettings.NODE_SHUTDOWN.key()));
+    }
+
+    /**
+     * Remove the record of the node for the specified browser.
+     *
+     * @param browserName browser name of node
+     */
+    void removeNode(final String browserName) {
+        for (String suffix : new String[] {URL_KEY, PID_KEY, HASH_KEY, SHUTDOWN_KEY}) {
+            state.remove(NODE_KEY + browserName + suffix);
+        }
+    }
+
+    /**
+     * Shut down the recorded node for the specified browser, ignoring failures.
+     *
+     * @param browserName browser name of node
+     * @throws InterruptedException if this thread was interrupted
+     */
+    void shutdownNode(final String browserName) throws InterruptedException {
+        shutdown(getNodeUrl(browserName), GridServer.NODE_STATUS,
+                        state.getProperty(NODE_KEY + browserName + SHUTDOWN_KEY));
+        removeNode(browserName);
+    }
+
+    /**
+     * Shut down all recorded servers, ignoring failures, and delete the state file.
+     *
+     * @throws InterruptedException if this thread was interrupted
+     */
+    void shutdown() throws InterruptedException {
+        for (String browserName : getNodeNames()) {
+            shutdownNode(browserName);
+        }
+        shutdown(getHubUrl(), GridServer.HUB_CONFIG, state.getProperty(HUB_KEY + SHUTDOWN_KEY));
+        delete();
+    }
+
+    /**
+     * Write this Grid state to the state file, recording the current time as the time of last use.
+     */
+    void save() {
+        synchronized (GridState.class) {
+            state.setProperty(LAST_USED, Long.toString(System.currentTimeMillis()));
+            state.setProperty(IDLE_TIMEOUT, config.getString(SeleniumSettings.GRID_IDLE_TIMEOUT.key()));
+            try {
+                Files.createDirectories(statePath.getParent());
+                Path tempPath = Files.createTempFile(statePath.getParent(), STATE_FILE, null);
+                try (OutputStream out = Files.newOutputStream(tempPath)) {
+                    state.store(out, "Selenium Foundation persistent local Grid");
+                }
+                // replace atomically so the reaper never sees a partial file
+                try {
+                    Files.move(tempPath, statePath, StandardCopyOption.ATOMIC_MOVE,
+                                    StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) { //NOSONAR
+                    Files.move(tempPath, statePath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Unable to save Grid state file: {}", statePath, e);
+            }
+        }
+    }
+
+    /**
+     * Delete the state file, if it's owned by this Grid state.
+     */
+    void delete() {
+        synchronized (GridState.class) {
+            GridState current = load(config);
+            if ((current != null)
+                            && Objects.equals(current.state.getProperty(LAUNCH_ID), state.getProperty(LAUNCH_ID))) {
+                try {
+                    Files.deleteIfExists(statePath);
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to delete Grid state file: {}", statePath, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Launch the reaper process that shuts down this Grid once it has been idle.
+     */
+    void startReaper() {
+        String javaPath = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classPath = LocalSeleniumGrid.findJarPathFor(GridReaper.class.getName());
+        ProcessBuilder builder = new ProcessBuilder(javaPath, "-cp", classPath, GridReaper.class.getName(),
+                        statePath.toString(), state.getProperty(LAUNCH_ID));
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(ProcessBuilder.Redirect.appendTo(statePath.resolveSibling(REAPER_LOG).toFile()));
+        try {
+            builder.start();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to launch Grid reaper; idle Grid won't be shut down", e);
+        }
+    }
+
+    /**
+     * Get the process ID of the specified process.
+     *
+     * @param process system process; may be {@code null}
+     * @return process ID; -1 if unavailable
+     */
+    static long getPid(final Process process) {
+        if (process != null) {
+            try {
+                // Java 9+
+                return ((Number) Process.class.getMethod("pid").invoke(process)).longValue();
+            } catch (ReflectiveOperationException e) { //NOSONAR
+                try {
+                    // Java 8 on Unix-like platforms
+                    Field field = process.getClass().getDeclaredField("pid");
+                    field.setAccessible(true);
+                    return field.getLong(process);
+                } catch (ReflectiveOperationException | RuntimeException eaten) { //NOSONAR
+                    // nothing to do here
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Determine if the specified process is alive.
+     * <p>
+     * <b>NOTE</b>: If the status of the process can't be determined, it's assumed to be alive.
+     *
+     * @param pid process ID
+     * @return {@code false} if the process is known to have exited; otherwise {@code true}
+     */
+    static boolean isProcessAlive(final long pid) {
+        try {
+            // Java 9+
+            Class<?> handleClass = Class.forName("java.lang.ProcessHandle");
+            Object handle = handleClass.getMethod("of", long.class).invoke(null, pid);
+            if (!((Boolean) handle.getClass().getMethod("isPresent").invoke(handle))) {
+                return false;
+            }
+            Object process = handle.getClass().getMethod("get").invoke(handle);
+            return (Boolean) handleClass.getMethod("isAlive").invoke(process);
+        } catch (ReflectiveOperationException e) { //NOSONAR
+            // Java 8 on platforms with a process file system
+            Path procPath = Paths.get("/proc");
+            if (Files.isDirectory(procPath.resolve("self"))) {
+                return Files.exists(procPath.resolve(Long.toString(pid)));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determine if the recorded process of the specified server is still alive.
+     *
+     * @param prefix key prefix of server
+     * @return {@code true} if the server process is alive or unrecorded; otherwise {@code false}
+     */
+    private boolean isAlive(final String prefix) {
+        String pid = state.getProperty(prefix + PID_KEY);
+        try {
+            return (pid == null) || (Long.parseLong(pid) == -1) || isProcessAlive(Long.parseLong(pid));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid process ID in Grid state file: {}", pid, e);
+            return false;
+        }
+    }
+
+    /**
+     * Record the specified server.
+     * <p>
+     * <b>NOTE</b>: The recorded process ID of a reused server is retained.
+     *
+     * @param prefix key prefix of server
+     * @param server Grid server
+     * @param hash server configuration hash
+     * @param shutdownRequest server shutdown request
+     */
+    private void put(final String prefix, final GridServer server, final String hash, final String shutdownRequest) {
+        URL serverUrl = server.getUrl();
+        Process process = (server instanceof LocalSeleniumGrid.LocalGridServer)
+                        ? ((LocalSeleniumGrid.LocalGridServer) server).getProcess() : null;
+        long pid = getPid(process);
+        state.setProperty(prefix + URL_KEY, serverUrl.toString());
+        if ((pid != -1) || !state.containsKey(prefix + PID_KEY)) {
+            state.setProperty(prefix + PID_KEY, Long.toString(pid));
+        }
+        state.setProperty(prefix + HASH_KEY, hash);
+        state.setProperty(prefix + SHUTDOWN_KEY,
+                        serverUrl.getProtocol() + "://" + serverUrl.getAuthority() + shutdownRequest);
+    }
+
+    /**
+     * Get the recorded URL of the specified server.
+     *
+     * @param prefix key prefix of server
+     * @return server URL; {@code null} if unrecorded
+     */
+    private URL getUrl(final String prefix) {
+        String url = state.getProperty(prefix + URL_KEY);
+        try {
+            return (url != null) ? new URL(url) : null;
+        } catch (MalformedURLException e) {
+            LOGGER.warn("Invalid URL in Grid state file: {}", url, e);
+            return null;
+        }
+    }
+
+    /**
+     * Shut down the specified server, ignoring failures.
+     *
+     * @param serverUrl server URL; {@code null} to do nothing
+     * @param statusRequest server status request
+     * @param shutdownRequest server shutdown request URL
+     * @throws InterruptedException if this thread was interrupted
+     */
+    private static void shutdown(final URL serverUrl, final String statusRequest, final String shutdownRequest)
+                    throws InterruptedException {
+        if ((serverUrl != null) && (shutdownRequest != null)) {
+            try {
+                URL requestUrl = new URL(shutdownRequest);
+                String request = requestUrl.getFile();
+                GridServer.shutdown(serverUrl, statusRequest, request, true);
+            } catch (MalformedURLException | RuntimeException e) {
+                LOGGER.warn("Unable to shut down Grid server at: {}", serverUrl, e);
+            }
+        }
+    }
+}
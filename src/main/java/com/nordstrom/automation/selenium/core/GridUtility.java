@@ -16,6 +16,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
@@ -23,6 +24,7 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.utils.URIUtils;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicHttpEntityEnclosingRequest;
+import org.apache.http.util.EntityUtils;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -30,6 +32,7 @@ import org.jsoup.select.Elements;
 import org.openqa.grid.common.GridRole;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +52,7 @@ public final class GridUtility {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(GridUtility.class);
     private static final NetIdentity IDENTITY = new NetIdentity();
+    private static final Pattern REGISTERED = Pattern.compile("\"success\"\\s*:\\s*true");
     
     /**
      * Private constructor to prevent instantiation.
@@ -84,6 +88,26 @@ public final class GridUtility {
         return false;
     }
     
+    /**
+     * Determine if the specified Selenium Grid node is registered with the indicated hub.
+     * 
+     * @param hubUrl {@link URL} of Grid hub
+     * @param nodeEndpoint node endpoint
+     * @return 'true' if specified node is registered; otherwise 'false'
+     */
+    public static boolean isNodeRegistered(final URL hubUrl, final String nodeEndpoint) {
+        try {
+            HttpResponse response = getHttpResponse(hubUrl, GridServer.NODE_CONFIG + "?id=" + nodeEndpoint);
+            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+                String json = EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+                return REGISTERED.matcher(json).find();
+            }
+        } catch (IOException e) { //NOSONAR
+            // nothing to do here
+        }
+        return false;
+    }
+    
     /**
      * Send the specified GET request to the indicated host.
      * 
@@ -116,6 +140,10 @@ public final class GridUtility {
     
     /**
      * Get a driver with desired capabilities from specified Selenium Grid hub.
+     * <p>
+     * <b>NOTE</b>: Unless disabled by the {@link SeleniumSettings#COMMAND_METRICS command metrics} setting, the
+     * commands of the new driver are recorded by {@link CommandMetrics}. Commands that change the browsing context of
+     * the new driver are tracked in either case.
      * 
      * @param remoteAddress Grid hub from which to obtain the driver
      * @param desiredCapabilities desired capabilities for the driver
@@ -124,7 +152,13 @@ public final class GridUtility {
     public static WebDriver getDriver(URL remoteAddress, Capabilities desiredCapabilities) {
         Objects.requireNonNull(remoteAddress, "[remoteAddress] must be non-null");
         if (isHubActive(remoteAddress)) {
-            return new RemoteWebDriver(remoteAddress, desiredCapabilities);
+            boolean recordMetrics =
+                            AbstractSeleniumConfig.getConfig().getBoolean(SeleniumSettings.COMMAND_METRICS.key());
+            InstrumentedCommandExecutor executor =
+                            new InstrumentedCommandExecutor(new HttpCommandExecutor(remoteAddress), recordMetrics);
+            RemoteWebDriver driver = new RemoteWebDriver(executor, desiredCapabilities);
+            executor.setDriver(driver);
+            return driver;
         } else {
             throw new IllegalStateException("No Selenium Grid instance was found at " + remoteAddress);
         }
@@ -250,6 +284,25 @@ public final class GridUtility {
         return IDENTITY.getHostAddress();
     }
     
+    /**
+     * Get configured folder for Grid server log files.
+     * 
+     * @param config {@link SeleniumConfig} object
+     * @return Grid server logs folder
+     */
+    public static Path getLogsPath(SeleniumConfig config) {
+        String logsFolder = config.getString(SeleniumSettings.GRID_LOGS_FOLDER.key());
+        Path logsPath = Paths.get(logsFolder);
+        if (!logsPath.isAbsolute()) {
+            String workingDir = config.getString(SeleniumSettings.GRID_WORKING_DIR.key());
+            if (workingDir == null || workingDir.isEmpty()) {
+                workingDir = System.getProperty("user.dir");
+            }
+            logsPath = Paths.get(workingDir, logsFolder);
+        }
+        return logsPath;
+    }
+    
     /**
      * Get next configured output path for Grid server of specified role.
      * 
@@ -262,15 +315,7 @@ public final class GridUtility {
         
         if (!config.getBoolean(SeleniumSettings.GRID_NO_REDIRECT.key())) {
             String gridRole = role.toString().toLowerCase();
-            String logsFolder = config.getString(SeleniumSettings.GRID_LOGS_FOLDER.key());
-            Path logsPath = Paths.get(logsFolder);
-            if (!logsPath.isAbsolute()) {
-                String workingDir = config.getString(SeleniumSettings.GRID_WORKING_DIR.key());
-                if (workingDir == null || workingDir.isEmpty()) {
-                    workingDir = System.getProperty("user.dir");
-                }
-                logsPath = Paths.get(workingDir, logsFolder);
-            }
+            Path logsPath = getLogsPath(config);
             
             try {
                 if (!logsPath.toFile().exists()) {
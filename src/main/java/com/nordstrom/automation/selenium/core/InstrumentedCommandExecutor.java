@@ -0,0 +1,111 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import com.nordstrom.automation.selenium.model.AbsentElementCache;
+import com.nordstrom.automation.selenium.model.BrowsingContext;
+
+/**
+ * This command executor records the latency and payload size of each command sent by a driver session, delegating
+ * actual execution to the wrapped executor. Each command is also recorded as a span in the timeline of the current
+ * test (if any).
+ * <p>
+ * <b>NOTE</b>: Commands that change the browsing context of the driver (navigation, window and frame switches)
+ * discard the {@link BrowsingContext} model of the driver, whether or not command metrics are being recorded.
+ * Navigation commands, element interactions, and script executions (other than {@link JsUtility#runRegistered
+ * registered} scripts) are also recorded as actions that require cached {@link AbsentElementCache absent elements} to
+ * be re-validated. Element searches are preceded by the {@link
+ * CachedTimeouts#deferImplicitWait deferred} implicit wait change (if any) of the driver.
+ *
+ * @see CommandMetrics
+ * @see TimelineRecorder
+ */
+final class InstrumentedCommandExecutor implements CommandExecutor {
+
+    /** name of W3C actions command (not declared by all supported Selenium versions) */
+    private static final String W3C_ACTIONS = "actions";
+
+    private static final Set<String> CONTEXT_COMMANDS = new HashSet<>(Arrays.asList(DriverCommand.GET,
+                    DriverCommand.GO_BACK, DriverCommand.GO_FORWARD, DriverCommand.REFRESH, DriverCommand.CLOSE,
+                    DriverCommand.SWITCH_TO_WINDOW, DriverCommand.SWITCH_TO_FRAME, DriverCommand.SWITCH_TO_PARENT_FRAME));
+    private static final Set<String> ACTION_COMMANDS = new HashSet<>(Arrays.asList(DriverCommand.GET,
+                    DriverCommand.GO_BACK, DriverCommand.GO_FORWARD, DriverCommand.REFRESH, DriverCommand.CLICK_ELEMENT,
+                    DriverCommand.SUBMIT_ELEMENT, DriverCommand.SEND_KEYS_TO_ELEMENT, DriverCommand.CLEAR_ELEMENT,
+                    DriverCommand.SEND_KEYS_TO_ACTIVE_ELEMENT, DriverCommand.CLICK, DriverCommand.DOUBLE_CLICK,
+                    DriverCommand.MOUSE_DOWN, DriverCommand.MOUSE_UP, W3C_ACTIONS));
+    private static final Set<String> SCRIPT_COMMANDS = new HashSet<>(Arrays.asList(DriverCommand.EXECUTE_SCRIPT,
+                    DriverCommand.EXECUTE_ASYNC_SCRIPT));
+    private static final Set<String> FIND_COMMANDS = new HashSet<>(Arrays.asList(DriverCommand.FIND_ELEMENT,
+                    DriverCommand.FIND_ELEMENTS, DriverCommand.FIND_CHILD_ELEMENT, DriverCommand.FIND_CHILD_ELEMENTS));
+
+    private final CommandExecutor executor;
+    private final boolean recordMetrics;
+    private volatile WebDriver driver;
+
+    /**
+     * Constructor for instrumented command executor
+     *
+     * @param executor command executor to be instrumented
+     * @param recordMetrics 'true' to record command metrics and timeline spans; otherwise 'false'
+     */
+    InstrumentedCommandExecutor(final CommandExecutor executor, final boolean recordMetrics) {
+        this.executor = executor;
+        this.recordMetrics = recordMetrics;
+    }
+
+    /**
+     * Set the driver whose commands are sent through this executor.
+     *
+     * @param driver driver object
+     */
+    void setDriver(final WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Response execute(final Command command) throws IOException {
+        if (driver != null) {
+            if (CONTEXT_COMMANDS.contains(command.getName())) {
+                BrowsingContext.invalidate(driver);
+            }
+            if (ACTION_COMMANDS.contains(command.getName())) {
+                AbsentElementCache.recordAction(driver);
+            } else if (SCRIPT_COMMANDS.contains(command.getName())) {
+                if (!JsUtility.isRegistered(command.getParameters().get("script"))) {
+                    AbsentElementCache.recordAction(driver);
+                }
+            } else if (FIND_COMMANDS.contains(command.getName())) {
+                CachedTimeouts.applyDeferredWait(driver);
+            }
+        }
+        if (!recordMetrics) {
+            return executor.execute(command);
+        }
+        
+        Response response = null;
+        long span = TimelineRecorder.enter(TimelineRecorder.COMMAND, command.getName(), null);
+        long prior = System.nanoTime();
+        try {
+            response = executor.execute(command);
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - prior;
+            TimelineRecorder.exit(span);
+            long responseBytes = (response != null) ? CommandMetrics.sizeOf(response.getValue()) : 0;
+            CommandMetrics.record(command.getName(), elapsed,
+                            CommandMetrics.sizeOf(command.getParameters()), responseBytes);
+        }
+    }
+}
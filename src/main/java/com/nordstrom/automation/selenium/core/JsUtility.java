@@ -8,6 +8,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 
 import org.openqa.selenium.JavascriptExecutor;
@@ -76,6 +78,9 @@ public final class JsUtility {
     private static final String MESSAGE_KEY = "message";
     
     private static final String DOCUMENT_READY = getScriptResource("documentReady.js");
+    private static final String DOM_EPOCH = "domEpoch.js";
+    
+    private static final ConcurrentMap<String, RegisteredScript> scriptRegistry = new ConcurrentHashMap<>();
     
     private static final List<String> JS_EXCEPTIONS = Arrays.asList(
                     "org.openqa.selenium.WebDriverException",
@@ -157,6 +162,116 @@ public final class JsUtility {
         return (T) WebDriverUtils.getExecutor(driver).executeScript(js, args);
     }
     
+    /**
+     * Executes the specified JavaScript resource as a registered function in the context of the currently selected
+     * frame or window.
+     * <p>
+     * The first time a registered script is executed in a document, its content is installed as a named function in
+     * the window object of the document. Subsequent executions send only a short invocation of this function, rather
+     * than the full text of the script. After navigation to a new document, the function is installed again on first
+     * use. Each function is keyed by the name and content hash of its resource, so scripts with the same name from
+     * different library versions don't collide.
+     * <p>
+     * The script resource is written exactly as it would be for {@link #runAndReturn(WebDriver, String, Object...)},
+     * accessing its arguments via the "arguments" magic variable and producing its result via a <code>return</code>
+     * statement.
+     * <p>
+     * <b>NOTE</b>: Unlike other script executions, registered scripts are presumed not to alter the document. After
+     * running a registered script that does, call
+     * {@link com.nordstrom.automation.selenium.model.AbsentElementCache#recordAction(WebDriver) recordAction} so that
+     * cached absent elements are re-validated.
+     * 
+     * @param <T> return type
+     * @param driver A handle to the currently running Selenium test window.
+     * @param resource script resource filename
+     * @param args The arguments to the script. May be empty
+     * @return The result of the execution
+     * @see #runAndReturn(WebDriver, String, Object...)
+     */
+    @SuppressWarnings("unchecked") // required because Selenium is not type safe.
+    public static <T> T runRegistered(final WebDriver driver, final String resource, final Object... args) {
+        RegisteredScript script = getRegisteredScript(resource);
+        JavascriptExecutor executor = WebDriverUtils.getExecutor(driver);
+        List<Object> result = (List<Object>) executor.executeScript(script.invoke, args);
+        if (result == null) {
+            result = (List<Object>) executor.executeScript(script.install, args);
+        }
+        return (T) result.get(0);
+    }
+    
+    /**
+     * Executes the specified asynchronous JavaScript resource as a registered function in the context of the
+     * currently selected frame or window.
+     * <p>
+     * Like {@link #runRegistered(WebDriver, String, Object...)}, the script is installed once per document and
+     * invoked by name thereafter. The script resource signals completion by invoking the callback that's passed as
+     * its final argument, exactly as it would for {@link JavascriptExecutor#executeAsyncScript(String, Object...)}.
+     * 
+     * @param <T> return type
+     * @param driver A handle to the currently running Selenium test window.
+     * @param resource script resource filename
+     * @param args The arguments to the script. May be empty
+     * @return The result of the execution
+     * @see JavascriptExecutor#executeAsyncScript(String, Object...)
+     */
+    @SuppressWarnings("unchecked") // required because Selenium is not type safe.
+    public static <T> T runRegisteredAsync(final WebDriver driver, final String resource, final Object... args) {
+        RegisteredScript script = getRegisteredScript(resource);
+        JavascriptExecutor executor = WebDriverUtils.getExecutor(driver);
+        List<Object> result = (List<Object>) executor.executeAsyncScript(script.invokeAsync, args);
+        if (result == null) {
+            result = (List<Object>) executor.executeAsyncScript(script.installAsync, args);
+        }
+        return (T) result.get(0);
+    }
+    
+    /**
+     * Get the DOM mutation epoch of the current document.
+     * <p>
+     * The first call in each document installs a {@code MutationObserver} that counts changes to the document's
+     * nodes, attributes, and text. The epoch combines this count with an identifier that's unique to the document, so
+     * two epochs are equal only if they were read from the same document with no mutations in between.
+     * <p>
+     * <b>NOTE</b>: Changes within shadow roots and changes to element properties that aren't reflected in attributes
+     * (e.g. - the {@code checked} state of a check box) don't advance the epoch.
+     * 
+     * @param driver A handle to the currently running Selenium test window.
+     * @return DOM mutation epoch; 'null' if the epoch is unavailable
+     */
+    public static String getDomEpoch(final WebDriver driver) {
+        try {
+            return runRegistered(driver, DOM_EPOCH);
+        } catch (WebDriverException e) { //NOSONAR
+            return null;
+        }
+    }
+    
+    /**
+     * Determine if the specified script is the installation or invocation of a registered JavaScript resource.
+     * 
+     * @param script script to be checked
+     * @return 'true' if the specified script is registered; otherwise 'false'
+     * @see #runRegistered(WebDriver, String, Object...)
+     */
+    static boolean isRegistered(final Object script) {
+        return (script instanceof String) && ((String) script).startsWith(RegisteredScript.MARKER);
+    }
+    
+    /**
+     * Get the registered form of the specified JavaScript resource.
+     * 
+     * @param resource script resource filename
+     * @return registered script
+     */
+    private static RegisteredScript getRegisteredScript(final String resource) {
+        RegisteredScript script = scriptRegistry.get(resource);
+        if (script == null) {
+            script = new RegisteredScript(resource, getScriptResource(resource));
+            scriptRegistry.putIfAbsent(resource, script);
+        }
+        return script;
+    }
+    
     /**
      * Returns a 'wait' proxy that determines if the current document is in 'ready' state.
      * 
@@ -218,6 +333,47 @@ public final class JsUtility {
         }
     }
     
+    /**
+     * This class holds the installation and invocation scripts for a registered JavaScript resource.
+     * <p>
+     * Registered functions are stored in the <code>__sf</code> property of the window object. Invocation scripts wrap
+     * the result of the function in an array, which distinguishes a 'null' result from an absent function. If the
+     * function is absent, the invocation script returns 'null' and the installation script is executed instead. Both
+     * scripts begin with a marker comment, which enables the command executor to recognize them.
+     */
+    private static class RegisteredScript {
+        
+        private static final String REGISTRY = "window.__sf";
+        private static final String MARKER = "// registered\n";
+        private static final String INVOKE_ASYNC =
+                        "var done = arguments[arguments.length - 1];\n"
+                        + "var args = Array.prototype.slice.call(arguments, 0, -1);\n"
+                        + "args.push(function(result) { done([result]); });\n";
+        
+        private final String invoke;
+        private final String install;
+        private final String invokeAsync;
+        private final String installAsync;
+        
+        /**
+         * Constructor for registered script
+         * 
+         * @param resource script resource filename
+         * @param content script resource content
+         */
+        RegisteredScript(final String resource, final String content) {
+            String function = REGISTRY + "['" + resource + "#" + Integer.toHexString(content.hashCode()) + "']";
+            String define = REGISTRY + " = " + REGISTRY + " || {};\n"
+                            + "var f = " + function + " = function() {\n" + content + "\n};\n";
+            String lookup = "var f = " + REGISTRY + " && " + function + ";\n";
+            
+            invoke = MARKER + lookup + "return f ? [f.apply(this, arguments)] : null;";
+            install = MARKER + define + "return [f.apply(this, arguments)];";
+            invokeAsync = MARKER + INVOKE_ASYNC + lookup + "if (f) f.apply(this, args); else done(null);";
+            installAsync = MARKER + INVOKE_ASYNC + define + "f.apply(this, args);";
+        }
+    }
+    
     /**
      * Propagate the specified web driver exception, extracting encoded JavaScript exception if present
      * 
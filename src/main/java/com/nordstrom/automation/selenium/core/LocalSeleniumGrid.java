@@ -3,21 +3,35 @@ package com.nordstrom.automation.selenium.core;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
 
@@ -43,6 +57,19 @@ import com.nordstrom.common.base.UncheckedThrow;
  * <p>
  * <b>NOTE</b>: If no test context is specified, the log file will be stored in the "current" directory of the parent
  * Java process.  
+ * <p>
+ * Once the hub is up, the processes for all nodes are spawned together and each is watched for readiness on its own
+ * thread, so the total startup time approaches that of the slowest single node. Nodes that fail to start are shut down
+ * and reported via {@link #getNodeFailures()}; the Grid is assembled from the nodes that started successfully.
+ * <p>
+ * If the {@link SeleniumSettings#GRID_IN_PROCESS GRID_IN_PROCESS} setting is enabled, the hub and nodes are run inside
+ * the current Java process instead, each on its own isolated class loader and local port. This avoids the startup, class
+ * loading, and warm-up costs of separate processes. See {@link #startInProcess startInProcess} for details.
+ * <p>
+ * If the {@link SeleniumSettings#GRID_PERSISTENT GRID_PERSISTENT} setting is enabled, the Grid outlives the test run.
+ * Its servers are recorded in a state file, and subsequent runs {@link #reuse reuse} the Grid, restarting only those
+ * nodes whose configuration has changed. A persistent Grid shuts itself down once it has been idle for the
+ * {@link SeleniumSettings#GRID_IDLE_TIMEOUT GRID_IDLE_TIMEOUT} interval.
  */
 public class LocalSeleniumGrid extends SeleniumGrid {
 
@@ -50,10 +77,52 @@ public class LocalSeleniumGrid extends SeleniumGrid {
     private static final String OPT_HOST = "-host";
     private static final String OPT_PORT = "-port";
     private static final String OPT_SERVLETS = "-servlets";
-    private static final String GRID_REGISTER = "/grid/register";
+    private static final String OPT_LOG = "-log";
+    
+    private final Map<String, Throwable> nodeFailures;
+    private GridState state;
     
     public LocalSeleniumGrid(SeleniumConfig config, LocalGridServer hubServer, LocalGridServer... nodeServers) throws IOException {
+        this(config, hubServer, Collections.<String, Throwable>emptyMap(), nodeServers);
+    }
+    
+    /**
+     * Constructor for local Selenium Grid with failed nodes.
+     * 
+     * @param config {@link SeleniumConfig} object
+     * @param hubServer {@link LocalGridServer} object for hub host
+     * @param nodeFailures map of browser names to launch failures of nodes that failed to start
+     * @param nodeServers array of {@link LocalGridServer} objects for node hosts that started successfully
+     * @throws IOException if unable to acquire Grid details
+     */
+    public LocalSeleniumGrid(SeleniumConfig config, LocalGridServer hubServer, Map<String, Throwable> nodeFailures,
+                    LocalGridServer... nodeServers) throws IOException {
         super(config, hubServer, nodeServers);
+        this.nodeFailures = Collections.unmodifiableMap(new LinkedHashMap<>(nodeFailures));
+    }
+    
+    /**
+     * Get the launch failures of the nodes of this Grid that failed to start.
+     * 
+     * @return map of browser names to launch failures (empty if all nodes started successfully)
+     */
+    public Map<String, Throwable> getNodeFailures() {
+        return nodeFailures;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * <b>NOTE</b>: If this is a persistent Grid, its state file is deleted.
+     */
+    @Override
+    public boolean shutdown(final boolean localOnly) throws InterruptedException {
+        boolean result = super.shutdown(localOnly);
+        if (result && (state != null)) {
+            state.delete();
+            state = null;
+        }
+        return result;
     }
     
     /**
@@ -61,6 +130,13 @@ public class LocalSeleniumGrid extends SeleniumGrid {
      * <p>
      * <b>NOTE</b>: This method stores the hub host URL in the {@link SeleniumSettings#HUB_HOST HUB_HOST} property for
      * subsequent retrieval.
+     * <p>
+     * Once the hub is ready, the processes for all nodes are spawned before waiting for any of them. Each node is then
+     * watched for readiness on its own thread. Nodes that fail to start within the host timeout interval are shut down,
+     * logged, and reported by {@link #getNodeFailures()} of the returned Grid.
+     * <p>
+     * If persistent mode is enabled, the launched Grid is recorded in the state file, and a reaper process is launched
+     * to shut the Grid down once it has been idle.
      * 
      * @param config {@link SeleniumConfig} object
      * @param hubConfigPath Selenium Grid hub configuration path
@@ -68,6 +144,7 @@ public class LocalSeleniumGrid extends SeleniumGrid {
      * @throws IOException if an I/O error occurs
      * @throws InterruptedException if this thread was interrupted
      * @throws TimeoutException if host timeout interval exceeded
+     * @throws GridServerLaunchFailedException if none of the Grid nodes started successfully
      */
     public static SeleniumGrid launch(SeleniumConfig config, final Path hubConfigPath)
                     throws IOException, InterruptedException, TimeoutException {
@@ -78,14 +155,21 @@ public class LocalSeleniumGrid extends SeleniumGrid {
         Integer hubPort = config.getInteger(SeleniumSettings.HUB_PORT.key(), Integer.valueOf(-1));
         String workingDir = config.getString(SeleniumSettings.GRID_WORKING_DIR.key());
         Path workingPath = (workingDir == null || workingDir.isEmpty()) ? null : Paths.get(workingDir);
+        boolean inProcess = config.getBoolean(SeleniumSettings.GRID_IN_PROCESS.key());
         Path outputPath = GridUtility.getOutputPath(config, GridRole.HUB);
-        LocalGridServer hubServer = start(launcherClassName, dependencyContexts, GridRole.HUB,
+        LocalGridServer hubServer = startServer(inProcess, launcherClassName, dependencyContexts, GridRole.HUB,
                         hubPort, hubConfigPath, workingPath, outputPath);
         waitUntilReady(hubServer, outputPath, hostTimeout);
         
         // store hub host URL in system property for subsequent retrieval
         System.setProperty(SeleniumSettings.HUB_HOST.key(), hubServer.getUrl().toString());
         
+        GridState state = null;
+        if (GridState.isEnabled(config)) {
+            state = GridState.create(config);
+            state.putHub(hubServer, getHubHash(config, hubConfigPath));
+        }
+        
         // two flavors of nodes: standalone (e.g. - appium) or hosted (e.g. - chrome)
         // => bury the distinction by providing a 'start()' method that returns a GridServer object
         // => provide interface method to create capabilities list from JSON string
@@ -110,15 +194,326 @@ public class LocalSeleniumGrid extends SeleniumGrid {
         //     NOTE: GridNodeConfiguration.capabilities is public
         //     Json.toJson(Object toConvert)
     
+        LocalSeleniumGrid grid = launchNodes(config, hubServer, new HashMap<String, LocalGridServer>(), state);
+        if (state != null) {
+            state.startReaper();
+        }
+        return grid;
+    }
+    
+    /**
+     * Reuse the persistent local Selenium Grid recorded in the state file.
+     * <p>
+     * The recorded Grid is reused if its hub process is alive, its hub is active, and it was launched from the current
+     * configuration. Recorded nodes whose processes are alive, that are still registered with the hub, and that were
+     * launched from the current configuration of their driver plug-ins are reused as is. Nodes whose configuration has
+     * changed are restarted, nodes for new driver plug-ins are started, and nodes for driver plug-ins that are no longer
+     * present are shut down.
+     * <p>
+     * <b>NOTE</b>: If the recorded Grid can't be reused, it's shut down and {@code null} is returned.
+     * 
+     * @param config {@link SeleniumConfig} object
+     * @param hubConfigPath Selenium Grid hub configuration path
+     * @return {@link SeleniumGrid} object for reused Grid; {@code null} if no reusable Grid is recorded
+     * @throws IOException if an I/O error occurs
+     * @throws InterruptedException if this thread was interrupted
+     * @throws GridServerLaunchFailedException if none of the Grid nodes is available
+     */
+    public static SeleniumGrid reuse(SeleniumConfig config, final Path hubConfigPath)
+                    throws IOException, InterruptedException {
+        
+        GridState state = GridState.load(config);
+        if (state == null) {
+            return null;
+        }
+        
+        URL hubUrl = state.getHubUrl();
+        if ((hubUrl == null) || !getHubHash(config, hubConfigPath).equals(state.getHubHash())
+                        || !state.isHubAlive() || !GridUtility.isHubActive(hubUrl)) {
+            LOGGER.info("Recorded local Grid is inactive or incompatible; shutting it down");
+            state.shutdown();
+            return null;
+        }
+        
+        // store hub host URL in system property for subsequent retrieval
+        System.setProperty(SeleniumSettings.HUB_HOST.key(), hubUrl.toString());
+        
+        LocalGridServer hubServer = new LocalGridServer(hubUrl, GridRole.HUB);
+        Map<String, LocalGridServer> reusedNodes = new HashMap<>();
+        for (String browserName : state.getNodeNames()) {
+            URL nodeUrl = state.getNodeUrl(browserName);
+            if ((nodeUrl != null) && state.isNodeAlive(browserName)
+                            && GridUtility.isNodeRegistered(hubUrl, "http://" + nodeUrl.getAuthority())) {
+                reusedNodes.put(browserName, new LocalGridServer(nodeUrl, GridRole.NODE));
+            } else {
+                state.shutdownNode(browserName);
+            }
+        }
+        
+        LOGGER.info("Reusing persistent local Grid at: {}", hubUrl);
+        return launchNodes(config, hubServer, reusedNodes, state);
+    }
+    
+    /**
+     * Launch local Selenium Grid nodes for the configured driver plug-ins, and assemble the local Grid.
+     * <p>
+     * The processes for all nodes are spawned before waiting for any of them. If a Grid state is specified, nodes
+     * recorded with matching configuration are reused instead of launched, and the state is updated and saved.
+     * 
+     * @param config {@link SeleniumConfig} object
+     * @param hubServer {@link LocalGridServer} object for hub host
+     * @param reusedNodes map of browser names to reusable nodes (consumed by this method)
+     * @param state Grid state of persistent Grid; {@code null} if not persistent
+     * @return {@link LocalSeleniumGrid} object for local Grid
+     * @throws IOException if an I/O error occurs
+     * @throws InterruptedException if this thread was interrupted
+     * @throws GridServerLaunchFailedException if none of the Grid nodes started successfully
+     */
+    private static LocalSeleniumGrid launchNodes(SeleniumConfig config, LocalGridServer hubServer,
+                    Map<String, LocalGridServer> reusedNodes, GridState state) throws IOException, InterruptedException {
+        
+        String launcherClassName = config.getString(SeleniumSettings.GRID_LAUNCHER.key());
+        String[] dependencyContexts = config.getDependencyContexts();
+        long hostTimeout = config.getLong(SeleniumSettings.HOST_TIMEOUT.key()) * 1000;
+        String workingDir = config.getString(SeleniumSettings.GRID_WORKING_DIR.key());
+        Path workingPath = (workingDir == null || workingDir.isEmpty()) ? null : Paths.get(workingDir);
+        
+        // spawn all node processes before waiting for any of them
+        List<String> browserNames = new ArrayList<>();
+        List<String> nodeHashes = new ArrayList<>();
+        List<Path> outputPaths = new ArrayList<>();
+        List<LocalGridServer> launchedServers = new ArrayList<>();
         List<LocalGridServer> nodeServers = new ArrayList<>();
+        Set<Integer> nodePorts = new HashSet<>();
+        nodePorts.add(hubServer.getUrl().getPort());
         for (DriverPlugin driverPlugin : ServiceLoader.load(DriverPlugin.class)) {
-            outputPath = GridUtility.getOutputPath(config, GridRole.NODE);
-            LocalGridServer nodeServer = start(config, launcherClassName, dependencyContexts, hubServer, driverPlugin, workingPath, outputPath);
-            waitUntilReady(nodeServer, outputPath, hostTimeout);
-            nodeServers.add(nodeServer);
+            String browserName = driverPlugin.getBrowserName();
+            String nodeHash = null;
+            if (state != null) {
+                nodeHash = getNodeHash(config, launcherClassName, dependencyContexts, hubServer, driverPlugin);
+                LocalGridServer reusedNode = reusedNodes.remove(browserName);
+                if (reusedNode != null) {
+                    if (nodeHash.equals(state.getNodeHash(browserName))) {
+                        nodeServers.add(reusedNode);
+                        continue;
+                    }
+                    LOGGER.info("Configuration of '{}' node has changed; restarting", browserName);
+                    state.shutdownNode(browserName);
+                }
+            }
+            
+            Path outputPath = GridUtility.getOutputPath(config, GridRole.NODE);
+            Integer nodePort = findFreePort(nodePorts);
+            LocalGridServer nodeServer = start(config, launcherClassName, dependencyContexts, hubServer, driverPlugin,
+                            nodePort, workingPath, outputPath);
+            browserNames.add(browserName);
+            nodeHashes.add(nodeHash);
+            outputPaths.add(outputPath);
+            launchedServers.add(nodeServer);
+        }
+        
+        // shut down reusable nodes whose driver plug-ins are no longer present
+        for (String browserName : reusedNodes.keySet()) {
+            state.shutdownNode(browserName);
+        }
+        
+        Map<String, Throwable> nodeFailures = new LinkedHashMap<>();
+        List<LocalGridServer> readyServers =
+                        waitUntilReady(launchedServers, outputPaths, browserNames, hostTimeout, nodeFailures);
+        nodeServers.addAll(readyServers);
+        
+        if (state != null) {
+            for (int i = 0; i < launchedServers.size(); i++) {
+                if (readyServers.contains(launchedServers.get(i))) {
+                    state.putNode(browserNames.get(i), launchedServers.get(i), nodeHashes.get(i));
+                } else {
+                    state.removeNode(browserNames.get(i));
+                }
+            }
+            state.save();
+        }
+        
+        if (nodeServers.isEmpty() && !nodeFailures.isEmpty()) {
+            throw getLaunchFailure(nodeFailures);
+        }
+        
+        LocalSeleniumGrid grid = new LocalSeleniumGrid(config, hubServer, nodeFailures,
+                        nodeServers.toArray(new LocalGridServer[0]));
+        grid.state = state;
+        return grid;
+    }
+    
+    /**
+     * Assemble the exception that reports the launch failures of all Grid nodes.
+     * 
+     * @param nodeFailures map of browser names to launch failures of nodes that failed to start (must be non-empty)
+     * @return launch exception caused by the first failure, with the remaining failures suppressed
+     */
+    static GridServerLaunchFailedException getLaunchFailure(final Map<String, Throwable> nodeFailures) {
+        GridServerLaunchFailedException failure = null;
+        for (Throwable cause : nodeFailures.values()) {
+            if (failure == null) {
+                failure = new GridServerLaunchFailedException(GridRole.NODE.toString().toLowerCase(), cause);
+            } else {
+                failure.addSuppressed(cause);
+            }
+        }
+        return failure;
+    }
+    
+    /**
+     * Compute the configuration hash of the local Grid hub.
+     * <p>
+     * <b>NOTE</b>: The hash covers the resolved classpath entries of the hub, so a rebuilt or upgraded dependency
+     * changes the hash even if the dependency contexts are unchanged.
+     * 
+     * @param config {@link SeleniumConfig} object
+     * @param hubConfigPath Selenium Grid hub configuration path
+     * @return hub configuration hash
+     */
+    static String getHubHash(SeleniumConfig config, final Path hubConfigPath) {
+        String hubConfig;
+        try {
+            hubConfig = new String(Files.readAllBytes(hubConfigPath), StandardCharsets.UTF_8);
+        } catch (IOException e) { //NOSONAR
+            hubConfig = hubConfigPath.toString();
+        }
+        return GridState.hashOf(config.getString(SeleniumSettings.GRID_LAUNCHER.key()),
+                        getClasspathEntries(config.getDependencyContexts()), System.getProperty("java.home"),
+                        System.getProperty("java.version"), config.getString(SeleniumSettings.HUB_PORT.key()),
+                        hubConfig);
+    }
+    
+    /**
+     * Compute the configuration hash of the local Grid node for the specified driver.
+     * <p>
+     * <b>NOTE</b>: As with the hub, the hash covers the resolved classpath entries of the node.
+     * 
+     * @param config {@link SeleniumConfig} object
+     * @param launcherClassName fully-qualified class name for Grid launcher
+     * @param dependencyContexts common dependency contexts for all Grid nodes
+     * @param hubServer Grid hub server with which node should register
+     * @param driverPlugin driver plug-in from which to create the node
+     * @return node configuration hash
+     */
+    private static String getNodeHash(SeleniumConfig config, String launcherClassName, String[] dependencyContexts,
+                    GridServer hubServer, DriverPlugin driverPlugin) {
+        List<String> propertyValues = new ArrayList<>();
+        for (String name : driverPlugin.getPropertyNames()) {
+            propertyValues.add(name + "=" + System.getProperty(name));
+        }
+        return GridState.hashOf(launcherClassName,
+                        getClasspathEntries(combineDependencyContexts(dependencyContexts, driverPlugin)),
+                        System.getProperty("java.home"), System.getProperty("java.version"),
+                        driverPlugin.getCapabilities(config), propertyValues, hubServer.getUrl().toString());
+    }
+    
+    /**
+     * Get descriptions of the resolved classpath entries for the specified dependency contexts.
+     * <p>
+     * Each entry is described by its path, size, and modification time, so that a replaced JAR file at the same path
+     * is distinguished from the original.
+     * 
+     * @param dependencyContexts array of dependency contexts
+     * @return sorted list of classpath entry descriptions (including Java agent paths)
+     */
+    static List<String> getClasspathEntries(final String[] dependencyContexts) {
+        List<String> entries = new ArrayList<>();
+        for (String path : getClasspath(dependencyContexts).split("[\n\t" + File.pathSeparator + "]")) {
+            if (!path.isEmpty()) {
+                File file = new File(path);
+                entries.add(path + "@" + file.length() + ":" + file.lastModified());
+            }
+        }
+        Collections.sort(entries);
+        return entries;
+    }
+    
+    /**
+     * Wait concurrently for the specified Grid nodes to indicate that they're ready.
+     * <p>
+     * Each node is watched on its own thread. Nodes that fail to indicate readiness within the maximum wait interval
+     * are shut down, and their failures are added to the supplied map.
+     * 
+     * @param servers list of {@link LocalGridServer} objects for launched nodes
+     * @param outputPaths list of {@link Path} objects for node output log files
+     * @param browserNames list of browser names of launched nodes
+     * @param maxWait maximum interval in milliseconds to wait; negative interval to wait indefinitely
+     * @param nodeFailures map to which browser names and launch failures of failed nodes are added
+     * @return list of {@link LocalGridServer} objects for nodes that are ready
+     * @throws InterruptedException if this thread was interrupted
+     */
+    static List<LocalGridServer> waitUntilReady(final List<LocalGridServer> servers,
+                    final List<Path> outputPaths, final List<String> browserNames, final long maxWait,
+                    final Map<String, Throwable> nodeFailures) throws InterruptedException {
+        
+        List<LocalGridServer> readyServers = new ArrayList<>();
+        if (servers.isEmpty()) {
+            return readyServers;
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(servers.size(), new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger(0);
+            
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "NodeWatcher-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        
+        try {
+            List<Future<Void>> watchers = new ArrayList<>();
+            for (int i = 0; i < servers.size(); i++) {
+                final LocalGridServer server = servers.get(i);
+                final Path outputPath = outputPaths.get(i);
+                watchers.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException, InterruptedException, TimeoutException {
+                        waitUntilReady(server, outputPath, maxWait);
+                        return null;
+                    }
+                }));
+            }
+            
+            for (int i = 0; i < servers.size(); i++) {
+                LocalGridServer server = servers.get(i);
+                try {
+                    watchers.get(i).get();
+                    readyServers.add(server);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    server.destroy();
+                    nodeFailures.put(browserNames.get(i), cause);
+                    LOGGER.warn("Grid node for '{}' failed to start; see log: {}", browserNames.get(i),
+                                    outputPaths.get(i), cause);
+                }
+            }
+        } catch (InterruptedException e) {
+            for (LocalGridServer server : servers) {
+                server.destroy();
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
         }
         
-        return new LocalSeleniumGrid(config, hubServer, nodeServers.toArray(new LocalGridServer[0]));
+        return readyServers;
+    }
+    
+    /**
+     * Acquire an available port that hasn't already been assigned to a server of this Grid.
+     * 
+     * @param assignedPorts set of ports already assigned; the acquired port is added to this set
+     * @return available port
+     */
+    private static Integer findFreePort(final Set<Integer> assignedPorts) {
+        Integer port;
+        do {
+            port = Integer.valueOf(PortProber.findFreePort());
+        } while (!assignedPorts.add(port));
+        return port;
     }
 
     /**
@@ -137,12 +532,36 @@ public class LocalSeleniumGrid extends SeleniumGrid {
     public static LocalGridServer start(SeleniumConfig config, String launcherClassName,
                     String[] dependencyContexts, GridServer hubServer, DriverPlugin driverPlugin,
                     final Path workingPath, final Path outputPath) throws IOException {
+        return start(config, launcherClassName, dependencyContexts, hubServer, driverPlugin,
+                        Integer.valueOf(-1), workingPath, outputPath);
+    }
+    
+    /**
+     * Start local Selenium Grid node for this driver on the specified port.
+     * 
+     * @param config {@link SeleniumConfig} object
+     * @param launcherClassName fully-qualified class name for Grid launcher
+     * @param dependencyContexts common dependency contexts for all Grid nodes
+     * @param hubServer Grid hub server with which node should register
+     * @param driverPlugin driver plug-in from which to create the node
+     * @param port port that Grid node should use; -1 to specify auto-configuration
+     * @param workingPath {@link Path} of working directory for server process; {@code null} for default
+     * @param outputPath {@link Path} to output log file; {@code null} to decline log-to-file
+     * @return {@link LocalGridServer} object for specified node
+     * @throws IOException if an I/O error occurs
+     */
+    public static LocalGridServer start(SeleniumConfig config, String launcherClassName,
+                    String[] dependencyContexts, GridServer hubServer, DriverPlugin driverPlugin,
+                    final Integer port, final Path workingPath, final Path outputPath) throws IOException {
 
         String[] combinedContexts = combineDependencyContexts(dependencyContexts, driverPlugin);
         Path nodeConfigPath = config.createNodeConfig(driverPlugin.getCapabilities(config), hubServer.getUrl());
         String[] propertyNames = driverPlugin.getPropertyNames();
-        return LocalSeleniumGrid.start(launcherClassName, combinedContexts, GridRole.NODE,
-                        Integer.valueOf(-1), nodeConfigPath, workingPath, outputPath, propertyNames);
+        boolean inProcess = config.getBoolean(SeleniumSettings.GRID_IN_PROCESS.key());
+        LocalGridServer nodeServer = startServer(inProcess, launcherClassName, combinedContexts, GridRole.NODE,
+                        port, nodeConfigPath, workingPath, outputPath, propertyNames);
+        nodeServer.hubUrl = hubServer.getUrl();
+        return nodeServer;
     }
     
     /**
@@ -158,46 +577,21 @@ public class LocalSeleniumGrid extends SeleniumGrid {
     
     /**
      * Wait for the specified Grid server to indicate that it's ready.
+     * <p>
+     * The output of the server is watched as it's written, and the server is actively probed for readiness, so the
+     * wait ends as soon as the server is ready. The wait also ends if the server process terminates.
      * 
      * @param server {@link LocalGridServer} object to wait for.
      * @param outputPath {@link Path} to output log file; {@code null} if not redirected
      * @param maxWait maximum interval in milliseconds to wait; negative interval to wait indefinitely
      * @throws InterruptedException if this thread was interrupted
-     * @throws IOException if an I/O error occurs
+     * @throws IOException if an I/O error occurs or the server process terminated
      * @throws TimeoutException if not waiting indefinitely and exceeded maximum wait
+     * @see GridServerWatcher
      */
     protected static void waitUntilReady(LocalGridServer server, Path outputPath, long maxWait)
                     throws IOException, InterruptedException, TimeoutException {
-        long maxTime = System.currentTimeMillis() + maxWait;
-        try (InputStream inputStream = (outputPath != null) ? Files.newInputStream(outputPath)
-                        : server.process.getInputStream()) {
-            while (appendAndCheckFor(inputStream, server.readyMessage, server.builder)) {
-                if ((maxWait > 0) && (System.currentTimeMillis() > maxTime)) {
-                    throw new TimeoutException("Timed out waiting for Grid server to be ready");
-                }
-                Thread.sleep(100);
-            }
-        }
-    }
-
-    /**
-     * Append available channel input to the supplied string builder and check for the specified prompt.
-     * 
-     * @param inputStream {@link InputStream} from which input is read
-     * @param readyMessage prompt to check for
-     * @param builder {@link StringBuilder} object to which input is appended
-     * @return {@code false} is prompt is found or channel is closed; otherwise {@code true}
-     * @throws IOException if an I/O error occurs
-     */
-    protected static boolean appendAndCheckFor(InputStream inputStream, String readyMessage, StringBuilder builder) throws IOException {
-        String recv = GridUtility.readAvailable(inputStream);
-        if ( ! recv.isEmpty()) {
-            builder.append(recv);
-            int readyMsgIndex = builder.indexOf(readyMessage);
-            int registerIndex = builder.indexOf(GRID_REGISTER);
-            return ((readyMsgIndex == -1) || (registerIndex == -1));
-        }
-        return true;
+        GridServerWatcher.waitUntilReady(server, outputPath, maxWait);
     }
 
     /**
@@ -222,39 +616,9 @@ public class LocalSeleniumGrid extends SeleniumGrid {
                     final String... propertyNames) {
         
         String gridRole = role.toString().toLowerCase();
-        List<String> argsList = new ArrayList<>();
-        
-        // specify server role
-        argsList.add(OPT_ROLE);
-        argsList.add(gridRole);
-        
-        // if starting a Grid node
-        if (role == GridRole.NODE) {
-            // add lifecycle servlet
-            argsList.add(OPT_SERVLETS);
-            argsList.add(LifecycleServlet.class.getName());
-        }
-        
         String hostUrl = GridUtility.getLocalHost();
-        
-        // specify server host
-        argsList.add(OPT_HOST);
-        argsList.add(hostUrl);
-        
-        Integer portNum = port;
-        // if port auto-select spec'd
-        if (portNum.intValue() == -1) {
-            // acquire available port
-            portNum = Integer.valueOf(PortProber.findFreePort());
-        }
-        
-        // specify server port
-        argsList.add(OPT_PORT);
-        argsList.add(portNum.toString());
-        
-        // specify server configuration file
-        argsList.add("-" + gridRole + "Config");
-        argsList.add(configPath.toString());
+        Integer portNum = getPort(port);
+        List<String> argsList = getServerArgs(role, hostUrl, portNum, configPath, true);
         
         // specify Grid launcher class name
         argsList.add(0, launcherClassName);
@@ -307,6 +671,199 @@ public class LocalSeleniumGrid extends SeleniumGrid {
         }
     }
 
+    /**
+     * Start a Selenium Grid server with the specified arguments, in the current process if so requested.
+     * 
+     * @param inProcess {@code true} to start the server in the current process if supported
+     * @param launcherClassName fully-qualified name of {@code GridLauncher} class
+     * @param dependencyContexts fully-qualified names of context classes for Selenium Grid dependencies
+     * @param role role of Grid server being started
+     * @param port port that Grid server should use; -1 to specify auto-configuration
+     * @param configPath {@link Path} to server configuration file
+     * @param workingPath {@link Path} of working directory for server process; {@code null} for default
+     * @param outputPath {@link Path} to output log file; {@code null} to decline log-to-file
+     * @param propertyNames optional array of property names to propagate to server process
+     * @return {@link LocalGridServer} object for managing the server
+     */
+    static LocalGridServer startServer(final boolean inProcess, final String launcherClassName,
+                    final String[] dependencyContexts, final GridRole role, final Integer port,
+                    final Path configPath, final Path workingPath, final Path outputPath,
+                    final String... propertyNames) {
+        
+        if (inProcess) {
+            LocalGridServer server = startInProcess(launcherClassName, dependencyContexts, role, port,
+                            configPath, outputPath);
+            if (server != null) {
+                return server;
+            }
+        }
+        return start(launcherClassName, dependencyContexts, role, port, configPath, workingPath, outputPath,
+                        propertyNames);
+    }
+    
+    /**
+     * Start a Selenium Grid server with the specified arguments in the current process.
+     * <p>
+     * The server is loaded from the classpath assembled for the specified dependency contexts by a class loader of its
+     * own, isolated from the class path of the current process. The server is started by the {@code launch} method of
+     * the specified launcher, and it's stopped via the {@link LocalGridServer#shutdown(boolean) shutdown} method of the
+     * returned object instead of the lifecycle servlet (which would exit the current process).
+     * <p>
+     * <b>NOTE</b>: In-process servers share the system properties, working directory, and {@code java.util.logging}
+     * configuration of the current process. Consequently, the log file of each server receives the output of all
+     * in-process servers, and readiness is detected solely by probing the server.
+     * <p>
+     * In-process servers are unsupported if the launcher lacks a {@code launch(String[])} method (e.g. - Selenium 2) or
+     * if any dependency context is a Java agent. In these cases, this method returns {@code null}, and the server should
+     * be started in a separate process.
+     * 
+     * @param launcherClassName fully-qualified name of {@code GridLauncher} class
+     * @param dependencyContexts fully-qualified names of context classes for Selenium Grid dependencies
+     * @param role role of Grid server being started
+     * @param port port that Grid server should use; -1 to specify auto-configuration
+     * @param configPath {@link Path} to server configuration file
+     * @param outputPath {@link Path} to output log file; {@code null} to decline log-to-file
+     * @return {@link LocalGridServer} object for managing the server; {@code null} if unsupported
+     * @throws GridServerLaunchFailedException If the Grid server failed to start
+     */
+    public static LocalGridServer startInProcess(final String launcherClassName,
+                    final String[] dependencyContexts, final GridRole role, final Integer port,
+                    final Path configPath, final Path outputPath) {
+        
+        String gridRole = role.toString().toLowerCase();
+        String classPath = getClasspath(dependencyContexts);
+        // if agent(s) specified
+        if (classPath.contains("\n")) {
+            LOGGER.warn("Grid {} requires a Java agent; starting in separate process", gridRole);
+            return null;
+        }
+        
+        URLClassLoader loader = null;
+        try {
+            String[] pathBits = classPath.split(File.pathSeparator);
+            URL[] urls = new URL[pathBits.length];
+            for (int i = 0; i < pathBits.length; i++) {
+                urls[i] = new File(pathBits[i]).toURI().toURL();
+            }
+            loader = new URLClassLoader(urls, getParentLoader());
+            
+            Class<?> launcherClass = Class.forName(launcherClassName, true, loader);
+            Method launch;
+            try {
+                launch = launcherClass.getMethod("launch", String[].class);
+            } catch (NoSuchMethodException e) {
+                LOGGER.warn("Grid launcher '{}' can't run in-process; starting {} in separate process",
+                                launcherClassName, gridRole);
+                loader.close();
+                return null;
+            }
+            
+            String hostUrl = GridUtility.getLocalHost();
+            Integer portNum = getPort(port);
+            List<String> argsList = getServerArgs(role, hostUrl, portNum, configPath, false);
+            if (outputPath != null) {
+                argsList.add(OPT_LOG);
+                argsList.add(outputPath.toString());
+            }
+            
+            Object server;
+            Thread thread = Thread.currentThread();
+            ClassLoader contextLoader = thread.getContextClassLoader();
+            // server threads inherit the isolated class loader
+            thread.setContextClassLoader(loader);
+            try {
+                server = launch.invoke(launcherClass.newInstance(), (Object) argsList.toArray(new String[0]));
+            } finally {
+                thread.setContextClassLoader(contextLoader);
+            }
+            
+            if (server == null) {
+                throw new IOException("Grid launcher declined arguments: " + argsList);
+            }
+            return new LocalGridServer(hostUrl, portNum, role, server, loader);
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            Throwable cause = (e instanceof InvocationTargetException) ? e.getCause() : e;
+            if (loader != null) {
+                try {
+                    loader.close();
+                } catch (IOException eaten) {
+                    cause.addSuppressed(eaten);
+                }
+            }
+            throw new GridServerLaunchFailedException(gridRole, cause);
+        }
+    }
+    
+    /**
+     * Get the port that a Grid server should use.
+     * 
+     * @param port port that Grid server should use; -1 to specify auto-configuration
+     * @return specified port; available port if auto-configuration specified
+     */
+    private static Integer getPort(final Integer port) {
+        // if port auto-select spec'd
+        if (port.intValue() == -1) {
+            // acquire available port
+            return Integer.valueOf(PortProber.findFreePort());
+        }
+        return port;
+    }
+    
+    /**
+     * Assemble the arguments for a Selenium Grid server.
+     * 
+     * @param role role of Grid server being started
+     * @param hostUrl IP address of Grid server
+     * @param portNum port of Grid server
+     * @param configPath {@link Path} to server configuration file
+     * @param lifecycle {@code true} to add the lifecycle servlet to Grid nodes
+     * @return list of server arguments
+     */
+    private static List<String> getServerArgs(final GridRole role, final String hostUrl, final Integer portNum,
+                    final Path configPath, final boolean lifecycle) {
+        
+        String gridRole = role.toString().toLowerCase();
+        List<String> argsList = new ArrayList<>();
+        
+        // specify server role
+        argsList.add(OPT_ROLE);
+        argsList.add(gridRole);
+        
+        // if starting a Grid node
+        if (lifecycle && (role == GridRole.NODE)) {
+            // add lifecycle servlet
+            argsList.add(OPT_SERVLETS);
+            argsList.add(LifecycleServlet.class.getName());
+        }
+        
+        // specify server host
+        argsList.add(OPT_HOST);
+        argsList.add(hostUrl);
+        
+        // specify server port
+        argsList.add(OPT_PORT);
+        argsList.add(portNum.toString());
+        
+        // specify server configuration file
+        argsList.add("-" + gridRole + "Config");
+        argsList.add(configPath.toString());
+        
+        return argsList;
+    }
+    
+    /**
+     * Get the parent class loader for in-process Grid servers.
+     * 
+     * @return platform class loader (Java 9+); otherwise {@code null} for the bootstrap class loader
+     */
+    private static ClassLoader getParentLoader() {
+        try {
+            return (ClassLoader) ClassLoader.class.getMethod("getPlatformClassLoader").invoke(null);
+        } catch (ReflectiveOperationException e) { //NOSONAR
+            return null;
+        }
+    }
+    
     /**
      * Assemble a classpath string from the specified array of dependencies.
      * <p>
@@ -436,8 +993,11 @@ public class LocalSeleniumGrid extends SeleniumGrid {
     public static class LocalGridServer extends GridServer {
 
         private Process process;
+        private Object server;
+        private URLClassLoader loader;
         private StringBuilder builder;
         String readyMessage;
+        URL hubUrl;
         
         private static final String HUB_READY = "up and running";
         private static final String NODE_READY = "ready to use";
@@ -451,8 +1011,18 @@ public class LocalSeleniumGrid extends SeleniumGrid {
          * @param process {@link Process} of local Grid server
          */
         LocalGridServer(String host, Integer port, GridRole role, Process process) {
-            super(getServerUrl(host, port), role);
+            this(getServerUrl(host, port), role);
             this.process = process;
+        }
+        
+        /**
+         * Constructor for local Grid server object that was launched by a prior test run.
+         * 
+         * @param url {@link URL} of local Grid server
+         * @param role {@link GridRole} of local Grid server
+         */
+        LocalGridServer(URL url, GridRole role) {
+            super(url, role);
             this.builder = new StringBuilder();
             if (isHub()) {
                 readyMessage = HUB_READY;
@@ -461,15 +1031,94 @@ public class LocalSeleniumGrid extends SeleniumGrid {
             }
         }
         
+        /**
+         * Constructor for in-process local Grid server object.
+         * 
+         * @param host IP address of local Grid server
+         * @param port port of local Grid server
+         * @param role {@link GridRole} of local Grid server
+         * @param server launched server object (must have a {@code stop()} method)
+         * @param loader isolated class loader of local Grid server
+         */
+        LocalGridServer(String host, Integer port, GridRole role, Object server, URLClassLoader loader) {
+            this(host, port, role, (Process) null);
+            this.server = server;
+            this.loader = loader;
+        }
+        
         /**
          * Get process for this local Grid server.
          * 
-         * @return {@link Process} object
+         * @return {@link Process} object; {@code null} for in-process server or server launched by a prior test run
          */
         public Process getProcess() {
             return process;
         }
         
+        /**
+         * Determine if this local Grid server runs in the current process.
+         * 
+         * @return {@code true} if this server runs in-process; otherwise {@code false}
+         */
+        public boolean isInProcess() {
+            return (server != null);
+        }
+        
+        /**
+         * {@inheritDoc}
+         * <p>
+         * <b>NOTE</b>: In-process servers are stopped directly, and their class loaders are closed.
+         */
+        @Override
+        public boolean shutdown(final boolean localOnly) throws InterruptedException {
+            if (isInProcess()) {
+                stop();
+                return true;
+            }
+            return super.shutdown(localOnly);
+        }
+        
+        /**
+         * Forcibly terminate this local Grid server.
+         */
+        void destroy() {
+            if (isInProcess()) {
+                stop();
+            } else if (process != null) {
+                process.destroy();
+            }
+        }
+        
+        /**
+         * Stop this in-process Grid server and close its class loader.
+         * <p>
+         * <b>NOTE</b>: Threads started by the server that remain alive are interrupted.
+         */
+        private synchronized void stop() {
+            if (loader == null) {
+                return;
+            }
+            try {
+                Method stop = server.getClass().getMethod("stop");
+                // server class may be non-public (e.g. - lambda)
+                stop.setAccessible(true);
+                stop.invoke(server);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.warn("Failed stopping in-process Grid server at: {}", getUrl(), e);
+            }
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getContextClassLoader() == loader) {
+                    thread.interrupt();
+                }
+            }
+            try {
+                loader.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed closing class loader of in-process Grid server at: {}", getUrl(), e);
+            }
+            loader = null;
+        }
+        
         /**
          * Get process output from the launch of this local Grid server.
          * <p>
@@ -490,6 +1139,30 @@ public class LocalSeleniumGrid extends SeleniumGrid {
             return readyMessage;
         }
         
+        /**
+         * Append the specified process output to the launch output of this local Grid server.
+         * 
+         * @param recv process output
+         */
+        void appendLaunchOutput(String recv) {
+            builder.append(recv);
+        }
+        
+        /**
+         * Probe this local Grid server for readiness.
+         * <p>
+         * <b>NOTE</b>: A hub is ready when it responds to configuration requests. A node is ready when it's registered
+         * with its hub; nodes started without a known hub are never reported ready by this method.
+         * 
+         * @return {@code true} if this server is ready; otherwise {@code false}
+         */
+        boolean isReady() {
+            if (isHub()) {
+                return GridUtility.isHubActive(getUrl());
+            }
+            return (hubUrl != null) && GridUtility.isNodeRegistered(hubUrl, "http://" + getUrl().getAuthority());
+        }
+        
         /**
          * Get {@code localhost} URL for Selenium Grid server at the specified port.
          * <p>
@@ -155,6 +155,9 @@ public class SeleniumGrid {
      * <p>
      * If the endpoint is {@code null} or specifies an inactive {@code localhost} URL, this method launches a local
      * Grid instance and returns a {@link LocalSeleniumGrid} object.
+     * <p>
+     * If {@link SeleniumSettings#GRID_PERSISTENT persistent} local Grid mode is enabled and the endpoint is either
+     * {@code null} or a {@code localhost} URL, a compatible persistent Grid recorded by a prior test run is reused.
      * 
      * @param config {@link SeleniumConfig} object
      * @param hubUrl {@link URL} of hub host
@@ -164,6 +167,12 @@ public class SeleniumGrid {
      * @throws TimeoutException if host timeout interval exceeded
      */
     public static SeleniumGrid create(SeleniumConfig config, URL hubUrl) throws IOException, InterruptedException, TimeoutException {
+        if (GridState.isEnabled(config) && ((hubUrl == null) || GridUtility.isLocalHost(hubUrl))) {
+            SeleniumGrid grid = LocalSeleniumGrid.reuse(config, config.getHubConfigPath());
+            if (grid != null) {
+                return grid;
+            }
+        }
         if (GridUtility.isHubActive(hubUrl)) {
             return new SeleniumGrid(config, hubUrl);
         } else if ((hubUrl == null) || GridUtility.isLocalHost(hubUrl)) {
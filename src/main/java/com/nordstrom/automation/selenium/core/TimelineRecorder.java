@@ -0,0 +1,279 @@
+package com.nordstrom.automation.selenium.core;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+
+/**
+ * This class records a timeline of the page-object method calls, waits, and driver commands of a test as nested
+ * spans, which can be exported in Chrome trace-event format for viewing in a flame-graph viewer (e.g. - Chrome
+ * {@code about:tracing}, Perfetto, or Speedscope).
+ * <p>
+ * Each thread records into its own recorder, which is started and stopped by {@link DriverManager} around each test
+ * if the {@link SeleniumSettings#TIMELINE_CAPACITY timeline capacity} setting is non-zero. The timeline of each test is
+ * written to the {@code timeline} folder of the test output directory.
+ * <p>
+ * Recording is designed to stay enabled in production runs. Spans are stored in preallocated parallel arrays that act
+ * as a ring buffer: once the buffer is full, the oldest spans are overwritten. Opening and closing a span allocates no
+ * objects and performs no string formatting; span subjects are stored as references and only rendered on export.
+ * <p>
+ * <b>NOTE</b>: Spans are recorded on the thread that enters them. Commands issued by other threads (e.g. - background
+ * driver provisioning) are not included in the timeline of a test.
+ */
+public final class TimelineRecorder {
+
+    /** span kind for page-object method calls */
+    public static final int PAGE = 0;
+    /** span kind for waits */
+    public static final int WAIT = 1;
+    /** span kind for driver commands */
+    public static final int COMMAND = 2;
+
+    private static final String[] CATEGORIES = {"page", "wait", "command"};
+    private static final String TIMELINE_PATH = "timeline";
+    private static final String EXTENSION = ".json";
+    private static final ThreadLocal<TimelineRecorder> RECORDER = new ThreadLocal<>();
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimelineRecorder.class);
+
+    private final String testName;
+    private final long threadId;
+    private final long origin;
+    private final int capacity;
+    private final int[] kinds;
+    private final int[] depths;
+    private final long[] starts;
+    private final long[] ends;
+    private final Object[] subjects;
+    private final Object[] details;
+    private long count;
+    private int depth;
+
+    /**
+     * Constructor for timeline recorder
+     *
+     * @param testName name of test whose timeline is recorded
+     * @param capacity maximum number of spans retained
+     */
+    private TimelineRecorder(final String testName, final int capacity) {
+        this.testName = testName;
+        this.threadId = Thread.currentThread().getId();
+        this.origin = System.nanoTime();
+        this.capacity = capacity;
+        this.kinds = new int[capacity];
+        this.depths = new int[capacity];
+        this.starts = new long[capacity];
+        this.ends = new long[capacity];
+        this.subjects = new Object[capacity];
+        this.details = new Object[capacity];
+    }
+
+    /**
+     * Start recording the timeline of the specified test on this thread, if enabled by configuration.
+     *
+     * @param testName test name
+     * @return timeline recorder; 'null' if timeline recording is disabled
+     */
+    public static TimelineRecorder beginTest(final String testName) {
+        long capacity = SeleniumConfig.getConfig().getLong(SeleniumSettings.TIMELINE_CAPACITY.key());
+        return (capacity > 0) ? beginTest(testName, (int) capacity) : null;
+    }
+
+    /**
+     * Start recording the timeline of the specified test on this thread.
+     *
+     * @param testName test name
+     * @param capacity maximum number of spans retained
+     * @return timeline recorder
+     */
+    public static TimelineRecorder beginTest(final String testName, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("[capacity] must be positive");
+        }
+        TimelineRecorder recorder = new TimelineRecorder(testName, capacity);
+        RECORDER.set(recorder);
+        return recorder;
+    }
+
+    /**
+     * Stop recording the timeline of the current test on this thread.
+     *
+     * @return timeline recorder of the test that was running; 'null' if no timeline was being recorded
+     */
+    public static TimelineRecorder endTest() {
+        TimelineRecorder recorder = RECORDER.get();
+        RECORDER.remove();
+        return recorder;
+    }
+
+    /**
+     * Open a span on this thread.
+     * <p>
+     * <b>NOTE</b>: Each span must be closed by passing the returned token to {@link #exit(long)}, typically in a
+     * {@code finally} block.
+     *
+     * @param kind span kind ({@link #PAGE}, {@link #WAIT}, or {@link #COMMAND})
+     * @param subject span subject (page-object class, wait condition, or command name)
+     * @param detail span detail (page-object method; otherwise 'null')
+     * @return span token; -1 if no timeline is being recorded
+     */
+    public static long enter(final int kind, final Object subject, final Object detail) {
+        TimelineRecorder recorder = RECORDER.get();
+        return (recorder != null) ? recorder.open(kind, subject, detail) : -1;
+    }
+
+    /**
+     * Close the span with the specified token on this thread.
+     *
+     * @param token span token returned by {@link #enter(int, Object, Object)}
+     */
+    public static void exit(final long token) {
+        if (token >= 0) {
+            TimelineRecorder recorder = RECORDER.get();
+            if (recorder != null) {
+                recorder.close(token);
+            }
+        }
+    }
+
+    /**
+     * Get the name of the test whose timeline is recorded.
+     *
+     * @return test name
+     */
+    public String getTestName() {
+        return testName;
+    }
+
+    /**
+     * Get the number of spans that have been recorded.
+     *
+     * @return recorded span count (including spans that have been overwritten)
+     */
+    public long getSpanCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of spans that have been overwritten by newer spans.
+     *
+     * @return dropped span count
+     */
+    public long getDroppedCount() {
+        return Math.max(0, count - capacity);
+    }
+
+    /**
+     * Export the retained spans in Chrome trace-event format.
+     * <p>
+     * Each span is exported as a complete event ({@code "ph":"X"}) with timestamps in microseconds relative to the
+     * start of the test. Spans that are still open are exported with their duration up to the time of export.
+     *
+     * @return trace-event JSON
+     */
+    public String toTraceJson() {
+        long now = System.nanoTime();
+        StringBuilder builder = new StringBuilder("{\"traceEvents\":[");
+        builder.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(threadId)
+                        .append(",\"args\":{\"name\":").append(CommandMetrics.quote(testName)).append("}}");
+
+        for (long token = getDroppedCount(); token < count; token++) {
+            int slot = (int) (token % capacity);
+            long end = (ends[slot] != 0) ? ends[slot] : now;
+            builder.append(",{\"name\":").append(CommandMetrics.quote(nameOf(slot)))
+                            .append(",\"cat\":\"").append(CATEGORIES[kinds[slot]])
+                            .append("\",\"ph\":\"X\",\"ts\":").append((starts[slot] - origin) / 1000.0)
+                            .append(",\"dur\":").append((end - starts[slot]) / 1000.0)
+                            .append(",\"pid\":1,\"tid\":").append(threadId)
+                            .append(",\"args\":{\"depth\":").append(depths[slot]);
+            if (ends[slot] == 0) {
+                builder.append(",\"open\":true");
+            }
+            builder.append("}}");
+        }
+
+        builder.append("],\"displayTimeUnit\":\"ms\",\"otherData\":{\"test\":").append(CommandMetrics.quote(testName))
+                        .append(",\"spans\":").append(count).append(",\"dropped\":").append(getDroppedCount())
+                        .append("}}");
+        return builder.toString();
+    }
+
+    /**
+     * Write the retained spans in Chrome trace-event format to the {@code timeline} folder of the specified directory.
+     *
+     * @param outputDirectory test output directory
+     * @return path of the trace-event file
+     * @throws IOException if an I/O error occurs
+     */
+    public Path write(final Path outputDirectory) throws IOException {
+        Path directory = outputDirectory.resolve(TIMELINE_PATH);
+        Files.createDirectories(directory);
+        Path path = directory.resolve(testName + EXTENSION);
+        for (int i = 2; Files.exists(path); i++) {
+            path = directory.resolve(testName + "-" + i + EXTENSION);
+        }
+        Files.write(path, toTraceJson().getBytes(StandardCharsets.UTF_8));
+        LOGGER.debug("Timeline of [{}] written to: {}", testName, path);
+        return path;
+    }
+
+    /**
+     * Open a span in this recorder.
+     *
+     * @param kind span kind
+     * @param subject span subject
+     * @param detail span detail
+     * @return span token
+     */
+    private long open(final int kind, final Object subject, final Object detail) {
+        int slot = (int) (count % capacity);
+        kinds[slot] = kind;
+        depths[slot] = depth++;
+        subjects[slot] = subject;
+        details[slot] = detail;
+        ends[slot] = 0;
+        starts[slot] = System.nanoTime();
+        return count++;
+    }
+
+    /**
+     * Close the span with the specified token in this recorder.
+     *
+     * @param token span token
+     */
+    private void close(final long token) {
+        long now = System.nanoTime();
+        // ignore tokens from other recorders
+        if (token < count) {
+            depth = Math.max(0, depth - 1);
+            // skip spans that have been overwritten
+            if (token >= getDroppedCount()) {
+                ends[(int) (token % capacity)] = now;
+            }
+        }
+    }
+
+    /**
+     * Render the name of the span in the specified slot.
+     *
+     * @param slot span slot
+     * @return span name
+     */
+    private String nameOf(final int slot) {
+        Object subject = subjects[slot];
+        Object detail = details[slot];
+        String name = (subject instanceof Class) ? ((Class<?>) subject).getSimpleName() : String.valueOf(subject);
+        if (detail instanceof Method) {
+            return name + "." + ((Method) detail).getName();
+        }
+        return (detail != null) ? name + "." + detail : name;
+    }
+
+}
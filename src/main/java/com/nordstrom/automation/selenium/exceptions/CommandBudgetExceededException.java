@@ -0,0 +1,20 @@
+package com.nordstrom.automation.selenium.exceptions;
+
+import com.nordstrom.automation.selenium.annotations.CommandBudget;
+
+/**
+ * This exception is thrown when a test exceeds the limits declared by its {@link CommandBudget} annotation.
+ */
+public class CommandBudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = -3304598816209557374L;
+
+    /**
+     * Constructor for exception with the specified message.
+     * 
+     * @param message description of the budget overrun
+     */
+    public CommandBudgetExceededException(final String message) {
+        super(message);
+    }
+}
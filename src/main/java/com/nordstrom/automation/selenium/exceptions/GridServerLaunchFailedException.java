@@ -20,6 +20,16 @@ public class GridServerLaunchFailedException extends RuntimeException {
         super(getMessage(role), cause);
     }
     
+    /**
+     * Constructor for {@code launch failed} exception with the specified server role.
+     * 
+     * @param role Grid server role specifier ({@code hub} or {@code node})
+     * @param cause the cause of this exception
+     */
+    public GridServerLaunchFailedException(final String role, final Throwable cause) {
+        super(getMessage(role), cause);
+    }
+    
     /**
      * Get exception message for the specified server role.
      * 
@@ -26,16 +26,23 @@ public interface WrapsContext extends WrapsDriver {
     
     /**
      * Refresh the underlying search context for this object.
+     * <p>
+     * <b>NOTE</b>: Page components acquired at or before the specified expiration only refresh their context chain if
+     * their context element has actually gone stale, which confines refresh activity to the portion of the chain that
+     * was replaced.
      * 
-     * @param expiration expiration time of context chain
+     * @param expiration expiration sequence number of context chain
      * @return object search context
      */
     SearchContext refreshContext(long expiration);
     
     /**
      * Determine when the underlying search context for this object was acquired.
+     * <p>
+     * <b>NOTE</b>: Acquisition sequence numbers increase monotonically with each element reference acquired, which
+     * orders acquisitions reliably even when several occur within the same clock tick.
      * 
-     * @return search context acquisition time (from {@link System#currentTimeMillis()})
+     * @return search context acquisition sequence number
      */
     long acquiredAt();
     
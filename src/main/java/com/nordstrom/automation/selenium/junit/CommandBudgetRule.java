@@ -0,0 +1,40 @@
+package com.nordstrom.automation.selenium.junit;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import com.nordstrom.automation.selenium.annotations.CommandBudget;
+import com.nordstrom.automation.selenium.core.CommandBudgetVerifier;
+import com.nordstrom.automation.selenium.core.CommandMetrics;
+
+/**
+ * This JUnit rule enforces the {@link CommandBudget} annotations of test methods and classes. If a passing test
+ * exceeds its budget, the test fails; if overruns are report-only, the overrun is logged.
+ * 
+ * @see CommandBudgetVerifier
+ */
+public class CommandBudgetRule implements TestRule {
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        CommandBudget methodBudget = description.getAnnotation(CommandBudget.class);
+        final CommandBudget budget = (methodBudget != null) ? methodBudget
+                        : description.getTestClass().getAnnotation(CommandBudget.class);
+        if (budget == null) {
+            return base;
+        }
+        
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                base.evaluate();
+                // metrics of the test that just ended on this thread
+                CommandBudgetVerifier.verify(budget, CommandMetrics.lastEnded());
+            }
+        };
+    }
+}
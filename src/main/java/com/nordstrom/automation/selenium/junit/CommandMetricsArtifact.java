@@ -0,0 +1,65 @@
+package com.nordstrom.automation.selenium.junit;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.nordstrom.automation.selenium.core.CommandMetrics;
+import com.nordstrom.automation.junit.ArtifactType;
+
+/**
+ * This class implements the artifact type for driver command metrics, exported as JSON.
+ * <p>
+ * <b>NOTE</b>: The exported metrics are those of the test that most recently ended on the calling thread.
+ */
+public class CommandMetricsArtifact extends ArtifactType {
+    
+    private static final String ARTIFACT_PATH = "command-metrics";
+    private static final String EXTENSION = "json";
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandMetricsArtifact.class);
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canGetArtifact(final Object instance) {
+        return (CommandMetrics.lastEnded() != null);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getArtifact(final Object instance, final Throwable reason) {
+        CommandMetrics metrics = CommandMetrics.lastEnded();
+        if (metrics != null) {
+            return metrics.toJson().getBytes(StandardCharsets.UTF_8);
+        }
+        return new byte[0];
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Path getArtifactPath(final Object instance) {
+        return super.getArtifactPath(instance).resolve(ARTIFACT_PATH);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getArtifactExtension() {
+        return EXTENSION;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Logger getLogger() {
+        return LOGGER;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.nordstrom.automation.selenium.junit;
+
+import org.junit.runner.Description;
+
+import com.nordstrom.automation.junit.ArtifactCollector;
+
+/**
+ * This class uses the {@link ArtifactCollector} to implement a test watcher that saves the driver command metrics of
+ * each test. Unlike other artifacts, command metrics are saved for passing tests as well as failing ones.
+ */
+public class CommandMetricsCapture extends ArtifactCollector<CommandMetricsArtifact> {
+    
+    /**
+     * This constructor provides a {@link CommandMetricsArtifact} object to the {@link ArtifactCollector}.
+     * 
+     * @param instance JUnit test class instance
+     */
+    public CommandMetricsCapture(final Object instance) {
+        super(instance, new CommandMetricsArtifact());
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void succeeded(final Description description) {
+        captureArtifact(null);
+    }
+
+}
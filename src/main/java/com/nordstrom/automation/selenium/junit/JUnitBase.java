@@ -37,7 +37,9 @@ public abstract class JUnitBase extends TestBase implements ArtifactParams {
     public final RuleChain ruleChain = RuleChain
             .outerRule(new ScreenshotCapture(this))
             .around(new PageSourceCapture(this))
-            .around(DriverWatcher.getTestWatcher(this));
+            .around(new CommandMetricsCapture(this))
+            .around(DriverWatcher.getTestWatcher(this))
+            .around(new CommandBudgetRule());
     
     private WebDriver driver = null;
     private Page initialPage = null;
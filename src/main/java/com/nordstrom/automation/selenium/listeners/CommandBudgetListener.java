@@ -0,0 +1,66 @@
+package com.nordstrom.automation.selenium.listeners;
+
+import java.lang.reflect.Method;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import com.nordstrom.automation.selenium.annotations.CommandBudget;
+import com.nordstrom.automation.selenium.core.CommandBudgetVerifier;
+import com.nordstrom.automation.selenium.core.CommandMetrics;
+import com.nordstrom.automation.selenium.exceptions.CommandBudgetExceededException;
+
+/**
+ * This TestNG listener enforces the {@link CommandBudget} annotations of test methods and classes:
+ * <ul>
+ *     <li>If a passing test exceeds its budget, the test is marked as failed.</li>
+ *     <li>If overruns are report-only, the overrun is logged and attached to the test result.</li>
+ * </ul>
+ * 
+ * @see CommandBudgetVerifier
+ */
+public class CommandBudgetListener implements IInvokedMethodListener {
+    
+    /** test result attribute that holds the description of a report-only budget overrun */
+    public static final String BUDGET_OVERRUN = "CommandBudgetOverrun";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beforeInvocation(final IInvokedMethod invokedMethod, final ITestResult testResult) {
+        // no pre-invocation processing
+    }
+
+    /**
+     * Perform post-invocation processing:
+     * <ul>
+     *     <li>If a passing test exceeded its command budget, mark the test as failed.</li>
+     * </ul>
+     * 
+     * @param invokedMethod an object representing the method that's just been invoked
+     * @param testResult test result object for the method that's just been invoked
+     */
+    @Override
+    public void afterInvocation(final IInvokedMethod invokedMethod, final ITestResult testResult) {
+        if (invokedMethod.isTestMethod() && (testResult.getStatus() == ITestResult.SUCCESS)) {
+            Method method = invokedMethod.getTestMethod().getConstructorOrMethod().getMethod();
+            CommandBudget budget = CommandBudgetVerifier.getBudget(method);
+            CommandMetrics metrics = (CommandMetrics) testResult.getAttribute(DriverListener.COMMAND_METRICS);
+            if (metrics == null) {
+                // driver listener hasn't finished this invocation yet
+                metrics = CommandMetrics.current();
+            }
+            try {
+                String overrun = CommandBudgetVerifier.verify(budget, metrics);
+                if (overrun != null) {
+                    testResult.setAttribute(BUDGET_OVERRUN, overrun);
+                }
+            } catch (CommandBudgetExceededException e) {
+                testResult.setStatus(ITestResult.FAILURE);
+                testResult.setThrowable(e);
+            }
+        }
+    }
+}
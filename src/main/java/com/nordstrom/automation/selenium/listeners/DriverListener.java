@@ -1,16 +1,21 @@
 package com.nordstrom.automation.selenium.listeners;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 import org.testng.Reporter;
 
 import com.nordstrom.automation.selenium.annotations.PageUrl;
+import com.nordstrom.automation.selenium.core.CommandMetrics;
 import com.nordstrom.automation.selenium.core.DriverManager;
+import com.nordstrom.automation.selenium.core.DriverProvisioner.UpcomingTest;
 import com.nordstrom.automation.selenium.core.GridUtility;
 
 /**
@@ -31,6 +36,9 @@ import com.nordstrom.automation.selenium.core.GridUtility;
  * @see GridUtility
  */
 public class DriverListener implements IInvokedMethodListener, ITestListener {
+    
+    /** test result attribute that holds the {@link CommandMetrics} of the test */
+    public static final String COMMAND_METRICS = "CommandMetrics";
 
     /**
      * Perform pre-invocation processing:
@@ -58,6 +66,7 @@ public class DriverListener implements IInvokedMethodListener, ITestListener {
     /**
      * Perform post-invocation processing:
      * <ul>
+     *     <li>If invoked method is a test, attach its {@link CommandMetrics} to the test result.</li>
      *     <li>If indicated, close the driver that was acquired for this method.</li>
      * </ul>
      * 
@@ -72,7 +81,14 @@ public class DriverListener implements IInvokedMethodListener, ITestListener {
         Object obj = testResult.getInstance();
         Method method = invokedMethod.getTestMethod().getConstructorOrMethod().getMethod();
         
+        // NOTE: the test class instance may be running other methods in parallel
+        CommandMetrics metrics = invokedMethod.isTestMethod() ? CommandMetrics.current() : null;
+        
         DriverManager.afterInvocation(obj, method);
+        
+        if (metrics != null) {
+            testResult.setAttribute(COMMAND_METRICS, metrics);
+        }
     }
     
     /**
@@ -90,11 +106,24 @@ public class DriverListener implements IInvokedMethodListener, ITestListener {
     }
     
     /**
-     * {@inheritDoc}
+     * Perform pre-suite processing:
+     * <ul>
+     *     <li>If enabled, begin provisioning driver sessions for the test methods of this context.</li>
+     * </ul>
+     * 
+     * @param testContext execution context for the test suite that's about to start
      */
     @Override
     public void onStart(final ITestContext testContext) {
-        // no pre-run processing
+        List<UpcomingTest> tests = new ArrayList<>();
+        for (ITestNGMethod testMethod : testContext.getAllTestMethods()) {
+            Method method = testMethod.getConstructorOrMethod().getMethod();
+            UpcomingTest test = new UpcomingTest(testMethod.getRealClass(), method);
+            for (int i = 0; i < testMethod.getInvocationCount(); i++) {
+                tests.add(test);
+            }
+        }
+        DriverManager.onStart(tests);
     }
 
     /**
@@ -0,0 +1,177 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.core.JsUtility;
+
+/**
+ * This class records the optional elements that were found to be absent from a search context, enabling repeated
+ * presence checks to be answered without driver commands.
+ * <p>
+ * A negative result is trusted without re-validation for the {@link SeleniumSettings#OPTIONAL_CACHE_TTL optional cache
+ * TTL} interval, as long as no actions have been performed through the driver in the meantime. Actions include element
+ * interactions (click, submit, key entry, clear), form updates, and - for drivers whose commands pass through the
+ * executor installed by {@link com.nordstrom.automation.selenium.core.GridUtility GridUtility} - navigation and script
+ * executions (other than {@link JsUtility#runRegistered registered} scripts). On every other hit, the result is
+ * re-validated by comparing the {@link JsUtility#getDomEpoch DOM mutation epoch} of the document with the epoch
+ * recorded when the element was found to be absent. Because the epoch identifies the document, navigation always
+ * invalidates the result. If the document hasn't changed, the element is still absent and the interval is renewed;
+ * otherwise, the element is searched for again.
+ * <p>
+ * <b>NOTE</b>: Negative results are only cached if the optional cache TTL is positive. Because the DOM mutation epoch
+ * doesn't reflect changes within shadow roots or changes to element properties that aren't reflected in attributes,
+ * leave this feature disabled for optional elements whose presence depends on such changes.
+ */
+public final class AbsentElementCache {
+
+    private static final Map<WebDriver, AtomicLong> actionMap =
+                    Collections.synchronizedMap(new WeakHashMap<WebDriver, AtomicLong>());
+
+    private final Map<By, Absence> absences = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for absent element cache
+     */
+    AbsentElementCache() {
+        // package-private to restrict instantiation
+    }
+
+    /**
+     * Get the absent element cache for the specified search context.
+     *
+     * @param context search context
+     * @return absent element cache; 'null' if caching is disabled or unsupported for this context
+     */
+    static AbsentElementCache of(final Object context) {
+        if (getTimeToLive() <= 0) {
+            return null;
+        } else if (context instanceof ComponentContainer) {
+            return ((ComponentContainer) context).getAbsentElements();
+        } else if (context instanceof RobustElementWrapper) {
+            return ((RobustElementWrapper) context).getAbsentElements();
+        } else if (context instanceof RobustElementFactory.InterceptionAccessor) {
+            return ((RobustElementFactory.InterceptionAccessor) context).getInterceptor().getAbsentElements();
+        }
+        return null;
+    }
+
+    /**
+     * Record that an action that may alter the document was performed through the specified driver, which requires
+     * all negative results acquired through this driver to be re-validated.
+     *
+     * @param driver driver object
+     */
+    public static void recordAction(final WebDriver driver) {
+        if (getTimeToLive() > 0) {
+            getActionCount(driver).incrementAndGet();
+        }
+    }
+
+    /**
+     * Determine if the element with the specified locator is known to be absent from the associated context.
+     *
+     * @param locator element locator
+     * @param driver driver object
+     * @return 'true' if element is known to be absent; 'false' if element must be searched for
+     */
+    boolean isAbsent(final By locator, final WebDriver driver) {
+        Absence absence = absences.get(locator);
+        if (absence == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if ((absence.actions == getActionCount(driver).get()) && ((now - absence.checkedAt) <= getTimeToLive())) {
+            return true;
+        }
+
+        if (absence.epoch != null) {
+            String epoch = JsUtility.getDomEpoch(driver);
+            // NOTE: read after the epoch, whose script execution may count as an action
+            long actions = getActionCount(driver).get();
+            if (absence.epoch.equals(epoch)) {
+                absences.put(locator, new Absence(actions, epoch));
+                return true;
+            }
+        }
+
+        absences.remove(locator);
+        return false;
+    }
+
+    /**
+     * Record that the element with the specified locator is absent from the associated context.
+     *
+     * @param locator element locator
+     * @param driver driver object
+     */
+    void setAbsent(final By locator, final WebDriver driver) {
+        String epoch = JsUtility.getDomEpoch(driver);
+        absences.put(locator, new Absence(getActionCount(driver).get(), epoch));
+    }
+
+    /**
+     * Record that the element with the specified locator is present in the associated context.
+     *
+     * @param locator element locator
+     */
+    void setPresent(final By locator) {
+        absences.remove(locator);
+    }
+
+    /**
+     * Get the element interaction counter for the specified driver.
+     *
+     * @param driver driver object
+     * @return element interaction counter
+     */
+    private static AtomicLong getActionCount(final WebDriver driver) {
+        synchronized (actionMap) {
+            AtomicLong count = actionMap.get(driver);
+            if (count == null) {
+                count = new AtomicLong();
+                actionMap.put(driver, count);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Get the interval for which negative results are trusted without re-validation.
+     *
+     * @return optional cache TTL in milliseconds
+     */
+    private static long getTimeToLive() {
+        return SeleniumConfig.getConfig().getLong(SeleniumSettings.OPTIONAL_CACHE_TTL.key());
+    }
+
+    /**
+     * This class records the state of the browser when an element was found to be absent.
+     */
+    private static class Absence {
+        private final long actions;
+        private final String epoch;
+        private final long checkedAt;
+
+        /**
+         * Constructor for absence record
+         *
+         * @param actions element interaction count
+         * @param epoch DOM mutation epoch (may be 'null')
+         */
+        Absence(final long actions, final String epoch) {
+            this.actions = actions;
+            this.epoch = epoch;
+            this.checkedAt = System.currentTimeMillis();
+        }
+    }
+}
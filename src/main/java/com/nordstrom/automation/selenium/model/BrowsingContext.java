@@ -0,0 +1,184 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * This class models the browsing context on which each driver is currently focused: the handle of the active window
+ * and the path of {@link Frame} objects from the top-level document of that window to the active frame.
+ * <p>
+ * With this model, switching focus to a container only issues the commands needed to get there from the current
+ * context: {@code parentFrame()} up to the deepest frame the current and target paths have in common, followed by
+ * {@code frame(...)} down to the target. If the driver is already focused on the target context, no commands are
+ * issued at all. If the current context is unknown (or focus is in a different window), the switch starts from the
+ * top-level document of the target window.
+ * <p>
+ * <b>NOTE</b>: This model relies on all context switches being performed through {@link ComponentContainer#switchTo()}.
+ * The model is discarded when pooled sessions are reset, when pages are opened via {@link Page#openInitialPage}
+ * or {@link ComponentContainer#openPageAtUrl}, and (for drivers obtained from the Grid) when any command that
+ * navigates or switches windows or frames is sent directly through the driver. Code that switches focus by other
+ * means must call {@link #invalidate(WebDriver)}.
+ */
+public final class BrowsingContext {
+
+    private static final Map<WebDriver, BrowsingContext> CONTEXT_MAP =
+                    Collections.synchronizedMap(new WeakHashMap<WebDriver, BrowsingContext>());
+    
+    private static final ThreadLocal<Set<Frame>> REFRESHING = new ThreadLocal<Set<Frame>>() {
+        @Override
+        protected Set<Frame> initialValue() {
+            return new HashSet<>();
+        }
+    };
+
+    private final String windowHandle;
+    private final List<Frame> framePath;
+
+    /**
+     * Constructor for browsing context model
+     *
+     * @param windowHandle handle of the active window
+     * @param framePath path of frames from the top-level document to the active frame
+     */
+    private BrowsingContext(final String windowHandle, final List<Frame> framePath) {
+        this.windowHandle = windowHandle;
+        this.framePath = framePath;
+    }
+
+    /**
+     * Switch driver focus to the search context of the specified container.
+     * <p>
+     * <b>NOTE</b>: If a frame element on the target path has gone stale, the frame is refreshed and the switch is
+     * retried once. If the retry also fails, the original exception is thrown.
+     *
+     * @param container target container
+     * @return target container
+     */
+    static SearchContext switchTo(final ComponentContainer container) {
+        WebDriver driver = container.getDriver();
+        Page page = container.getParentPage();
+        List<Frame> targetPath = getFramePath(container);
+        BrowsingContext current = CONTEXT_MAP.remove(driver);
+
+        int common = 0;
+        if ((current == null) || (page.getWindowHandle() == null)
+                        || !page.getWindowHandle().equals(current.windowHandle)) {
+            page.switchToContext();
+        } else {
+            common = getCommonDepth(current.framePath, targetPath);
+            int ascend = current.framePath.size() - common;
+            // if switching from the top is cheaper than walking up
+            if (ascend > (common + 1)) {
+                driver.switchTo().defaultContent();
+                common = 0;
+            } else {
+                for (int i = 0; i < ascend; i++) {
+                    if (!Frame.switchToParentFrame(driver)) {
+                        page.switchToContext();
+                        common = 0;
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (int i = common; i < targetPath.size(); i++) {
+            Frame frame = targetPath.get(i);
+            try {
+                frame.switchToContext();
+            } catch (StaleElementReferenceException e) {
+                refreshFrame(frame, e);
+            }
+        }
+
+        CONTEXT_MAP.put(driver, new BrowsingContext(page.getWindowHandle(), targetPath));
+        return container;
+    }
+
+    /**
+     * Refresh the specified frame, which leaves driver focus on it, or throw the specified exception if this frame is
+     * already being refreshed.
+     * <p>
+     * <b>NOTE</b>: {@link Frame#refreshContext(long)} switches to the refreshed frame through this class. Without this
+     * guard, a frame that's still stale after the refresh would recurse without limit.
+     *
+     * @param frame frame whose element has gone stale
+     * @param e exception thrown by the switch to the frame
+     */
+    private static void refreshFrame(final Frame frame, final StaleElementReferenceException e) {
+        Set<Frame> refreshing = REFRESHING.get();
+        if (!refreshing.add(frame)) {
+            throw e;
+        }
+        try {
+            frame.refreshContext(frame.acquiredAt());
+        } catch (StaleElementReferenceException retryFailure) { //NOSONAR
+            throw e;
+        } finally {
+            refreshing.remove(frame);
+        }
+    }
+    
+    /**
+     * Discard the browsing context model for the specified driver.
+     * <p>
+     * <b>NOTE</b>: The next switch will start from the top-level document of the target window.
+     *
+     * @param driver driver object
+     */
+    public static void invalidate(final WebDriver driver) {
+        CONTEXT_MAP.remove(driver);
+        ContainerMethodInterceptor.clearTarget();
+    }
+
+    /**
+     * Determine if a browsing context model is currently held for the specified driver.
+     *
+     * @param driver driver object
+     * @return 'true' if a context model is held; otherwise 'false'
+     */
+    static boolean isTracked(final WebDriver driver) {
+        return CONTEXT_MAP.containsKey(driver);
+    }
+
+    /**
+     * Get the path of frames from the top-level document to the specified container.
+     *
+     * @param container target container
+     * @return list of frames (outermost first)
+     */
+    private static List<Frame> getFramePath(final ComponentContainer container) {
+        List<Frame> path = new ArrayList<>();
+        for (ComponentContainer node = container; node.getParent() != null; node = node.getParent()) {
+            if (node instanceof Frame) {
+                path.add(0, (Frame) node);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Get the number of leading frames shared by the specified paths.
+     *
+     * @param currentPath current frame path
+     * @param targetPath target frame path
+     * @return common path depth
+     */
+    private static int getCommonDepth(final List<Frame> currentPath, final List<Frame> targetPath) {
+        int limit = Math.min(currentPath.size(), targetPath.size());
+        int depth = 0;
+        while ((depth < limit) && (currentPath.get(depth) == targetPath.get(depth))) {
+            depth++;
+        }
+        return depth;
+    }
+}
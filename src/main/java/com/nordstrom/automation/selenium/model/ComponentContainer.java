@@ -8,10 +8,12 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.NameValuePair;
@@ -20,7 +22,6 @@ import org.apache.http.client.utils.URLEncodedUtils;
 import org.apache.http.message.BasicNameValuePair;
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
-import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -32,7 +33,9 @@ import com.google.common.base.Function;
 import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
 import com.nordstrom.automation.selenium.AbstractSeleniumConfig.WaitType;
 import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.annotations.KeyScript;
 import com.nordstrom.automation.selenium.annotations.PageUrl;
+import com.nordstrom.automation.selenium.core.TimelineRecorder;
 import com.nordstrom.automation.selenium.core.WebDriverUtils;
 import com.nordstrom.automation.selenium.exceptions.LandingPageMismatchException;
 import com.nordstrom.automation.selenium.exceptions.PageNotLoadedException;
@@ -70,6 +73,8 @@ public abstract class ComponentContainer
     protected SearchContextWait wait;
     private List<Class<?>> bypassClasses;
     private List<String> bypassMethods;
+    private AbsentElementCache absentElements;
+    private SiblingReferences siblingReferences;
     
     public static final By SELF = By.xpath(".");
     private static final String PLACEHOLDER = "{}";
@@ -77,7 +82,7 @@ public abstract class ComponentContainer
     private static final String[] BYPASS_METHODS = {"validateParent", "getDriver", "getContext", "getParent",
             "getParentPage", "getWait", "switchTo", "switchToContext", "getVacater", "setVacater", "isVacated",
             "enhanceContainer", "bypassClassOf", "bypassMethod", "getLogger", "hashCode", "equals", "getArgumentTypes",
-            "getArguments"};
+            "getArguments", "getAbsentElements", "getSiblingReferences", "refreshContext", "acquiredAt"};
     
     private static final Class<?>[] ARG_TYPES = {SearchContext.class, ComponentContainer.class};
     private static final Class<?>[] COLLECTIBLE_ARGS = {RobustWebElement.class, ComponentContainer.class};
@@ -183,6 +188,7 @@ public abstract class ComponentContainer
      * @return output of the specified condition
      */
     public <T> T waitUntil(Function<SearchContext, T> condition) {
+        long span = TimelineRecorder.enter(TimelineRecorder.WAIT, condition, null);
         try {
             return getWait().until(condition);
         } catch (TimeoutException e) {
@@ -190,6 +196,8 @@ public abstract class ComponentContainer
                 e = ((Coordinator<T>) condition).differentiateTimeout(e);
             }
             throw e;
+        } finally {
+            TimelineRecorder.exit(span);
         }
     }
     
@@ -206,8 +214,8 @@ public abstract class ComponentContainer
     /**
      * Switch focus to this container's search context.
      * <p>
-     * <b>NOTE</b>: This method walks down the container lineage to the parent page object, then back up to this 
-     * container, focusing the driver on each container as it goes.
+     * <b>NOTE</b>: This method only issues the commands needed to get from the driver's current frame/window to
+     * this container. If the driver is already focused on the context of this container, no commands are issued.
      * 
      * @return this container's context
      */
@@ -230,15 +238,7 @@ public abstract class ComponentContainer
              */
             @Override
             public SearchContext apply(final SearchContext ignore) {
-                if (context.parent != null) {
-                    context.parent.switchTo();
-                }
-                
-                try {
-                    return context.switchToContext();
-                } catch (StaleElementReferenceException e) { //NOSONAR
-                    return context.refreshContext(context.acquiredAt());
-                }
+                return BrowsingContext.switchTo(context);
             }
             
             /**
@@ -254,8 +254,8 @@ public abstract class ComponentContainer
     /**
      * Switch focus to this container's search context.
      * <p>
-     * <b>NOTE</b>: This method walks down the container lineage to the parent page object, then back up to this 
-     * container, focusing the driver on each container as it goes.
+     * <b>NOTE</b>: This method is invoked with the driver focused on the context of the parent container. Switching
+     * along the container lineage is coordinated by the {@link #switchTo()} method.
      * 
      * @return this container's context
      */
@@ -355,6 +355,10 @@ public abstract class ComponentContainer
      * Get a wrapped reference to the first element matching the specified locator.
      * <p>
      * <b>NOTE</b>: Use {@link RobustWebElement#hasReference()} to determine if a valid reference was acquired.
+     * <p>
+     * <b>NOTE</b>: If the {@link SeleniumSettings#OPTIONAL_CACHE_TTL optional cache TTL} is set, elements found to be
+     * absent are recorded, and repeated checks for these elements issue no driver commands until an element
+     * interaction is performed or the document changes.
      * 
      * @param by the locating mechanism
      * @return robust web element
@@ -363,6 +367,34 @@ public abstract class ComponentContainer
         return (RobustWebElement) RobustElementFactory.getElement(this, by, RobustElementWrapper.OPTIONAL);
     }
     
+    /**
+     * Capture the state of this container's subtree in a single script execution.
+     * <p>
+     * For {@link Page} and {@link Frame} containers, the snapshot is rooted at the document element. For page
+     * components, the snapshot is rooted at the component's context element.
+     * 
+     * @return immutable snapshot of this container's subtree
+     * @see ElementSnapshot
+     */
+    public ElementSnapshot snapshot() {
+        return snapshot(-1);
+    }
+    
+    /**
+     * Capture the state of this container's subtree to the specified depth in a single script execution.
+     * 
+     * @param depth maximum depth of descendants to capture (-1 = unlimited; 0 = root element only)
+     * @return immutable snapshot of this container's subtree
+     * @see #snapshot()
+     */
+    public ElementSnapshot snapshot(final int depth) {
+        List<WebElement> roots = new ArrayList<>();
+        if (!(this instanceof Page)) {
+            roots.add((WebElement) context);
+        }
+        return ElementSnapshot.capture(driver, roots, depth).get(0);
+    }
+    
     /**
      * Get the driver object associated with this container.
      * 
@@ -427,6 +459,71 @@ public abstract class ComponentContainer
         return false;
     }
     
+    /**
+     * Update the specified fields of this container with the indicated values.
+     * <p>
+     * The current state of every target field is read with a single script execution, and only the fields whose
+     * values differ are altered, with the appropriate {@code input} and {@code change} events. Checkboxes and radio
+     * buttons accept boolean values; selects accept option values (or collections of option values for multi-selects);
+     * a 'null' value clears the field.
+     * 
+     * @param <K> locator constant type
+     * @param values map of locator constants to desired values
+     * @return set of constants for fields whose values changed
+     * @see FormFiller
+     */
+    public <K extends ByEnum> Set<K> updateValues(final Map<K, ?> values) {
+        return updateValues(values, false);
+    }
+    
+    /**
+     * Update the specified fields of this container with the indicated values.
+     * 
+     * @param <K> locator constant type
+     * @param values map of locator constants to desired values
+     * @param nativeKeys 'true' to enter text values as native keystrokes; 'false' to assign them directly
+     * @return set of constants for fields whose values changed
+     * @see #updateValues(Map)
+     */
+    public <K extends ByEnum> Set<K> updateValues(final Map<K, ?> values, final boolean nativeKeys) {
+        Map<K, By> locators = new HashMap<>();
+        for (K constant : values.keySet()) {
+            locators.put(constant, constant.locator());
+        }
+        return FormFiller.update(this, locators, values, nativeKeys, false);
+    }
+    
+    /**
+     * Update the named fields of this container with the indicated values.
+     * <p>
+     * This method accepts a form model of field names and values, applying it as described for
+     * {@link #updateValues(Map)}. Fields are located by their {@code name} attribute. For radio button groups, the
+     * specified value selects the button with the matching {@code value} attribute.
+     * 
+     * @param values map of field names to desired values
+     * @return set of names for fields whose values changed
+     */
+    public Set<String> updateFields(final Map<String, ?> values) {
+        return updateFields(values, false);
+    }
+    
+    /**
+     * Update the named fields of this container with the indicated values.
+     * 
+     * @param values map of field names to desired values
+     * @param nativeKeys 'true' to enter text values as native keystrokes; 'false' to assign them directly
+     * @return set of names for fields whose values changed
+     * @see #updateFields(Map)
+     */
+    public Set<String> updateFields(final Map<String, ?> values, final boolean nativeKeys) {
+        Map<String, By> locators = new HashMap<>();
+        for (String name : values.keySet()) {
+            String escaped = name.replace("\\", "\\\\").replace("\"", "\\\"");
+            locators.put(name, By.cssSelector("[name=\"" + escaped + "\"]"));
+        }
+        return FormFiller.update(this, locators, values, nativeKeys, true);
+    }
+    
     /**
      * Determine if the specified element has the desired value.
      * 
@@ -510,6 +607,30 @@ public abstract class ComponentContainer
         return Arrays.copyOf(BYPASS_METHODS, BYPASS_METHODS.length);
     }
     
+    /**
+     * Get the cache of optional elements found to be absent from this container.
+     * 
+     * @return absent element cache
+     */
+    synchronized AbsentElementCache getAbsentElements() {
+        if (absentElements == null) {
+            absentElements = new AbsentElementCache();
+        }
+        return absentElements;
+    }
+    
+    /**
+     * Get the registry of robust elements acquired from this container.
+     * 
+     * @return sibling reference registry
+     */
+    synchronized SiblingReferences getSiblingReferences() {
+        if (siblingReferences == null) {
+            siblingReferences = new SiblingReferences();
+        }
+        return siblingReferences;
+    }
+    
     /**
      * Get the logger for this container
      * 
@@ -569,6 +690,7 @@ public abstract class ComponentContainer
             WebDriverUtils.getExecutor(driver).executeScript("window.open('" + url + "','_blank');");
         } else {
             driver.get(url);
+            BrowsingContext.invalidate(driver);
         }
         return pageObj;
     }
@@ -667,8 +789,7 @@ public abstract class ComponentContainer
      * @param pageObj target page object
      */
     static void waitForLandingPage(final Page pageObj) {
-        SearchContextWait wait = (SearchContextWait)
-                pageObj.getWait(WaitType.PAGE_LOAD).ignoring(LandingPageMismatchException.class);
+        SearchContextWait wait = pageObj.getWait(WaitType.PAGE_LOAD).ignoring(LandingPageMismatchException.class);
         wait.until(landingPageAppears());
     }
     
@@ -901,10 +1022,12 @@ public abstract class ComponentContainer
     /**
      * Get {@link Method} object for the static {@code getKey(SearchContext)} method declared by the specified
      * container type.
+     * <p>
+     * <b>NOTE</b>: This method is only required for container types that don't declare a {@link KeyScript} annotation.
      * 
      * @param <T> component container type
      * @param containerType target container type
-     * @return method object for getKey(SearchContext) 
+     * @return method object for getKey(SearchContext); 'null' if absent from a type that declares {@link KeyScript}
      * @throws UnsupportedOperationException The required method is missing
      */
     static <T extends ComponentContainer> Method getKeyMethod(final Class<T> containerType) {
@@ -916,6 +1039,9 @@ public abstract class ComponentContainer
         } catch (NoSuchMethodException e) { //NOSONAR
             // fall through to 'throw' statement below
         }
+        if (containerType.isAnnotationPresent(KeyScript.class)) {
+            return null;
+        }
         throw new UnsupportedOperationException(
                 "Container class must declare method: public static Object getKey(SearchContext)");
     }
@@ -983,12 +1109,48 @@ public abstract class ComponentContainer
         return new ComponentList<>(this, componentType, locator);
     }
     
+    /**
+     * Instantiate a lazily-populated list of page components of the specified type.<br>
+     * <b>NOTE</b>: The specified page component class must declare a constructor with arguments
+     * (RobustWebElement, ComponentContainer).
+     * 
+     * @param <T> page component type
+     * @param componentType page component type
+     * @param locator locator for page component container elements
+     * @param pageSize number of element references to acquire per request
+     * @return paged list of page components
+     * @see PagedComponentList
+     */
+    public <T extends PageComponent> PagedComponentList<T> newPagedComponentList(
+                    final Class<T> componentType, final By locator, final int pageSize) {
+        return new PagedComponentList<>(this, componentType, locator, pageSize, false);
+    }
+    
+    /**
+     * Instantiate a lazily-populated list of page components of the specified type, optionally loading more
+     * components when the end of the list is reached.<br>
+     * <b>NOTE</b>: The specified page component class must declare a constructor with arguments
+     * (RobustWebElement, ComponentContainer).
+     * 
+     * @param <T> page component type
+     * @param componentType page component type
+     * @param locator locator for page component container elements
+     * @param pageSize number of element references to acquire per request
+     * @param loadsMore 'true' to load more components at the end of the list (e.g. - "infinite scroll" lists)
+     * @return paged list of page components
+     * @see PagedComponentList#loadMore()
+     */
+    public <T extends PageComponent> PagedComponentList<T> newPagedComponentList(
+                    final Class<T> componentType, final By locator, final int pageSize, final boolean loadsMore) {
+        return new PagedComponentList<>(this, componentType, locator, pageSize, loadsMore);
+    }
+    
     /**
      * Instantiate a map of page components of the specified type, using self-generated keys.<br>
      * <b>NOTE</b>: The specified page component class must declare a constructor with arguments
      * (RobustWebElement, ComponentContainer).<br>
-     * <b>NOTE</b>: The specified page component class must declare a static {@code getKey} method that generates a
-     * unique key for each map entry.
+     * <b>NOTE</b>: The specified page component class must declare a static {@code getKey} method or a
+     * {@link KeyScript} annotation that generates a unique key for each map entry.
      * 
      * @param <T> page component type
      * @param componentType page component type
@@ -1020,8 +1182,8 @@ public abstract class ComponentContainer
      * Instantiate a map of frames of the specified type, using self-generated keys.<br>
      * <b>NOTE</b>: The specified frame class must declare a constructor with arguments
      * (RobustWebElement, ComponentContainer).<br>
-     * <b>NOTE</b>: The specified frame class must declare a static {@code getKey} method that generates a
-     * unique key for each map entry.
+     * <b>NOTE</b>: The specified frame class must declare a static {@code getKey} method or a {@link KeyScript}
+     * annotation that generates a unique key for each map entry.
      * 
      * @param <T> frame type
      * @param frameType frame type
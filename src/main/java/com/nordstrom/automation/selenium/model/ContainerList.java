@@ -72,6 +72,19 @@ abstract class ContainerList<E extends ComponentContainer> extends AbstractList<
         return container;
     }
     
+    /**
+     * Capture the state of the context elements of all containers in this list in a single script execution.
+     * <p>
+     * <b>NOTE</b>: Snapshots are captured from the context elements directly, so no container objects are created.
+     * 
+     * @return list of immutable element snapshots, in the order of this list
+     * @see ElementSnapshot
+     */
+    public List<ElementSnapshot> snapshot() {
+        parent.switchTo();
+        return ElementSnapshot.capture(parent.getDriver(), elements, -1);
+    }
+    
     /**
      * Get array of constructor argument types.
      * 
@@ -5,8 +5,11 @@ import java.lang.reflect.Method;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -15,13 +18,24 @@ import java.util.Set;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 
+import com.nordstrom.automation.selenium.annotations.KeyScript;
+import com.nordstrom.automation.selenium.core.JsUtility;
 import com.nordstrom.common.base.UncheckedThrow;
 
 /**
  * This is the abstract base class for all of the container map classes defined by <b>Selenium Foundation</b>.
  * <p>
+ * Map keys are produced by the {@link KeyScript} expression of the container type (if declared), which computes the
+ * keys of all entries in a single script execution. Otherwise, keys are produced by the static {@code getKey} method
+ * of the container type, which is invoked for each entry. Entries are indexed by key for constant-time lookup.
+ * <p>
+ * The batch key script compiles the expression in the browser, which a Content Security Policy that disallows
+ * {@code unsafe-eval} will block. If the batch script fails, keys are produced for each entry individually: via the
+ * {@code getKey} method if declared, or otherwise by a script with the expression inlined.
+ * <p>
  * <b>NOTE</b>: This class implements a read-only map; all methods that would alter the composition of the collection
  * (e.g. - {@link #put(Object, Object)}) result in {@link UnsupportedOperationException}.
  *
@@ -29,6 +43,9 @@ import com.nordstrom.common.base.UncheckedThrow;
  */
 abstract class ContainerMap<V extends ComponentContainer> extends AbstractMap<Object, V> {
 
+    private static final String EXTRACT_KEYS = "extractKeys.js";
+    private static final String EXTRACT_KEY = "var element = arguments[0]; return (%s);";
+    
     protected ComponentContainer parent;
     protected Class<V> containerType;
     protected By locator;
@@ -36,6 +53,7 @@ abstract class ContainerMap<V extends ComponentContainer> extends AbstractMap<Ob
     
     private List<WebElement> elements;
     private ContainerEntry<V>[] table;
+    private Map<Object, ContainerEntry<V>> index;
     private Set<Map.Entry<Object, V>> entrySet;
     private int size;
     
@@ -63,14 +81,89 @@ abstract class ContainerMap<V extends ComponentContainer> extends AbstractMap<Ob
         elements = parent.findElements(locator);
         size = elements.size();
         table = new ContainerEntry[size];
+        index = new HashMap<>();
+        
+        List<Object> keys = getKeys();
+        
+        for (int i = 0; i < size; i++) {
+            table[i] = new ContainerEntry<>(this, (RobustWebElement) elements.get(i), keys.get(i));
+            // index first entry for each key
+            if (!index.containsKey(table[i].key)) {
+                index.put(table[i].key, table[i]);
+            }
+        }
+    }
+    
+    /**
+     * Get the keys for the context elements of this map.
+     * 
+     * @return list of keys, in the order of the context elements
+     */
+    private List<Object> getKeys() {
+        KeyScript keyScript = containerType.getAnnotation(KeyScript.class);
+        if ((keyScript != null) && (size > 0)) {
+            try {
+                List<Object> keys =
+                        JsUtility.runRegistered(parent.getDriver(), EXTRACT_KEYS, elements, keyScript.value());
+                if (keys.size() == size) {
+                    return keys;
+                }
+            } catch (WebDriverException e) { //NOSONAR
+                // e.g. - script compilation blocked by Content Security Policy; extract keys individually
+            }
+        }
+        
+        List<Object> keys = new ArrayList<>(size);
+        for (WebElement element : elements) {
+            keys.add(getKey(element, keyScript));
+        }
+        return keys;
+    }
+    
+    /**
+     * Get the key for the specified context element.
+     * 
+     * @param element context element
+     * @param keyScript key script annotation of the container type (may be 'null')
+     * @return key for the specified element
+     * @throws IllegalStateException if the container type declares no {@code getKey} method and its key script fails
+     */
+    private Object getKey(final WebElement element, final KeyScript keyScript) {
+        if (method != null) {
+            try {
+                return method.invoke(null, element);
+            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                throw UncheckedThrow.throwUnchecked(e);
+            }
+        }
         
-        int i = size;
-        ContainerEntry<V> next = null;
-        while (i-- > 0) {
-            next = table[i] = new ContainerEntry<>(this, (RobustWebElement) elements.get(i), next);
+        try {
+            return JsUtility.runAndReturn(parent.getDriver(), String.format(EXTRACT_KEY, keyScript.value()), element);
+        } catch (WebDriverException e) {
+            String format = "Failed extracting key for %s via @KeyScript(\"%s\"); "
+                            + "declare method 'public static Object getKey(SearchContext)' as a fallback";
+            throw new IllegalStateException(
+                            String.format(format, containerType.getSimpleName(), keyScript.value()), e);
         }
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(final Object key) {
+        ContainerEntry<V> entry = getEntry(key);
+        return (entry != null) ? entry.getValue() : null;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return index.containsKey(key);
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -96,6 +189,24 @@ abstract class ContainerMap<V extends ComponentContainer> extends AbstractMap<Ob
         return Collections.unmodifiableSet(entrySet);
     }
     
+    /**
+     * Capture the state of the context elements of all containers in this map in a single script execution.
+     * <p>
+     * <b>NOTE</b>: Snapshots are captured from the context elements directly, so no container objects are created.
+     * 
+     * @return unmodifiable map of keys to immutable element snapshots, in the order of the context elements
+     * @see ElementSnapshot
+     */
+    public Map<Object, ElementSnapshot> snapshot() {
+        parent.switchTo();
+        List<ElementSnapshot> snapshots = ElementSnapshot.capture(parent.getDriver(), elements, -1);
+        Map<Object, ElementSnapshot> result = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            result.put(table[i].key, snapshots.get(i));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+    
     /**
      * Get table entry for the specified key.
      * 
@@ -103,16 +214,7 @@ abstract class ContainerMap<V extends ComponentContainer> extends AbstractMap<Ob
      * @return entry for the specified key; 'null' if not found
      */
     final ContainerEntry<V> getEntry(final Object key) {
-        if (table.length == 0) {
-            return null;
-        }
-        ContainerEntry<V> e;
-        for (e = table[0]; e != null; e = e.next) {
-            if (e.key == key || (key != null && key.equals(e.key))) {
-                break;
-            }
-        }
-        return e;
+        return index.get(key);
     }
     
     /**
@@ -185,7 +287,6 @@ abstract class ContainerMap<V extends ComponentContainer> extends AbstractMap<Ob
 
         private ContainerMap<V> map;
         private RobustWebElement element;
-        private ContainerEntry<V> next;
         private Object key;
         private V value;
 
@@ -194,18 +295,12 @@ abstract class ContainerMap<V extends ComponentContainer> extends AbstractMap<Ob
          * 
          * @param map container map to which this entry belongs
          * @param element container context element
-         * @param next link to the next container entry ('null' for final entry)
+         * @param key container map key
          */
-        ContainerEntry(final ContainerMap<V> map, final RobustWebElement element, final ContainerEntry<V> next) {
+        ContainerEntry(final ContainerMap<V> map, final RobustWebElement element, final Object key) {
             this.map = map;
             this.element = element;
-            this.next = next;
-            
-            try {
-                key = map.method.invoke(null, element);
-            } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                throw UncheckedThrow.throwUnchecked(e);
-            }
+            this.key = key;
         }
         
         /**
@@ -381,7 +476,7 @@ abstract class ContainerMap<V extends ComponentContainer> extends AbstractMap<Ob
             }
             
             ContainerEntry<V> current = next;
-            next = next.next;
+            next = null;
             findNextEntry();
             
             return current;
@@ -1,10 +1,12 @@
 package com.nordstrom.automation.selenium.model;
 
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.TimeoutException;
@@ -12,6 +14,10 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import com.nordstrom.automation.selenium.AbstractSeleniumConfig.WaitType;
+import com.nordstrom.automation.selenium.annotations.Navigates;
+import com.nordstrom.automation.selenium.annotations.OpensWindow;
+import com.nordstrom.automation.selenium.core.CommandMetrics;
+import com.nordstrom.automation.selenium.core.TimelineRecorder;
 import com.nordstrom.automation.selenium.exceptions.ContainerVacatedException;
 import com.nordstrom.automation.selenium.exceptions.PageLoadRendererTimeoutException;
 import com.nordstrom.automation.selenium.exceptions.PageNotLoadedException;
@@ -34,7 +40,12 @@ import net.bytebuddy.implementation.bind.annotation.This;
  * This interceptor is implemented as a standard Java enumeration singleton and performs the following tasks:
  * <ul>
  *     <li>Block calls to objects that have been superseded (vacated) by prior actions.</li>
- *     <li>Switch driver focus to the window/frame associated with the target object.</li>
+ *     <li>Switch driver focus to the window/frame associated with the target object, issuing only the commands
+ *         needed to get there from the current context.</li>
+ *     <li>If the invoked method returns a page object, capture the state needed to detect the transition: <ul>
+ *         <li>Unless the method is marked {@link Navigates}, capture the initial set of window handles.</li>
+ *         <li>Unless the method is marked {@link OpensWindow}, acquire a reference to the current document.</li>
+ *     </ul></li>
  *     <li>If informed that actions of the invoked method will cause the associated window to close: <ul>
  *         <li>Wait for the window to close.</li>
  *         <li>If the target object was spawned by another object, switch focus to this object...</li>
@@ -52,6 +63,8 @@ import net.bytebuddy.implementation.bind.annotation.This;
  *     </ul></li>
  *     <li>Return the result of the invoked method.</li>
  * </ul>
+ * <b>NOTE</b>: Transition detection is only performed for methods that return page objects, so intercepted methods
+ * that cannot cause a transition issue no additional driver commands.
  */
 public enum ContainerMethodInterceptor {
     INSTANCE;
@@ -68,11 +81,32 @@ public enum ContainerMethodInterceptor {
     };
     
     private static final ThreadLocal<ComponentContainer> TARGET = new InheritableThreadLocal<>();
+    private static final Map<Method, MethodTraits> TRAITS_MAP = new ConcurrentHashMap<>();
     private static final ServiceLoader<TransitionErrorDetector> errorDetectorLoader =
                     ServiceLoader.load(TransitionErrorDetector.class);
     
     private static final String RENDERER_TIMEOUT_MESSAGE = "receiving message from renderer";
 
+    /**
+     * This is the static entry point for component container methods in "enhanced" model objects.
+     * <p>
+     * <b>NOTE</b>: Proxy classes delegate to this method rather than to the interceptor instance, so they don't need
+     * to be initialized with a reference to the interceptor. This enables proxy classes to be generated at build time
+     * by {@link EnhancedClassGenerator}.
+     * 
+     * @param obj "enhanced" object upon which the method was invoked
+     * @param method {@link Method} object for the invoked method
+     * @param args method invocation arguments
+     * @param proxy call-able proxy for the intercepted method
+     * @return {@code anything} (the result of invoking the intercepted method)
+     * @throws Exception {@code anything} (exception thrown by the intercepted method)
+     */
+    @RuntimeType
+    public static Object dispatch(@This final Object obj, @Origin final Method method,
+                    @AllArguments final Object[] args, @SuperCall final Callable<?> proxy) throws Throwable {
+        return INSTANCE.intercept(obj, method, args, proxy);
+    }
+    
     /**
      * This is the method that intercepts component container methods in "enhanced" model objects.
      * 
@@ -95,6 +129,9 @@ public enum ContainerMethodInterceptor {
         increaseDepth();
         long initialTime = System.currentTimeMillis();
         ComponentContainer container = (ComponentContainer) obj;
+        Class<?> containerClass = Enhanceable.getContainerClass(container);
+        CommandMetrics.enterMethod(containerClass, method.getName());
+        long span = TimelineRecorder.enter(TimelineRecorder.PAGE, containerClass, method);
         
         try {
             if (container.isVacated()) {
@@ -109,15 +146,15 @@ public enum ContainerMethodInterceptor {
             }
             
             WebElement reference = null;
-            Class<?> returnType = method.getReturnType();
+            Set<String> initialHandles = null;
             Page parentPage = container.getParentPage();
-            Set<String> initialHandles = driver.getWindowHandles();
+            MethodTraits traits = getTraits(method);
             
-            boolean returnsContainer = ComponentContainer.class.isAssignableFrom(returnType);
-            boolean returnsPage = Page.class.isAssignableFrom(returnType) && !Frame.class.isAssignableFrom(returnType);
-            boolean detectsCompletion = returnsContainer && DetectsLoadCompletion.class.isAssignableFrom(returnType);
+            if (traits.capturesHandles) {
+                initialHandles = driver.getWindowHandles();
+            }
             
-            if (returnsPage && !detectsCompletion) {
+            if (traits.capturesReference) {
                 reference = driver.findElement(By.cssSelector("*"));
             }
             
@@ -130,6 +167,7 @@ public enum ContainerMethodInterceptor {
             
             if (parentPage.getWindowState() == WindowState.WILL_CLOSE) {
                 WaitType.WAIT.getWait(driver).until(Coordinators.windowIsClosed(parentPage.getWindowHandle()));
+                BrowsingContext.invalidate(driver);
                 parentPage = parentPage.getSpawningPage();
                 if (parentPage != null) {
                     parentPage.switchTo();
@@ -143,20 +181,27 @@ public enum ContainerMethodInterceptor {
                 reference = null;
             }
             
-            if (returnsContainer) {
+            if (traits.returnsContainer) {
                 Objects.requireNonNull(result, "A method that returns container objects cannot produce a null result");
                 
                 String newHandle = null;
                 ComponentContainer newChild = (ComponentContainer) result;
                 
-                if (returnsPage) {
+                if (traits.returnsPage) {
                     Page newPage = (Page) result;
                     if (newPage.getWindowState() == WindowState.WILL_OPEN) {
+                        if (initialHandles == null) {
+                            throw new IllegalStateException("Method marked @Navigates opened a new window: " + method);
+                        }
                         newHandle = WaitType.WAIT.getWait(driver).until(Coordinators.newWindowIsOpened(initialHandles));
                         newPage.setSpawningPage(parentPage);
                         reference = null;
                     } else {
-                        newHandle = driver.getWindowHandle();
+                        BrowsingContext.invalidate(driver);
+                        newHandle = (parentPage != null) ? parentPage.getWindowHandle() : null;
+                        if (newHandle == null) {
+                            newHandle = driver.getWindowHandle();
+                        }
                         container.setVacater(method);
                     }
                 }
@@ -167,7 +212,7 @@ public enum ContainerMethodInterceptor {
                     ComponentContainer.waitForLandingPage((Page) result);
                 }
                 
-                if (detectsCompletion) {
+                if (traits.detectsCompletion) {
                     ((ComponentContainer) result).getWait(WaitType.PAGE_LOAD)
                                     .ignoring(PageNotLoadedException.class)
                                     .until(loadIsComplete());
@@ -184,6 +229,8 @@ public enum ContainerMethodInterceptor {
             }
             throw thrown;
         } finally {
+            TimelineRecorder.exit(span);
+            CommandMetrics.exitMethod();
             int level = decreaseDepth();
             long interval = System.currentTimeMillis() - initialTime;
             
@@ -195,6 +242,39 @@ public enum ContainerMethodInterceptor {
         }
     }
     
+    /**
+     * Forget the container on which driver focus was last placed by the current thread.
+     * <p>
+     * <b>NOTE</b>: This causes the next intercepted method call to switch focus to its container, which is needed
+     * when focus may have been moved by other means.
+     */
+    static void clearTarget() {
+        TARGET.remove();
+    }
+    
+    /**
+     * Get the transition detection traits of the specified method.
+     * <p>
+     * <b>NOTE</b>: The traits of each method are derived only once, even if it's first invoked on several threads at
+     * the same time.
+     * 
+     * @param method container method
+     * @return {@link MethodTraits} for the specified method
+     */
+    static MethodTraits getTraits(final Method method) {
+        MethodTraits traits = TRAITS_MAP.get(method);
+        if (traits == null) {
+            synchronized (TRAITS_MAP) {
+                traits = TRAITS_MAP.get(method);
+                if (traits == null) {
+                    traits = new MethodTraits(method);
+                    TRAITS_MAP.put(method, traits);
+                }
+            }
+        }
+        return traits;
+    }
+    
     /**
      * Increment intercept depth counter
      * 
@@ -307,4 +387,30 @@ public enum ContainerMethodInterceptor {
         
     }
     
+    /**
+     * This class records the transition detection traits of a container method, which are derived from its return
+     * type and its {@link Navigates} / {@link OpensWindow} annotations.
+     */
+    static class MethodTraits {
+        final boolean returnsContainer;
+        final boolean returnsPage;
+        final boolean detectsCompletion;
+        final boolean capturesHandles;
+        final boolean capturesReference;
+        
+        /**
+         * Constructor for container method traits
+         * 
+         * @param method container method
+         */
+        MethodTraits(final Method method) {
+            Class<?> returnType = method.getReturnType();
+            returnsContainer = ComponentContainer.class.isAssignableFrom(returnType);
+            returnsPage = Page.class.isAssignableFrom(returnType) && !Frame.class.isAssignableFrom(returnType);
+            detectsCompletion = returnsContainer && DetectsLoadCompletion.class.isAssignableFrom(returnType);
+            capturesHandles = returnsPage && (null == method.getAnnotation(Navigates.class));
+            capturesReference = returnsPage && !detectsCompletion && (null == method.getAnnotation(OpensWindow.class));
+        }
+    }
+    
 }
@@ -0,0 +1,212 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import com.nordstrom.automation.selenium.core.JsUtility;
+
+/**
+ * This class is an immutable record of the state of an element and its descendants, captured in a single script
+ * execution. Each snapshot records the element's tag name, attributes, visible text, visibility, value, and bounding
+ * box, along with snapshots of its child elements (including the children of an open shadow root).
+ * <p>
+ * Snapshots are obtained from {@link ComponentContainer#snapshot()} and from the {@code snapshot} methods of component
+ * lists and maps. Because the state of every element is read in one round trip, assertions against large grids and
+ * tables don't incur separate driver commands for each property of each element.
+ * <p>
+ * <b>NOTE</b>: Visibility and text are computed by the browser with a simplified form of the WebDriver algorithms.
+ * These agree with {@link WebElement#isDisplayed()} and {@link WebElement#getText()} for typical content, but may differ
+ * in edge cases (e.g. - whitespace normalization, elements clipped by overflow).
+ */
+public final class ElementSnapshot {
+
+    private static final String SNAPSHOT_ELEMENTS = "snapshotElements.js";
+
+    private final String tagName;
+    private final Map<String, String> attributes;
+    private final String text;
+    private final boolean displayed;
+    private final String value;
+    private final Point location;
+    private final Dimension size;
+    private final List<ElementSnapshot> children;
+
+    /**
+     * Constructor for element snapshot from script result
+     *
+     * @param node element state record produced by the snapshot script
+     */
+    @SuppressWarnings("unchecked")
+    private ElementSnapshot(final Map<String, Object> node) {
+        tagName = (String) node.get("tag");
+
+        Map<String, String> attributeMap = new LinkedHashMap<>();
+        Map<String, Object> attributeNode = (Map<String, Object>) node.get("attributes");
+        if (attributeNode != null) {
+            for (Map.Entry<String, Object> entry : attributeNode.entrySet()) {
+                attributeMap.put(entry.getKey(), String.valueOf(entry.getValue()));
+            }
+        }
+        attributes = Collections.unmodifiableMap(attributeMap);
+
+        text = (String) node.get("text");
+        displayed = Boolean.TRUE.equals(node.get("displayed"));
+        value = (String) node.get("value");
+
+        List<Object> rect = (List<Object>) node.get("rect");
+        location = new Point(intValue(rect.get(0)), intValue(rect.get(1)));
+        size = new Dimension(intValue(rect.get(2)), intValue(rect.get(3)));
+
+        List<ElementSnapshot> childList = new ArrayList<>();
+        List<Object> childNodes = (List<Object>) node.get("children");
+        if (childNodes != null) {
+            for (Object childNode : childNodes) {
+                childList.add(new ElementSnapshot((Map<String, Object>) childNode));
+            }
+        }
+        children = Collections.unmodifiableList(childList);
+    }
+
+    /**
+     * Capture snapshots of the specified elements in a single script execution.
+     * <p>
+     * <b>NOTE</b>: The driver must be focused on the browsing context that contains the specified elements. If no
+     * elements are specified, the root element of the current document is captured.
+     *
+     * @param driver driver object
+     * @param roots elements to capture (may be empty)
+     * @param depth maximum depth of descendants to capture (-1 = unlimited; 0 = root elements only)
+     * @return list of element snapshots, in the order of the specified elements
+     */
+    static List<ElementSnapshot> capture(final WebDriver driver, final List<WebElement> roots, final int depth) {
+        List<Object> nodes;
+        try {
+            nodes = JsUtility.runRegistered(driver, SNAPSHOT_ELEMENTS, roots, depth);
+        } catch (StaleElementReferenceException e) {
+            // refresh robust element references and try again
+            for (WebElement root : roots) {
+                if (root instanceof RobustWebElement) {
+                    ((RobustWebElement) root).refreshReference(e);
+                }
+            }
+            nodes = JsUtility.runRegistered(driver, SNAPSHOT_ELEMENTS, roots, depth);
+        }
+
+        List<ElementSnapshot> snapshots = new ArrayList<>(nodes.size());
+        for (Object node : nodes) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> nodeMap = (Map<String, Object>) node;
+            snapshots.add(new ElementSnapshot(nodeMap));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Get the tag name of this element.
+     *
+     * @return element tag name (lower case)
+     */
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Get the attributes declared by this element.
+     *
+     * @return unmodifiable map of attribute names to values, in declaration order
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Get the value of the specified attribute of this element.
+     *
+     * @param name attribute name
+     * @return attribute value; 'null' if attribute is absent
+     */
+    public String getAttribute(final String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * Get the visible text of this element.
+     *
+     * @return element visible text (empty if element is hidden)
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Determine if this element was displayed.
+     *
+     * @return 'true' if element was displayed; otherwise 'false'
+     */
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    /**
+     * Get the value property of this element.
+     *
+     * @return element value; 'null' if element has no value property
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Get the location of the top-left corner of this element, relative to the top-left corner of the page.
+     *
+     * @return element location
+     */
+    public Point getLocation() {
+        return location;
+    }
+
+    /**
+     * Get the size of the bounding box of this element.
+     *
+     * @return element size
+     */
+    public Dimension getSize() {
+        return size;
+    }
+
+    /**
+     * Get snapshots of the child elements of this element.
+     *
+     * @return unmodifiable list of child element snapshots (empty if depth limit was reached)
+     */
+    public List<ElementSnapshot> getChildren() {
+        return children;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "<" + tagName + " " + attributes + "> " + text;
+    }
+
+    /**
+     * Convert the specified script result value to an integer.
+     *
+     * @param number numeric script result value
+     * @return integer value
+     */
+    private static int intValue(final Object number) {
+        return ((Number) number).intValue();
+    }
+}
@@ -1,33 +1,52 @@
 package com.nordstrom.automation.selenium.model;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import com.nordstrom.common.base.UncheckedThrow;
 
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 
 import static net.bytebuddy.matcher.ElementMatchers.hasMethodName;
 import static net.bytebuddy.matcher.ElementMatchers.is;
+import static net.bytebuddy.matcher.ElementMatchers.named;
 import static net.bytebuddy.matcher.ElementMatchers.not;
 
 /**
  * This is the foundation for all "enhanceable" objects
+ * <p>
+ * Enhanced proxy classes are generated on first use. To avoid this cost, proxy classes can be generated at build time
+ * by {@link EnhancedClassGenerator}. Each pre-generated proxy records a fingerprint of the container class hierarchy it
+ * was generated from; proxies whose fingerprint doesn't match the container classes on the class path are stale, and
+ * are ignored. Dynamic generation is performed for container classes without current pre-generated proxies.
  * 
  * @param <T> "enhanceable" object base class
  */
 public abstract class Enhanceable<T> {
     
     private static final List<Class<?>> BYPASS = Arrays.<Class<?>>asList(Enhanceable.class);
-    private static final Map<Class<?>, Class<?>> proxyMap = new HashMap<>();
+    private static final String FINGERPRINT = "ENHANCED_FINGERPRINT";
+    private static final ConcurrentMap<Class<?>, Class<?>> proxyMap = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<List<Class<?>>, Constructor<?>> ctorMap = new ConcurrentHashMap<>();
     
     /**
      * Get the types of the arguments used to instantiate this object.
@@ -80,43 +99,10 @@ public abstract class Enhanceable<T> {
         Class<?>[] argumentTypes = enhanceable.getArgumentTypes();
         Object[] arguments = enhanceable.getArguments();
         
-        Class<C> proxyType;
-        
-        synchronized(Enhanceable.class) {
-            if (proxyMap.containsKey(containerClass)) {
-                proxyType = (Class<C>) proxyMap.get(containerClass);
-            } else {
-                List<Class<?>> bypassClasses = enhanceable.getBypassClasses();
-                List<String> methodNames = enhanceable.getBypassMethods();
-                
-                ElementMatcher.Junction<MethodDescription> matcher = ElementMatchers.none();
-                
-                for (Class<?> bypassClass : bypassClasses) {
-                    for (Method method : bypassClass.getMethods()) {
-                        matcher = matcher.or(is(method));
-                    }
-                }
-                
-                for (String methodName : methodNames) {
-                    matcher = matcher.or(hasMethodName(methodName));
-                }
-                
-                proxyType = (Class<C>) new ByteBuddy()
-                                .subclass(containerClass)
-                                .name(containerClass.getPackage().getName() + ".Enhanced" + containerClass.getSimpleName())
-                                .method(not(matcher))
-                                .intercept(MethodDelegation.to(ContainerMethodInterceptor.INSTANCE))
-                                .implement(Enhanced.class)
-                                .make()
-                                .load(containerClass.getClassLoader())
-                                .getLoaded();
-                
-                proxyMap.put(containerClass, proxyType);
-            }
-        }
+        Class<?> proxyType = getProxyType(containerClass, enhanceable);
         
         try {
-            return proxyType.getConstructor(argumentTypes).newInstance(arguments);
+            return (C) getConstructor(proxyType, argumentTypes).newInstance(arguments);
         } catch (InvocationTargetException e) { //NOSONAR
             throw UncheckedThrow.throwUnchecked(e.getCause());
         } catch (SecurityException | IllegalAccessException | IllegalArgumentException
@@ -126,6 +112,174 @@ public abstract class Enhanceable<T> {
         }
     }
     
+    /**
+     * Get the "enhanced" proxy class for the specified container class.
+     * <p>
+     * <b>NOTE</b>: Proxy classes are cached in a concurrent map, so lookups for known container classes don't block.
+     * The first request for each container class is resolved under a lock, which ensures that each proxy class is
+     * generated only once.
+     * 
+     * @param containerClass container class
+     * @param enhanceable container object that supplies bypass classes and methods
+     * @return proxy class for the specified container class
+     */
+    private static Class<?> getProxyType(final Class<?> containerClass, final Enhanceable<?> enhanceable) {
+        Class<?> proxyType = proxyMap.get(containerClass);
+        if (proxyType == null) {
+            synchronized (proxyMap) {
+                proxyType = proxyMap.get(containerClass);
+                if (proxyType == null) {
+                    proxyType = getPregeneratedProxy(containerClass);
+                    if (proxyType == null) {
+                        // NOTE: Child-first loading supersedes stale pre-generated proxies
+                        proxyType = makeProxy(containerClass, enhanceable, null)
+                                        .load(containerClass.getClassLoader(),
+                                                        ClassLoadingStrategy.Default.CHILD_FIRST)
+                                        .getLoaded();
+                    }
+                    
+                    proxyMap.put(containerClass, proxyType);
+                }
+            }
+        }
+        return proxyType;
+    }
+    
+    /**
+     * Get the constructor of the specified proxy class with the indicated argument types.
+     * 
+     * @param proxyType proxy class
+     * @param argumentTypes constructor argument types
+     * @return cached constructor object
+     * @throws NoSuchMethodException if the proxy class has no constructor with the indicated argument types
+     */
+    private static Constructor<?> getConstructor(final Class<?> proxyType, final Class<?>[] argumentTypes)
+                    throws NoSuchMethodException {
+        List<Class<?>> key = new ArrayList<>(argumentTypes.length + 1);
+        key.add(proxyType);
+        Collections.addAll(key, argumentTypes);
+        
+        Constructor<?> constructor = ctorMap.get(key);
+        if (constructor == null) {
+            constructor = proxyType.getConstructor(argumentTypes);
+            ctorMap.putIfAbsent(key, constructor);
+        }
+        return constructor;
+    }
+    
+    /**
+     * Define the "enhanced" proxy class for the specified container class.
+     * <p>
+     * <b>NOTE</b>: The proxy delegates to the static entry point of {@link ContainerMethodInterceptor} and requires
+     * no initialization after it's loaded, which enables {@link EnhancedClassGenerator} to save it at build time.
+     * 
+     * @param containerClass container class
+     * @param enhanceable container object that supplies bypass classes and methods
+     * @param fingerprint fingerprint of container class hierarchy to record in the proxy (may be 'null')
+     * @return unloaded proxy class definition
+     * @see #getFingerprint(Class)
+     */
+    static DynamicType.Unloaded<?> makeProxy(final Class<?> containerClass, final Enhanceable<?> enhanceable,
+                    final String fingerprint) {
+        List<Class<?>> bypassClasses = enhanceable.getBypassClasses();
+        List<String> methodNames = enhanceable.getBypassMethods();
+        
+        ElementMatcher.Junction<MethodDescription> matcher = ElementMatchers.none();
+        
+        for (Class<?> bypassClass : bypassClasses) {
+            for (Method method : bypassClass.getMethods()) {
+                matcher = matcher.or(is(method));
+            }
+        }
+        
+        for (String methodName : methodNames) {
+            matcher = matcher.or(hasMethodName(methodName));
+        }
+        
+        DynamicType.Builder<?> builder = new ByteBuddy()
+                        .subclass(containerClass)
+                        .name(getProxyName(containerClass))
+                        .method(not(matcher))
+                        .intercept(MethodDelegation.withDefaultConfiguration()
+                                        .filter(named("dispatch"))
+                                        .to(ContainerMethodInterceptor.class))
+                        .implement(Enhanced.class);
+        
+        if (fingerprint != null) {
+            builder = builder.defineField(FINGERPRINT, String.class,
+                            Visibility.PUBLIC, Ownership.STATIC, FieldManifestation.FINAL).value(fingerprint);
+        }
+        
+        return builder.make();
+    }
+    
+    /**
+     * Get the fingerprint of the specified container class, which is a digest of the class files of the container
+     * class and all of its superclasses.
+     * 
+     * @param containerClass container class
+     * @return fingerprint of container class hierarchy; 'null' if a class file is unavailable
+     */
+    static String getFingerprint(final Class<?> containerClass) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            for (Class<?> clazz = containerClass; clazz != Object.class; clazz = clazz.getSuperclass()) {
+                String resource = clazz.getName().replace('.', '/') + ".class";
+                ClassLoader loader = clazz.getClassLoader();
+                try (InputStream is = (loader != null) ? loader.getResourceAsStream(resource)
+                                : ClassLoader.getSystemResourceAsStream(resource)) {
+                    if (is == null) {
+                        return null;
+                    }
+                    int length;
+                    while ((length = is.read(buffer)) != -1) {
+                        digest.update(buffer, 0, length);
+                    }
+                }
+            }
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest.digest()) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException | IOException e) { //NOSONAR
+            return null;
+        }
+    }
+    
+    /**
+     * Get the name of the "enhanced" proxy class for the specified container class.
+     * 
+     * @param containerClass container class
+     * @return fully-qualified name of proxy class
+     */
+    static String getProxyName(final Class<?> containerClass) {
+        return containerClass.getPackage().getName() + ".Enhanced" + containerClass.getSimpleName();
+    }
+    
+    /**
+     * Get the pre-generated "enhanced" proxy class for the specified container class.
+     * 
+     * @param containerClass container class
+     * @return proxy class produced by {@link EnhancedClassGenerator}; 'null' if none is available or if the proxy
+     *         was generated from a different version of the container class hierarchy
+     */
+    static Class<?> getPregeneratedProxy(final Class<?> containerClass) {
+        try {
+            Class<?> proxyClass = Class.forName(getProxyName(containerClass), false, containerClass.getClassLoader());
+            if ((proxyClass.getSuperclass() == containerClass) && Enhanced.class.isAssignableFrom(proxyClass)) {
+                Object fingerprint = proxyClass.getField(FINGERPRINT).get(null);
+                if ((fingerprint != null) && fingerprint.equals(getFingerprint(containerClass))) {
+                    return proxyClass;
+                }
+            }
+        } catch (ClassNotFoundException | NoSuchFieldException | IllegalAccessException | LinkageError e) { //NOSONAR
+            // fall through to dynamic generation
+        }
+        return null;
+    }
+    
     /**
      * Get class of specified container object.
      * 
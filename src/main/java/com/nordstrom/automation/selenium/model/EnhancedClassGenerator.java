@@ -0,0 +1,300 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.StubMethod;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * This class generates the "enhanced" proxy classes for component containers at build time.
+ * <p>
+ * When a container is enhanced, {@link Enhanceable} looks for a pre-generated proxy class on the class path before
+ * generating one dynamically. Running this generator over the compiled classes of a page model eliminates the cost of
+ * proxy generation from test execution. Container classes without pre-generated proxies are still enhanced at run
+ * time, so the generator can be applied selectively.
+ * <p>
+ * The generator scans the specified class folder for concrete container classes and writes their proxy classes to
+ * the output folder (which defaults to the class folder). The class folder and its dependencies (including this
+ * library) must be on the class path of the generator. For example, in a Gradle build:
+ * <pre>
+ * task enhanceContainers(type: JavaExec, dependsOn: classes) {
+ *     main = 'com.nordstrom.automation.selenium.model.EnhancedClassGenerator'
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     args sourceSets.main.java.outputDir
+ * }</pre>
+ * <b>NOTE</b>: Pre-generated proxies reflect the container classes they were generated from. Each proxy records a
+ * fingerprint of its container class hierarchy, and proxies that don't match the classes on the class path are
+ * ignored in favor of dynamic generation. The generator should be run each time the page model is compiled to keep
+ * the benefit of pre-generation.
+ * <p>
+ * <b>NOTE</b>: The bypass classes and methods of each container are obtained from a prototype instance, created by
+ * invoking the container's {@code (WebDriver)} constructor or its {@code (RobustWebElement, ComponentContainer)}
+ * constructor with inert stand-in arguments. Containers that declare neither constructor, or whose constructors
+ * can't run with stand-in arguments, are skipped; these will be enhanced at run time.
+ */
+public final class EnhancedClassGenerator {
+
+    private static final String CLASS_EXT = ".class";
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnhancedClassGenerator.class);
+    
+    /**
+     * This interface defines the factory method for prototypes of page classes.
+     */
+    public interface PageCreator {
+        /**
+         * Create a page object.
+         * 
+         * @param driver driver object
+         * @return new page object
+         */
+        Object create(WebDriver driver);
+    }
+    
+    /**
+     * This interface defines the factory method for prototypes of collectible container classes.
+     */
+    public interface ComponentCreator {
+        /**
+         * Create a container object.
+         * 
+         * @param element container context element
+         * @param parent container parent
+         * @return new container object
+         */
+        Object create(RobustWebElement element, ComponentContainer parent);
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private EnhancedClassGenerator() {
+        throw new AssertionError("EnhancedClassGenerator is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Generate proxy classes for the component containers in the specified class folder.
+     *
+     * @param args [0] class folder to scan; [1] output folder (optional)
+     * @throws IOException if proxy classes cannot be written
+     */
+    public static void main(final String... args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException(
+                            "Usage: EnhancedClassGenerator <class-folder> [<output-folder>]");
+        }
+
+        File classFolder = new File(args[0]);
+        File outputFolder = (args.length > 1) ? new File(args[1]) : classFolder;
+        List<String> generated = generate(classFolder, outputFolder);
+        LOGGER.info("Generated {} enhanced container classes in: {}", generated.size(), outputFolder);
+    }
+
+    /**
+     * Generate proxy classes for the component containers in the specified class folder.
+     *
+     * @param classFolder class folder to scan for container classes
+     * @param outputFolder folder to which proxy classes are written
+     * @return list of container class names for which proxies were generated
+     * @throws IOException if proxy classes cannot be written
+     */
+    public static List<String> generate(final File classFolder, final File outputFolder) throws IOException {
+        if (!classFolder.isDirectory()) {
+            throw new IllegalArgumentException("Class folder not found: " + classFolder);
+        }
+
+        List<String> classNames = new ArrayList<>();
+        collectClassNames(classFolder, "", classNames);
+
+        List<String> generated = new ArrayList<>();
+        ClassLoader parent = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classFolder.toURI().toURL()}, parent)) {
+            WebDriver driver = newStandIn(WebDriver.class);
+            RobustWebElement element = newStandIn(RobustWebElement.class);
+            Page page = new Page(driver);
+            for (String className : classNames) {
+                Class<?> containerClass = getContainerClass(className, loader);
+                if (containerClass != null) {
+                    Enhanceable<?> enhanceable = newPrototype(containerClass, driver, element, page);
+                    if ((enhanceable != null) && saveProxy(containerClass, enhanceable, outputFolder)) {
+                        generated.add(className);
+                    }
+                }
+            }
+        }
+        return generated;
+    }
+
+    /**
+     * Generate the proxy class for the specified container class and write it to the output folder.
+     *
+     * @param containerClass container class
+     * @param enhanceable prototype container object that supplies bypass classes and methods
+     * @param outputFolder folder to which proxy classes are written
+     * @return 'true' if proxy class was written; 'false' if proxy couldn't be generated
+     * @throws IOException if proxy class cannot be written
+     */
+    private static boolean saveProxy(final Class<?> containerClass, final Enhanceable<?> enhanceable,
+                    final File outputFolder) throws IOException {
+        try {
+            String fingerprint = Enhanceable.getFingerprint(containerClass);
+            if (fingerprint == null) {
+                LOGGER.warn("Unable to fingerprint container class: {}", containerClass.getName());
+                return false;
+            }
+            Enhanceable.makeProxy(containerClass, enhanceable, fingerprint).saveIn(outputFolder);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to generate proxy for container class: {}", containerClass.getName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Collect the names of the classes in the specified folder and its subfolders.
+     *
+     * @param folder folder to scan
+     * @param packagePrefix package name prefix for classes in this folder
+     * @param classNames list to which class names are added
+     */
+    private static void collectClassNames(final File folder, final String packagePrefix,
+                    final List<String> classNames) {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String fileName = file.getName();
+                if (file.isDirectory()) {
+                    collectClassNames(file, packagePrefix + fileName + ".", classNames);
+                } else if (fileName.endsWith(CLASS_EXT)) {
+                    classNames.add(packagePrefix + fileName.substring(0, fileName.length() - CLASS_EXT.length()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Load the specified class if it's a concrete component container class that needs a proxy.
+     *
+     * @param className fully-qualified class name
+     * @param loader class loader
+     * @return container class; 'null' if specified class isn't a container that needs a proxy
+     */
+    private static Class<?> getContainerClass(final String className, final ClassLoader loader) {
+        Class<?> clazz;
+        try {
+            clazz = Class.forName(className, false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOGGER.debug("Unable to load class: {}", className, e);
+            return null;
+        }
+
+        if (!Enhanceable.class.isAssignableFrom(clazz) || Enhanced.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+
+        int modifiers = clazz.getModifiers();
+        if (Modifier.isAbstract(modifiers) || clazz.isAnonymousClass() || clazz.isLocalClass()) {
+            return null;
+        }
+        if (clazz.isMemberClass() && !Modifier.isStatic(modifiers)) {
+            return null;
+        }
+        return clazz;
+    }
+
+    /**
+     * Create a prototype instance of the specified container class with stand-in constructor arguments.
+     *
+     * @param containerClass container class
+     * @param driver stand-in driver
+     * @param element stand-in context element
+     * @param parent stand-in parent container
+     * @return prototype container object; 'null' if the prototype couldn't be created
+     */
+    private static Enhanceable<?> newPrototype(final Class<?> containerClass, final WebDriver driver,
+                    final RobustWebElement element, final ComponentContainer parent) {
+        try {
+            if (hasConstructor(containerClass, WebDriver.class)) {
+                return (Enhanceable<?>) newCreator(PageCreator.class, containerClass).create(driver);
+            }
+            if (hasConstructor(containerClass, ComponentContainer.getCollectibleArgs())) {
+                return (Enhanceable<?>) newCreator(ComponentCreator.class, containerClass).create(element, parent);
+            }
+            LOGGER.debug("No prototype constructor declared by container class: {}", containerClass.getName());
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            LOGGER.warn("Unable to create prototype of container class: {}", containerClass.getName(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Determine if the specified class declares a public constructor with the indicated argument types.
+     *
+     * @param clazz target class
+     * @param argumentTypes constructor argument types
+     * @return 'true' if the specified constructor is declared; otherwise 'false'
+     */
+    private static boolean hasConstructor(final Class<?> clazz, final Class<?>... argumentTypes) {
+        try {
+            clazz.getConstructor(argumentTypes);
+            return true;
+        } catch (NoSuchMethodException e) { //NOSONAR
+            return false;
+        }
+    }
+
+    /**
+     * Generate a factory that invokes the constructor of the specified container class.
+     *
+     * @param <T> factory interface type
+     * @param creatorType factory interface
+     * @param containerClass container class
+     * @return container factory
+     * @throws ReflectiveOperationException if the factory cannot be instantiated
+     */
+    private static <T> T newCreator(final Class<T> creatorType, final Class<?> containerClass)
+                    throws ReflectiveOperationException {
+        return new ByteBuddy()
+                        .subclass(creatorType)
+                        .method(named("create"))
+                        .intercept(MethodDelegation.toConstructor(containerClass))
+                        .make()
+                        .load(containerClass.getClassLoader())
+                        .getLoaded().newInstance();
+    }
+
+    /**
+     * Generate an inert implementation of the specified interface, whose methods return default values.
+     *
+     * @param <T> interface type
+     * @param type target interface
+     * @return stand-in object
+     * @throws IllegalStateException if the stand-in cannot be instantiated
+     */
+    private static <T> T newStandIn(final Class<T> type) {
+        try {
+            return new ByteBuddy()
+                            .subclass(type)
+                            .method(isAbstract())
+                            .intercept(StubMethod.INSTANCE)
+                            .make()
+                            .load(EnhancedClassGenerator.class.getClassLoader())
+                            .getLoaded().newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Unable to create stand-in for: " + type.getName(), e);
+        }
+    }
+}
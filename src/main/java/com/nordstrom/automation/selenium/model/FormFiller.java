@@ -0,0 +1,184 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import com.nordstrom.automation.selenium.core.ByType;
+import com.nordstrom.automation.selenium.core.JsUtility;
+
+/**
+ * This class updates the values of multiple form fields with a single script execution.
+ * <p>
+ * The script reads the current state of every target field and applies only the changes, firing {@code input} and
+ * {@code change} events for each field it alters. Checkboxes and radio buttons are clicked. Select options are
+ * selected by value. Text entry fields (including text areas) are assigned their new values directly, unless real
+ * keystrokes are needed - for file inputs, for values that contain {@link Keys special keys}, and for all text entry
+ * fields if native keystrokes are requested. These fields are cleared by the script and their values are sent via
+ * {@link WebElement#sendKeys(CharSequence...) sendKeys}.
+ * <p>
+ * <b>NOTE</b>: All target fields must be present when the update is performed; if any field (or select option) can't
+ * be located, {@link NoSuchElementException} is thrown before any field is altered.
+ */
+final class FormFiller {
+
+    private static final String UPDATE_FIELDS = "updateFields.js";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private FormFiller() {
+        throw new AssertionError("FormFiller is a static utility class that cannot be instantiated");
+    }
+
+    /**
+     * Update the specified fields of the indicated container with the corresponding values.
+     *
+     * @param <K> field key type
+     * @param container container that holds the target fields
+     * @param locators map of field keys to field locators
+     * @param values map of field keys to desired values
+     * @param nativeKeys 'true' to send text values as native keystrokes; 'false' to assign them directly
+     * @param byName 'true' if fields are located by name, selecting radio buttons by value within each group
+     * @return set of keys for fields whose values changed (in iteration order of the values map)
+     */
+    @SuppressWarnings("unchecked")
+    static <K> Set<K> update(final ComponentContainer container, final Map<K, By> locators,
+                    final Map<K, ?> values, final boolean nativeKeys, final boolean byName) {
+
+        Objects.requireNonNull(values, "[values] must be non-null");
+
+        List<K> keys = new ArrayList<>(values.keySet());
+        List<List<Object>> entries = new ArrayList<>();
+        for (K key : keys) {
+            entries.add(makeEntry(container, locators.get(key), values.get(key), nativeKeys));
+        }
+
+        AbsentElementCache.recordAction(container.getDriver());
+        Map<String, Object> result;
+        try {
+            result = runScript(container, entries, byName);
+        } catch (StaleElementReferenceException e) { //NOSONAR
+            container.refreshContext(container.acquiredAt());
+            result = runScript(container, entries, byName);
+        }
+
+        if (result.containsKey("missing")) {
+            K key = keys.get(((Number) result.get("missing")).intValue());
+            if (result.containsKey("option")) {
+                throw new NoSuchElementException(
+                                "Cannot locate option with value: " + values.get(key) + " for field: " + key);
+            }
+            throw new NoSuchElementException("Cannot locate field: " + key + " using " + locators.get(key));
+        }
+
+        Set<K> changed = new LinkedHashSet<>();
+        List<Map<String, Object>> results = (List<Map<String, Object>>) result.get("results");
+        for (int i = 0; i < results.size(); i++) {
+            Map<String, Object> outcome = results.get(i);
+            if (Boolean.TRUE.equals(outcome.get("changed"))) {
+                K key = keys.get(i);
+                if (Boolean.TRUE.equals(outcome.get("keys"))) {
+                    WebElement element = (WebElement) outcome.get("element");
+                    RobustElementFactory.makeRobustElement(element, container, locators.get(key))
+                                    .sendKeys(String.valueOf(values.get(key)));
+                }
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Assemble the script entry for the specified field.
+     *
+     * @param container container that holds the target field
+     * @param locator field locator
+     * @param value desired value
+     * @param nativeKeys 'true' to send text values as native keystrokes
+     * @return [CSS selector, XPath expression, [element], value, is null, needs keystrokes]
+     */
+    private static List<Object> makeEntry(final ComponentContainer container, final By locator, final Object value,
+                    final boolean nativeKeys) {
+
+        Objects.requireNonNull(locator, "[locator] must be non-null");
+
+        String css = null;
+        String xpath = null;
+        List<WebElement> elementArg = new ArrayList<>();
+
+        if ((locator instanceof By.ByXPath) || (locator instanceof By.ByLinkText)
+                        || (locator instanceof By.ByPartialLinkText)) {
+            xpath = ByType.xpathLocatorFor(locator);
+        } else {
+            css = ByType.cssLocatorFor(locator);
+        }
+
+        // if locator can't be expressed as CSS or XPath, acquire the element directly
+        if ((css == null) && (xpath == null)) {
+            elementArg.add(((RobustWebElement) container.findElement(locator)).getWrappedElement());
+        }
+
+        Object valueArg;
+        if (value instanceof Collection) {
+            List<String> list = new ArrayList<>();
+            for (Object item : (Collection<?>) value) {
+                list.add(String.valueOf(item));
+            }
+            valueArg = list;
+        } else {
+            valueArg = (value != null) ? String.valueOf(value) : "";
+        }
+
+        boolean keys = nativeKeys || ((valueArg instanceof String) && hasSpecialKeys((String) valueArg));
+        return Arrays.<Object>asList(StringUtils.defaultString(css), StringUtils.defaultString(xpath),
+                        elementArg, valueArg, (value == null), keys);
+    }
+
+    /**
+     * Execute the field update script in the search context of the specified container.
+     *
+     * @param container container that holds the target fields
+     * @param entries list of field entries
+     * @param byName 'true' if fields are located by name
+     * @return script result
+     */
+    private static Map<String, Object> runScript(final ComponentContainer container, final List<List<Object>> entries,
+                    final boolean byName) {
+
+        List<WebElement> contextArg = new ArrayList<>();
+        SearchContext target = container.getWrappedContext();
+        if ((target instanceof WebElement) && !(container instanceof Page)) {
+            contextArg.add((WebElement) target);
+        }
+        return JsUtility.runRegistered(container.getDriver(), UPDATE_FIELDS, contextArg, entries, byName);
+    }
+
+    /**
+     * Determine if the specified value contains {@link Keys special keys}.
+     *
+     * @param value value to be checked
+     * @return 'true' if value contains special keys; otherwise 'false'
+     */
+    private static boolean hasSpecialKeys(final String value) {
+        for (char c : value.toCharArray()) {
+            if (Keys.getKeyFromUnicode(c) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
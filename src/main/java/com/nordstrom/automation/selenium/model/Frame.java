@@ -3,6 +3,7 @@ package com.nordstrom.automation.selenium.model;
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 
 import com.google.common.base.Throwables;
@@ -147,9 +148,24 @@ public class Frame extends Page {
      * @return parent search context
      */
     public static SearchContext switchToParentFrame(final RobustWebElement element) {
+        WebDriver driver = element.getWrappedDriver();
+        if (switchToParentFrame(driver)) {
+            return driver;
+        }
+        return element.switchTo();
+    }
+    
+    /**
+     * Switch driver focus to the parent of the current frame.
+     * 
+     * @param driver driver object
+     * @return 'true' if focus was switched; 'false' if the driver doesn't support {@code parentFrame()}
+     */
+    static boolean switchToParentFrame(final WebDriver driver) {
         if (canSwitchToParentFrame) {
             try {
-                return element.getWrappedDriver().switchTo().parentFrame();
+                driver.switchTo().parentFrame();
+                return true;
             } catch (WebDriverException e) {
                 if (Throwables.getRootCause(e) instanceof UnsupportedCommandException) {
                     canSwitchToParentFrame = false;
@@ -158,7 +174,7 @@ public class Frame extends Page {
                 }
             }
         }
-        return element.switchTo();
+        return false;
     }
     
     /**
@@ -167,11 +183,22 @@ public class Frame extends Page {
     @Override
     public SearchContext refreshContext(final long expiration) {
         if (frameSelect == FrameSelect.ELEMENT) {
-            element.refreshContext(expiration);
+            // if frame element is past the expiration
+            if (expiration >= element.acquiredAt()) {
+                // frame element belongs to the parent document
+                parent.switchTo();
+                // if frame element has actually gone stale
+                if (element.isStale()) {
+                    // refresh context ancestry
+                    parent.refreshContext(expiration);
+                    // refresh frame element
+                    element.refreshContext(expiration);
+                }
+            }
         } else {
             parent.refreshContext(expiration);
         }
-        return switchToContext();
+        return switchTo();
     }
     
     /**
@@ -0,0 +1,135 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import com.nordstrom.automation.selenium.core.JsUtility;
+
+/**
+ * Extend this class when modeling an HTML table.
+ * <p>
+ * The {@link #getContent()} method of this class reads the headings, rows, and cells of the table in a single script
+ * execution, producing an immutable {@link TableContent} record. Verifying table content therefore doesn't incur
+ * separate driver commands for each cell.
+ * <p>
+ * When a test needs to interact with a row, {@link #getRow(int, Class)} materializes a page component for that row.
+ * The context element of the row is taken from the most recent content read, so no additional search is required.
+ * Row components are created on demand, and only for the rows that are actually requested.
+ * <p>
+ * <b>NOTE</b>: Row components are located by their position among the body rows of the table. If rows are added or
+ * removed, read the content of the table again before requesting row components.
+ */
+public class HtmlTable extends PageComponent {
+
+    private static final String EXTRACT_TABLE = "extractTable.js";
+    private static final By BODY_ROWS = By.xpath("(./tbody/tr)");
+
+    private List<WebElement> rowElements;
+    private int rowOffset;
+    private final Map<Integer, PageComponent> rowComponents = new HashMap<>();
+
+    /**
+     * Constructor for HTML table by element locator
+     *
+     * @param locator table element locator
+     * @param parent table parent container
+     */
+    public HtmlTable(final By locator, final ComponentContainer parent) {
+        super(locator, parent);
+    }
+
+    /**
+     * Constructor for HTML table by element locator
+     *
+     * @param locator table element locator
+     * @param index table element index
+     * @param parent table parent container
+     */
+    public HtmlTable(final By locator, final int index, final ComponentContainer parent) {
+        super(locator, index, parent);
+    }
+
+    /**
+     * Constructor for HTML table by table element
+     *
+     * @param element table element
+     * @param parent table parent container
+     */
+    public HtmlTable(final RobustWebElement element, final ComponentContainer parent) {
+        super(element, parent);
+    }
+
+    /**
+     * Read the content of this table in a single script execution.
+     * <p>
+     * <b>NOTE</b>: Each invocation of this method reads the current content of the table, replacing the row elements
+     * from which {@link #getRow(int, Class) row components} are materialized.
+     *
+     * @return immutable record of table content
+     */
+    @SuppressWarnings("unchecked")
+    public TableContent getContent() {
+        Map<String, Object> result;
+        try {
+            result = JsUtility.runRegistered(driver, EXTRACT_TABLE, context);
+        } catch (StaleElementReferenceException e) {
+            ((RobustWebElement) context).refreshReference(e);
+            result = JsUtility.runRegistered(driver, EXTRACT_TABLE, context);
+        }
+
+        rowElements = (List<WebElement>) result.get("elements");
+        rowOffset = ((Number) result.get("offset")).intValue();
+        rowComponents.clear();
+        return new TableContent(result);
+    }
+
+    /**
+     * Get a page component for the data row at the specified index.
+     *
+     * @param index data row index
+     * @return page component for the specified row
+     * @see #getRow(int, Class)
+     */
+    public PageComponent getRow(final int index) {
+        return getRow(index, PageComponent.class);
+    }
+
+    /**
+     * Get a page component of the specified type for the data row at the specified index.
+     * <p>
+     * If the content of this table hasn't been read yet, it's read first to acquire the row elements. Row components
+     * are cached until the content is read again.
+     *
+     * @param <T> row component type
+     * @param index data row index
+     * @param rowType row component type (must have a {@link PageComponent#PageComponent(RobustWebElement,
+     *        ComponentContainer) context element} constructor)
+     * @return page component for the specified row
+     */
+    public <T extends PageComponent> T getRow(final int index, final Class<T> rowType) {
+        if (rowElements == null) {
+            getContent();
+        }
+
+        if ((index < 0) || (index >= rowElements.size())) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rowElements.size());
+        }
+
+        PageComponent component = rowComponents.get(index);
+        if (!rowType.isInstance(component)) {
+            ComponentContainer.verifyCollectible(rowType);
+            WebElement element = RobustElementFactory.makeRobustElement(
+                            rowElements.get(index), this, BODY_ROWS, rowOffset + index);
+            Object[] arguments = new Object[] {element, this};
+            component = ComponentContainer.newContainer(rowType, ComponentContainer.getCollectibleArgs(), arguments);
+            component = component.enhanceContainer(component);
+            rowComponents.put(index, component);
+        }
+        return rowType.cast(component);
+    }
+}
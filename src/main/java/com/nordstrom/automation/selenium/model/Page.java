@@ -9,6 +9,7 @@ import org.openqa.selenium.WebDriver;
 
 import com.nordstrom.automation.selenium.annotations.InitialPage;
 import com.nordstrom.automation.selenium.annotations.PageUrl;
+import com.nordstrom.automation.selenium.core.DriverProvisioner;
 import com.nordstrom.automation.selenium.exceptions.InitialPageNotSpecifiedException;
 
 /**
@@ -174,7 +175,11 @@ public class Page extends ComponentContainer {
             throw new InitialPageNotSpecifiedException();
         }
         
-        driver.get(url);
+        // skip navigation if session was pre-navigated by the provisioner
+        if (!DriverProvisioner.isPreparedFor(driver, url)) {
+            driver.get(url);
+        }
+        BrowsingContext.invalidate(driver);
         return newPage((Class<T>) initialPage.value(), driver);
     }
     
@@ -185,7 +190,7 @@ public class Page extends ComponentContainer {
      * @param targetUri target URI
      * @return defined initial URL as a string (may be 'null')
      */
-    private static String getInitialUrl(final InitialPage initialPage, final URI targetUri) {
+    public static String getInitialUrl(final InitialPage initialPage, final URI targetUri) {
         String url = getPageUrl(initialPage.pageUrl(), targetUri);
         if (url == null) {
             Class<? extends Page> pageClass = initialPage.value();
@@ -224,7 +229,7 @@ public class Page extends ComponentContainer {
      */
     @Override
     public long acquiredAt() {
-        return System.currentTimeMillis();
+        return RobustElementWrapper.currentAcquisition();
     }
     
     /**
@@ -95,12 +95,13 @@ public class PageComponent extends ComponentContainer implements WrapsElement {
      */
     @Override
     public SearchContext refreshContext(final long expiration) {
-        // if this context is past the expiration
-        if (expiration >= acquiredAt()) {
+        RobustWebElement element = (RobustWebElement) context;
+        // if this context is past the expiration and has actually gone stale
+        if ((expiration >= acquiredAt()) && element.isStale()) {
             // refresh context ancestry
             parent.refreshContext(expiration);
             // refresh context element
-            ((RobustWebElement) context).refreshContext(expiration);
+            element.refreshContext(expiration);
         }
         return this;
     }
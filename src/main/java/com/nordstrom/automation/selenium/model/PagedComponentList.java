@@ -0,0 +1,283 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+
+import com.nordstrom.automation.selenium.core.ByType;
+import com.nordstrom.automation.selenium.core.JsUtility;
+import com.nordstrom.automation.selenium.support.Coordinator;
+
+/**
+ * This class defines a lazily-populated list for <b>Selenium Foundation</b> page component objects.
+ * <p>
+ * Unlike {@link ComponentList}, which acquires references to all of its context elements when it's created, this list
+ * acquires element references in pages of the specified size as they're visited. Each page is acquired with a single
+ * script execution, and components are only created for the elements that are actually visited. Iterating over the
+ * first few components of a long list therefore costs a single page request, regardless of the length of the list.
+ * <p>
+ * For containers that load more content on demand (e.g. - "infinite scroll" lists), this list can be configured to
+ * {@link #loadMore() load more} elements when iteration reaches the end of the elements that are currently present.
+ * <p>
+ * <b>NOTE</b>: The {@link #size()} method issues a command to count the elements that are currently present. To
+ * visit every component, use the {@link #iterator()} of this list rather than indexing up to {@link #size()}.
+ * <p>
+ * <b>NOTE</b>: This class implements a read-only list; all methods that would alter the composition of the collection
+ * (e.g. - {@link #add(Object)}) result in {@link UnsupportedOperationException}.
+ *
+ * @param <E> the class of page component objects collected by this list
+ */
+public class PagedComponentList<E extends PageComponent> extends AbstractList<E> {
+
+    private static final String LOCATE_RANGE = "locateRange.js";
+
+    protected ComponentContainer parent;
+    protected Class<E> componentType;
+    protected By locator;
+
+    private final int pageSize;
+    private final boolean loadsMore;
+    private final String css;
+    private final String xpath;
+
+    private final List<WebElement> elements = new ArrayList<>();
+    private final List<E> components = new ArrayList<>();
+
+    /**
+     * Constructor for paged component list with parent, type, locator, and page size
+     *
+     * @param parent parent container
+     * @param componentType component type
+     * @param locator component context element locator
+     * @param pageSize number of element references to acquire per request
+     * @param loadsMore 'true' to {@link #loadMore() load more} elements when the end of the list is reached
+     */
+    protected PagedComponentList(final ComponentContainer parent, final Class<E> componentType, final By locator,
+                    final int pageSize, final boolean loadsMore) {
+        Objects.requireNonNull(parent, "[parent] must be non-null");
+        Objects.requireNonNull(componentType, "[componentType] must be non-null");
+        Objects.requireNonNull(locator, "[locator] must be non-null");
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("[pageSize] must be positive");
+        }
+
+        ComponentContainer.verifyCollectible(componentType);
+
+        this.parent = parent;
+        this.componentType = componentType;
+        this.locator = locator;
+        this.pageSize = pageSize;
+        this.loadsMore = loadsMore;
+
+        if (locator instanceof By.ByXPath) {
+            this.css = null;
+            this.xpath = ByType.xpathLocatorFor(locator);
+        } else {
+            this.css = ByType.cssLocatorFor(locator);
+            this.xpath = (css == null) ? ByType.xpathLocatorFor(locator) : null;
+        }
+    }
+
+    /**
+     * Get the number of elements currently present that match the locator of this list.
+     * <p>
+     * <b>NOTE</b>: This method issues a command to count matching elements each time it's called.
+     *
+     * @return number of matching elements
+     */
+    @Override
+    public int size() {
+        return locateRange(0, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(final int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+
+        while ((index >= elements.size()) && fetchPage()) {
+            // acquire pages until specified index is reached
+        }
+
+        if (index >= elements.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.size());
+        }
+
+        E component = components.get(index);
+        if (component == null) {
+            Object[] arguments = new Object[] {elements.get(index), parent};
+            component = ComponentContainer.newContainer(
+                            componentType, ComponentContainer.getCollectibleArgs(), arguments);
+            component = component.enhanceContainer(component);
+            components.set(index, component);
+        }
+        return component;
+    }
+
+    /**
+     * Returns an iterator over the components in this list, acquiring element references one page at a time.
+     *
+     * @return component iterator
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int cursor;
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean hasNext() {
+                return (cursor < elements.size()) || fetchPage();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(cursor++);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Get the number of element references this list has acquired so far.
+     *
+     * @return number of acquired element references
+     */
+    public int getLoadedCount() {
+        return elements.size();
+    }
+
+    /**
+     * Load more elements into the parent container.
+     * <p>
+     * This method is invoked when iteration reaches the end of the elements that are currently present if the list
+     * was created to load more elements. The default implementation scrolls the last acquired element into view and
+     * waits for additional matching elements to appear. If your container loads more content by other means (e.g. -
+     * clicking a "more" button), instantiate a subclass of this list that overrides this method.
+     *
+     * @return 'true' if more elements were loaded; otherwise 'false'
+     */
+    protected boolean loadMore() {
+        if (elements.isEmpty()) {
+            return false;
+        }
+
+        ComponentContainer.scrollIntoView(elements.get(elements.size() - 1));
+        try {
+            return parent.getWait().until(moreElementsArePresent(elements.size()));
+        } catch (TimeoutException e) { //NOSONAR
+            return false;
+        }
+    }
+
+    /**
+     * Acquire the next page of element references, loading more elements if necessary (and enabled).
+     *
+     * @return 'true' if at least one element reference was acquired; otherwise 'false'
+     */
+    private boolean fetchPage() {
+        int start = elements.size();
+        locateRange(start, pageSize);
+        if ((elements.size() == start) && loadsMore && loadMore()) {
+            locateRange(start, pageSize);
+        }
+        return (elements.size() > start);
+    }
+
+    /**
+     * Acquire element references for the specified range of matching elements.
+     * <p>
+     * <b>NOTE</b>: If the locator of this list can't be expressed as CSS or XPath, all matching elements are acquired
+     * via standard WebDriver commands and the requested range is extracted from the result.
+     *
+     * @param start index of first element to acquire
+     * @param count maximum number of elements to acquire
+     * @return total number of matching elements currently present
+     */
+    @SuppressWarnings("unchecked")
+    private int locateRange(final int start, final int count) {
+        List<WebElement> found;
+        int total;
+
+        parent.switchTo();
+        if ((css == null) && (xpath == null)) {
+            List<WebElement> all = parent.findElements(locator);
+            total = all.size();
+            found = all.subList(Math.min(start, total), Math.min(start + count, total));
+        } else {
+            List<WebElement> contextArg = new ArrayList<>();
+            SearchContext target = parent.getWrappedContext();
+            if ((target instanceof WebElement) && !(parent instanceof Page)) {
+                contextArg.add((WebElement) target);
+            }
+
+            Map<String, Object> result = JsUtility.runRegistered(parent.getDriver(), LOCATE_RANGE, contextArg,
+                            StringUtils.defaultString(css), StringUtils.defaultString(xpath), start, count);
+            total = ((Number) result.get("total")).intValue();
+            found = (List<WebElement>) result.get("elements");
+        }
+
+        for (int i = 0; i < found.size(); i++) {
+            int index = start + i;
+            elements.add(RobustElementFactory.makeRobustElement(found.get(i), parent, locator, index));
+            components.add(null);
+        }
+        return total;
+    }
+
+    /**
+     * Returns a 'wait' proxy that determines if more than the specified number of matching elements are present.
+     *
+     * @param count current element count
+     * @return 'true' if more elements are present; otherwise 'false'
+     */
+    private Coordinator<Boolean> moreElementsArePresent(final int count) {
+        return new Coordinator<Boolean>() {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Boolean apply(final SearchContext context) {
+                return (locateRange(0, 0) > count);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public String toString() {
+                return "more elements to be present: " + locator;
+            }
+        };
+    }
+}
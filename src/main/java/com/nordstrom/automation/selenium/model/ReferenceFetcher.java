@@ -30,6 +30,15 @@ public interface ReferenceFetcher extends SearchContext, WrapsElement, WrapsCont
      */
     boolean hasReference();
 
+    /**
+     * Determine if the wrapped element reference has gone stale.
+     * <p>
+     * <b>NOTE</b>: This method probes the wrapped reference directly; it doesn't attempt to refresh it.
+     * 
+     * @return 'true' if the wrapped reference is stale or absent; otherwise 'false'
+     */
+    boolean isStale();
+
     /**
      * Get the search context for this element.
      * 
@@ -1,9 +1,9 @@
 package com.nordstrom.automation.selenium.model;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.StaleElementReferenceException;
@@ -33,7 +33,7 @@ import static net.bytebuddy.matcher.ElementMatchers.*;
  */
 public final class RobustElementFactory {
     
-    private static final Map<String, InstanceCreator> creatorMap = new HashMap<>();
+    private static final ConcurrentMap<String, InstanceCreator> creatorMap = new ConcurrentHashMap<>();
     
     /**
      * Private constructor to prevent instantiation.
@@ -88,17 +88,36 @@ public final class RobustElementFactory {
     
     /**
      * Get robust web element factory for this context.
+     * <p>
+     * <b>NOTE</b>: Factories are cached in a concurrent map, so lookups for known driver types don't block. The first
+     * request for each driver type is resolved under a lock, which ensures that each factory is generated only once.
      * 
      * @param context target context
      * @return robust web element factory
      */
-    private static synchronized InstanceCreator getCreator(final WrapsContext context) {
+    private static InstanceCreator getCreator(final WrapsContext context) {
         WebDriver driver = context.getWrappedDriver();
         String driverName = driver.getClass().getName();
-        if (creatorMap.containsKey(driverName)) {
-            return creatorMap.get(driverName);
+        InstanceCreator creator = creatorMap.get(driverName);
+        if (creator == null) {
+            synchronized (creatorMap) {
+                creator = creatorMap.get(driverName);
+                if (creator == null) {
+                    creator = makeCreator(driver);
+                    creatorMap.put(driverName, creator);
+                }
+            }
         }
-        
+        return creator;
+    }
+    
+    /**
+     * Generate robust web element factory for the specified driver.
+     * 
+     * @param driver target driver
+     * @return robust web element factory
+     */
+    private static InstanceCreator makeCreator(final WebDriver driver) {
         WebElement reference = driver.findElement(By.cssSelector("*"));
         Class<? extends WebElement> refClass = reference.getClass();
         
@@ -142,7 +161,6 @@ public final class RobustElementFactory {
             throw UncheckedThrow.throwUnchecked(e);
         }
         
-        creatorMap.put(driverName, creator);
         return creator;
     }
     
@@ -7,21 +7,27 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.WebDriver.Timeouts;
 import org.openqa.selenium.internal.FindsByCssSelector;
 import org.openqa.selenium.internal.FindsByXPath;
 
 import com.nordstrom.automation.selenium.AbstractSeleniumConfig.WaitType;
 import com.nordstrom.automation.selenium.core.ByType;
+import com.nordstrom.automation.selenium.core.CachedTimeouts;
 import com.nordstrom.automation.selenium.core.JsUtility;
 import com.nordstrom.automation.selenium.core.WebDriverUtils;
 import com.nordstrom.automation.selenium.exceptions.ElementReferenceRefreshFailureException;
@@ -41,6 +47,11 @@ import net.bytebuddy.implementation.bind.annotation.This;
  * This class defines the generic interceptor for the methods of wrapped web element references. It also provides
  * implementations for methods that acquire web element references and recover from StaleElementReferenceException
  * failures.  
+ * <p>
+ * <b>NOTE</b>: The methods of the {@link WebElement} interface are implemented directly by this class, and robust
+ * elements delegate to these implementations by name. Each implementation invokes the wrapped reference with a typed
+ * call, refreshing the reference and retrying once if it has gone stale. Only methods that are specific to the driver's
+ * element class are dispatched reflectively through {@link #intercept(Object, Method, Object[])}.
  */
 @SuppressWarnings("squid:S1200")
 public class RobustElementWrapper implements ReferenceFetcher {
@@ -49,11 +60,11 @@ public class RobustElementWrapper implements ReferenceFetcher {
     public static final int CARDINAL = -1;
     /** wraps an optional reference */
     public static final int OPTIONAL = -2;
-    /** boolean methods that return 'false' when optional element is absent */
-    private static final List<String> BOOLEAN_METHODS = Arrays.asList("isDisplayed", "isEnabled");
     
-    private static final String LOCATE_BY_CSS = JsUtility.getScriptResource("locateByCss.js");
-    private static final String LOCATE_BY_XPATH = JsUtility.getScriptResource("locateByXpath.js");
+    private static final String LOCATE_BY_CSS = "locateByCss.js";
+    private static final String LOCATE_BY_XPATH = "locateByXpath.js";
+    
+    private static final AtomicLong ACQUISITION_SEQUENCE = new AtomicLong();
     
     private enum Strategy { LOCATOR, JS_XPATH, JS_CSS }
     
@@ -69,6 +80,8 @@ public class RobustElementWrapper implements ReferenceFetcher {
     private long acquiredAt;
     
     private NoSuchElementException deferredException;
+    private AbsentElementCache absentElements;
+    private SiblingReferences siblingReferences;
     
     private final boolean findsByCssSelector;
     private final boolean findsByXPath;
@@ -131,12 +144,17 @@ public class RobustElementWrapper implements ReferenceFetcher {
         
         if (this.wrapped == null) {
             if (this.index == OPTIONAL) {
-                acquireReference(this);
+                acquireOptional();
             } else {
                 refreshReference(null);
             }
         } else if (acquiredAt == 0) {
-            acquiredAt = System.currentTimeMillis();
+            acquiredAt = ACQUISITION_SEQUENCE.incrementAndGet();
+        }
+        
+        SiblingReferences siblings = SiblingReferences.of(this.context);
+        if (siblings != null) {
+            siblings.register(this);
         }
     }
     
@@ -170,19 +188,244 @@ public class RobustElementWrapper implements ReferenceFetcher {
      * @throws Exception {@code anything} (exception thrown by the specified method)
      */
     private Object invoke(Method method, Object... args) throws Exception { // NOSONAR
+        try {
+            return method.invoke(target(), args);
+        } catch (InvocationTargetException ite) {
+            throw UncheckedThrow.throwUnchecked(ite.getCause());
+        }
+    }
+    
+    /**
+     * Get the wrapped element reference, throwing the deferred exception if this is an absent optional element.
+     * 
+     * @return wrapped element reference
+     */
+    private WebElement target() {
         WebElement target = getWrappedElement();
-        
         if (target == null) {
-            if (BOOLEAN_METHODS.contains(method.getName())) {
-                return Boolean.FALSE;
-            }
             throw deferredException();
         }
-        
+        return target;
+    }
+    
+    /**
+     * Click the wrapped element.
+     * 
+     * @see WebElement#click()
+     */
+    public void click() {
+        AbsentElementCache.recordAction(driver);
         try {
-            return method.invoke(target, args);
-        } catch (InvocationTargetException ite) {
-            throw UncheckedThrow.throwUnchecked(ite.getCause());
+            target().click();
+        } catch (StaleElementReferenceException sere) {
+            refreshReference(sere).target().click();
+        }
+    }
+    
+    /**
+     * Submit the form that contains the wrapped element.
+     * 
+     * @see WebElement#submit()
+     */
+    public void submit() {
+        AbsentElementCache.recordAction(driver);
+        try {
+            target().submit();
+        } catch (StaleElementReferenceException sere) {
+            refreshReference(sere).target().submit();
+        }
+    }
+    
+    /**
+     * Simulate typing into the wrapped element.
+     * 
+     * @param keysToSend character sequence to send to the element
+     * @see WebElement#sendKeys(CharSequence...)
+     */
+    public void sendKeys(final CharSequence... keysToSend) {
+        AbsentElementCache.recordAction(driver);
+        try {
+            target().sendKeys(keysToSend);
+        } catch (StaleElementReferenceException sere) {
+            refreshReference(sere).target().sendKeys(keysToSend);
+        }
+    }
+    
+    /**
+     * Clear the value of the wrapped element.
+     * 
+     * @see WebElement#clear()
+     */
+    public void clear() {
+        AbsentElementCache.recordAction(driver);
+        try {
+            target().clear();
+        } catch (StaleElementReferenceException sere) {
+            refreshReference(sere).target().clear();
+        }
+    }
+    
+    /**
+     * Get the tag name of the wrapped element.
+     * 
+     * @return element tag name
+     * @see WebElement#getTagName()
+     */
+    public String getTagName() {
+        try {
+            return target().getTagName();
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().getTagName();
+        }
+    }
+    
+    /**
+     * Get the value of the specified attribute of the wrapped element.
+     * 
+     * @param name attribute name
+     * @return attribute value; 'null' if attribute is absent
+     * @see WebElement#getAttribute(String)
+     */
+    public String getAttribute(final String name) {
+        try {
+            return target().getAttribute(name);
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().getAttribute(name);
+        }
+    }
+    
+    /**
+     * Determine if the wrapped element is selected.
+     * 
+     * @return 'true' if element is selected; otherwise 'false'
+     * @see WebElement#isSelected()
+     */
+    public boolean isSelected() {
+        try {
+            return target().isSelected();
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().isSelected();
+        }
+    }
+    
+    /**
+     * Determine if the wrapped element is enabled.
+     * <p>
+     * <b>NOTE</b>: This method returns 'false' for absent optional elements.
+     * 
+     * @return 'true' if element is enabled; otherwise 'false'
+     * @see WebElement#isEnabled()
+     */
+    public boolean isEnabled() {
+        try {
+            WebElement target = getWrappedElement();
+            return (target != null) && target.isEnabled();
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().isEnabled();
+        }
+    }
+    
+    /**
+     * Get the visible text of the wrapped element.
+     * 
+     * @return element visible text
+     * @see WebElement#getText()
+     */
+    public String getText() {
+        try {
+            return target().getText();
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().getText();
+        }
+    }
+    
+    /**
+     * Determine if the wrapped element is displayed.
+     * <p>
+     * <b>NOTE</b>: This method returns 'false' for absent optional elements.
+     * 
+     * @return 'true' if element is displayed; otherwise 'false'
+     * @see WebElement#isDisplayed()
+     */
+    public boolean isDisplayed() {
+        try {
+            WebElement target = getWrappedElement();
+            return (target != null) && target.isDisplayed();
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().isDisplayed();
+        }
+    }
+    
+    /**
+     * Get the location of the wrapped element.
+     * 
+     * @return element location
+     * @see WebElement#getLocation()
+     */
+    public Point getLocation() {
+        try {
+            return target().getLocation();
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().getLocation();
+        }
+    }
+    
+    /**
+     * Get the size of the wrapped element.
+     * 
+     * @return element size
+     * @see WebElement#getSize()
+     */
+    public Dimension getSize() {
+        try {
+            return target().getSize();
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().getSize();
+        }
+    }
+    
+    /**
+     * Get the location and size of the wrapped element.
+     * 
+     * @return element bounding rectangle
+     * @see WebElement#getRect()
+     */
+    public Rectangle getRect() {
+        try {
+            return target().getRect();
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().getRect();
+        }
+    }
+    
+    /**
+     * Get the value of the specified CSS property of the wrapped element.
+     * 
+     * @param propertyName CSS property name
+     * @return CSS property value
+     * @see WebElement#getCssValue(String)
+     */
+    public String getCssValue(final String propertyName) {
+        try {
+            return target().getCssValue(propertyName);
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().getCssValue(propertyName);
+        }
+    }
+    
+    /**
+     * Capture a screenshot of the wrapped element.
+     * 
+     * @param <X> return type for screenshot
+     * @param outputType target type for screenshot
+     * @return screenshot in the specified format
+     * @see WebElement#getScreenshotAs(OutputType)
+     */
+    public <X> X getScreenshotAs(final OutputType<X> outputType) {
+        try {
+            return target().getScreenshotAs(outputType);
+        } catch (StaleElementReferenceException sere) {
+            return refreshReference(sere).target().getScreenshotAs(outputType);
         }
     }
     
@@ -213,13 +456,39 @@ public class RobustElementWrapper implements ReferenceFetcher {
     @Override
     public boolean hasReference() {
         if ((index == OPTIONAL) && (wrapped == null)) {
-            acquireReference(this);
+            acquireOptional();
             return (null != wrapped);
         } else {
             return true;
         }
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isStale() {
+        return (wrapped == null) || isStale(wrapped);
+    }
+    
+    /**
+     * Determine if the specified element reference has gone stale.
+     * <p>
+     * <b>NOTE</b>: After navigation, some drivers report references from the prior document as missing instead of
+     * stale. These failures are also treated as staleness. All other failures are propagated.
+     * 
+     * @param element element reference to probe
+     * @return 'true' if the specified reference is stale; otherwise 'false'
+     */
+    static boolean isStale(final WebElement element) {
+        try {
+            element.getTagName();
+            return false;
+        } catch (StaleElementReferenceException | NoSuchElementException e) { //NOSONAR
+            return true;
+        }
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -249,6 +518,16 @@ public class RobustElementWrapper implements ReferenceFetcher {
      */
     @Override
     public RobustElementWrapper refreshReference(final StaleElementReferenceException refreshTrigger) {
+        // if replacing a stale reference, try to acquire it along with its siblings
+        SiblingReferences siblings = (wrapped != null) ? SiblingReferences.of(context) : null;
+        WebElement refreshed = (siblings != null) ? siblings.refresh(this) : null;
+        if (refreshed != null) {
+            wrapped = refreshed;
+            acquiredAt = ACQUISITION_SEQUENCE.incrementAndGet();
+            deferredException = null;
+            return this;
+        }
+        
         try {
             WaitType.IMPLIED.getWait((SearchContext) context).until(referenceIsRefreshed(this));
             return this;
@@ -297,6 +576,82 @@ public class RobustElementWrapper implements ReferenceFetcher {
         
     }
     
+    /**
+     * Acquire the optional element reference, unless the element is known to be absent from its context.
+     * 
+     * @see AbsentElementCache
+     */
+    private void acquireOptional() {
+        AbsentElementCache cache = AbsentElementCache.of(context);
+        if ((cache != null) && cache.isAbsent(locator, driver)) {
+            deferredException = new NoSuchElementException("Optional element is known to be absent: " + locator);
+            return;
+        }
+        
+        acquireReference(this);
+        
+        if (cache != null) {
+            if (wrapped == null) {
+                cache.setAbsent(locator, driver);
+            } else {
+                cache.setPresent(locator);
+            }
+        }
+    }
+    
+    /**
+     * Get the cache of optional elements found to be absent from the wrapped element.
+     * 
+     * @return absent element cache
+     */
+    synchronized AbsentElementCache getAbsentElements() {
+        if (absentElements == null) {
+            absentElements = new AbsentElementCache();
+        }
+        return absentElements;
+    }
+    
+    /**
+     * Get the registry of robust elements acquired from the wrapped element.
+     * 
+     * @return sibling reference registry
+     */
+    synchronized SiblingReferences getSiblingReferences() {
+        if (siblingReferences == null) {
+            siblingReferences = new SiblingReferences();
+        }
+        return siblingReferences;
+    }
+    
+    /**
+     * Get the locator entry with which this element is re-acquired by {@link SiblingReferences batch refresh}.
+     * 
+     * @return [CSS selector, XPath expression, position among matches]; 'null' if locator can't be expressed
+     */
+    List<Object> getBatchEntry() {
+        String css = null;
+        String xpath = null;
+        int position = Math.max(index, 0);
+        
+        if (strategy == Strategy.JS_CSS) {
+            css = selector;
+        } else if (strategy == Strategy.JS_XPATH) {
+            // index is encoded in the selector
+            xpath = selector;
+            position = 0;
+        } else if ((locator instanceof By.ByXPath) || (locator instanceof By.ByLinkText)
+                        || (locator instanceof By.ByPartialLinkText)) {
+            xpath = ByType.xpathLocatorFor(locator);
+        } else {
+            css = ByType.cssLocatorFor(locator);
+        }
+        
+        if ((css == null) && (xpath == null)) {
+            return null;
+        }
+        return Arrays.<Object>asList(StringUtils.defaultString(css), StringUtils.defaultString(xpath), position);
+    }
+    
     /**
      * Acquire the element reference that's wrapped by the specified robust element wrapper.
      * 
@@ -309,7 +664,8 @@ public class RobustElementWrapper implements ReferenceFetcher {
         SearchContext context = wrapper.context.getWrappedContext();
         
         if (wrapper.strategy == Strategy.LOCATOR) {
-            Timeouts timeouts = wrapper.driver.manage().timeouts().implicitlyWait(0, TimeUnit.SECONDS);
+            CachedTimeouts timeouts = CachedTimeouts.of(wrapper.driver);
+            timeouts.implicitlyWait(0, TimeUnit.SECONDS);
             try {
                 if (wrapper.index > 0) {
                     List<WebElement> elements = context.findElements(wrapper.locator);
@@ -324,16 +680,16 @@ public class RobustElementWrapper implements ReferenceFetcher {
                     try {
                         wrapper.wrapped = context.findElement(wrapper.locator);
                     } catch (NoSuchElementException e) {
-                        // if context is a web element
-                        if (context instanceof WebElement) {
-                            // force exception if context stale
-                            ((WebElement) context).getTagName();
+                        // if context is a web element that has gone stale
+                        if ((context instanceof WebElement) && isStale((WebElement) context)) {
+                            // trigger refresh of context chain
+                            throw new StaleElementReferenceException("Search context has gone stale", e);
                         }
                         thrown = e;
                     }
                 }
             } finally {
-                timeouts.implicitlyWait(WaitType.IMPLIED.getInterval(), TimeUnit.SECONDS);
+                timeouts.deferImplicitWait(CachedTimeouts.getImplicitWait(), TimeUnit.SECONDS);
             }
         } else {
             List<Object> args = new ArrayList<>();
@@ -353,7 +709,7 @@ public class RobustElementWrapper implements ReferenceFetcher {
                 args.add(wrapper.index);
             }
             
-            wrapper.wrapped = JsUtility.runAndReturn(wrapper.driver, js, args.toArray());
+            wrapper.wrapped = JsUtility.runRegistered(wrapper.driver, js, args.toArray());
             
             if (wrapper.wrapped == null) {
                 String message;
@@ -374,7 +730,7 @@ public class RobustElementWrapper implements ReferenceFetcher {
             }
             wrapper.deferredException = thrown;
         } else {
-            wrapper.acquiredAt = System.currentTimeMillis();
+            wrapper.acquiredAt = ACQUISITION_SEQUENCE.incrementAndGet();
             wrapper.deferredException = null;
         }
         
@@ -410,6 +766,18 @@ public class RobustElementWrapper implements ReferenceFetcher {
         return acquiredAt;
     }
     
+    /**
+     * Get the most recently issued element acquisition sequence number.
+     * <p>
+     * <b>NOTE</b>: Search contexts that are never refreshed (e.g. - {@link Page}) report this value as their
+     * acquisition sequence number, which marks all element references acquired so far as expired.
+     * 
+     * @return current acquisition sequence number
+     */
+    static long currentAcquisition() {
+        return ACQUISITION_SEQUENCE.get();
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,184 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.core.JsUtility;
+
+/**
+ * This class records the robust elements acquired from a search context, enabling the references of all of these
+ * elements to be re-acquired together when one of them goes stale.
+ * <p>
+ * A partial re-render of a page typically invalidates many element references at once. Without coordination, each
+ * robust element discovers this on its own and refreshes its reference with a separate search. When the
+ * {@link SeleniumSettings#BATCH_REFRESH batch refresh} setting is enabled, the first stale element under each search
+ * context triggers a single script execution that re-acquires references for every distinct locator registered under
+ * that context. The sibling references are held as candidates, and each sibling adopts its candidate when it goes
+ * stale instead of searching again. The cost of a re-render is thereby proportional to the number of affected
+ * contexts, rather than the number of affected elements.
+ * <p>
+ * <b>NOTE</b>: Candidate references are acquired when the batch is executed. If the page changes again before a
+ * sibling adopts its candidate, the candidate may itself be stale, or may no longer be the element that matches its
+ * locator. Candidates are checked for staleness before they're adopted, and a stale candidate triggers a new batch.
+ * A candidate that's still attached to the document is adopted as is, so leave this feature disabled for pages whose
+ * content changes repeatedly without element interactions.
+ */
+final class SiblingReferences {
+
+    private static final String LOCATE_BATCH = "locateBatch.js";
+
+    private final Map<RobustElementWrapper, List<Object>> members = new WeakHashMap<>();
+    private final Map<RobustElementWrapper, Candidate> candidates = new WeakHashMap<>();
+
+    /**
+     * Get the sibling reference registry for the specified search context.
+     *
+     * @param context search context
+     * @return sibling reference registry; 'null' if batch refresh is disabled or unsupported for this context
+     */
+    static SiblingReferences of(final Object context) {
+        if (!isEnabled()) {
+            return null;
+        } else if (context instanceof ComponentContainer) {
+            return ((ComponentContainer) context).getSiblingReferences();
+        } else if (context instanceof RobustElementWrapper) {
+            return ((RobustElementWrapper) context).getSiblingReferences();
+        } else if (context instanceof RobustElementFactory.InterceptionAccessor) {
+            return ((RobustElementFactory.InterceptionAccessor) context).getInterceptor().getSiblingReferences();
+        }
+        return null;
+    }
+
+    /**
+     * Register the specified robust element with this registry.
+     * <p>
+     * <b>NOTE</b>: Elements whose locators can't be expressed as CSS or XPath aren't registered.
+     *
+     * @param wrapper robust element wrapper
+     */
+    synchronized void register(final RobustElementWrapper wrapper) {
+        List<Object> entry = wrapper.getBatchEntry();
+        if (entry != null) {
+            members.put(wrapper, entry);
+        }
+    }
+
+    /**
+     * Get a refreshed reference for the specified stale robust element.
+     * <p>
+     * If a candidate reference was acquired for this element by a batch executed since its current reference was
+     * acquired and the candidate hasn't gone stale, the candidate is returned. Otherwise, references for all registered
+     * elements are re-acquired with a single script execution, storing candidates for its siblings.
+     *
+     * @param wrapper stale robust element wrapper
+     * @return refreshed element reference; 'null' if the reference couldn't be acquired by batch
+     */
+    synchronized WebElement refresh(final RobustElementWrapper wrapper) {
+        Candidate candidate = candidates.remove(wrapper);
+        if ((candidate != null) && (candidate.acquiredAt >= wrapper.acquiredAt())
+                        && !RobustElementWrapper.isStale(candidate.element)) {
+            return candidate.element;
+        }
+
+        if (!members.containsKey(wrapper)) {
+            return null;
+        }
+
+        // group registered elements by locator entry
+        Map<List<Object>, List<RobustElementWrapper>> groups = new LinkedHashMap<>();
+        for (Map.Entry<RobustElementWrapper, List<Object>> member : members.entrySet()) {
+            List<RobustElementWrapper> group = groups.get(member.getValue());
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(member.getValue(), group);
+            }
+            group.add(member.getKey());
+        }
+
+        SearchContext context = wrapper.getContext().getWrappedContext();
+        if (context == null) {
+            return null;
+        }
+
+        List<WebElement> elements;
+        try {
+            elements = locateBatch(wrapper.getWrappedDriver(), context, new ArrayList<>(groups.keySet()));
+        } catch (WebDriverException e) { //NOSONAR
+            // context is stale - fall back to standard refresh
+            return null;
+        }
+
+        WebElement refreshed = null;
+        long acquiredAt = RobustElementWrapper.currentAcquisition();
+        int i = 0;
+        for (List<RobustElementWrapper> group : groups.values()) {
+            WebElement element = elements.get(i++);
+            for (RobustElementWrapper member : group) {
+                if (member == wrapper) {
+                    refreshed = element;
+                } else if (element != null) {
+                    candidates.put(member, new Candidate(element, acquiredAt));
+                } else {
+                    candidates.remove(member);
+                }
+            }
+        }
+        return refreshed;
+    }
+
+    /**
+     * Acquire references for the specified locator entries in the specified search context.
+     *
+     * @param driver driver object
+     * @param context search context
+     * @param entries list of locator entries
+     * @return list of element references (entries for absent elements are 'null')
+     */
+    @SuppressWarnings("unchecked")
+    private static List<WebElement> locateBatch(final WebDriver driver, final SearchContext context,
+                    final List<List<Object>> entries) {
+        List<WebElement> contextArg = new ArrayList<>();
+        if (context instanceof WebElement) {
+            contextArg.add((WebElement) context);
+        }
+        return (List<WebElement>) JsUtility.runRegistered(driver, LOCATE_BATCH, contextArg, entries);
+    }
+
+    /**
+     * Determine if batch refresh is enabled.
+     *
+     * @return 'true' if batch refresh is enabled; otherwise 'false'
+     */
+    private static boolean isEnabled() {
+        return SeleniumConfig.getConfig().getBoolean(SeleniumSettings.BATCH_REFRESH.key());
+    }
+
+    /**
+     * This class records a candidate reference acquired for a sibling element by batch refresh.
+     */
+    private static class Candidate {
+        private final WebElement element;
+        private final long acquiredAt;
+
+        /**
+         * Constructor for candidate reference
+         *
+         * @param element candidate element reference
+         * @param acquiredAt acquisition sequence number of the batch
+         */
+        Candidate(final WebElement element, final long acquiredAt) {
+            this.element = element;
+            this.acquiredAt = acquiredAt;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.nordstrom.automation.selenium.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is an immutable record of the content of an HTML table, captured in a single script execution by
+ * {@link HtmlTable#getContent()}. The content consists of the column headings and the data rows of the table, with
+ * the text and attributes of each cell.
+ * <p>
+ * Cells can be accessed by column index or by column heading. The headings are taken from the last row of the table
+ * head ({@code thead}); if the table has no head, a leading body row that consists entirely of heading cells
+ * ({@code th}) is used. Data rows are the remaining rows of the table bodies ({@code tbody}), in document order.
+ * <p>
+ * <b>NOTE</b>: Cell text is computed by the browser from the rendered text of each cell (if available), trimmed of
+ * leading and trailing whitespace. This agrees with {@link org.openqa.selenium.WebElement#getText()} for typical
+ * content, but may differ in edge cases (e.g. - hidden cells, whitespace normalization).
+ */
+public final class TableContent {
+
+    private final List<Cell> headingCells;
+    private final List<String> headings;
+    private final List<Row> rows;
+
+    /**
+     * Constructor for table content from script result
+     *
+     * @param result table content record produced by the extraction script
+     */
+    @SuppressWarnings("unchecked")
+    TableContent(final Map<String, Object> result) {
+        headingCells = toCells((List<Object>) result.get("headings"));
+
+        List<String> headingList = new ArrayList<>(headingCells.size());
+        for (Cell cell : headingCells) {
+            headingList.add(cell.getText());
+        }
+        headings = Collections.unmodifiableList(headingList);
+
+        List<Row> rowList = new ArrayList<>();
+        for (Object rowNode : (List<Object>) result.get("rows")) {
+            rowList.add(new Row(this, rowList.size(), (Map<String, Object>) rowNode));
+        }
+        rows = Collections.unmodifiableList(rowList);
+    }
+
+    /**
+     * Get the column headings of this table.
+     *
+     * @return unmodifiable list of heading text (empty if table has no headings)
+     */
+    public List<String> getHeadings() {
+        return headings;
+    }
+
+    /**
+     * Get the heading cells of this table.
+     *
+     * @return unmodifiable list of heading cells (empty if table has no headings)
+     */
+    public List<Cell> getHeadingCells() {
+        return headingCells;
+    }
+
+    /**
+     * Get the index of the column with the specified heading.
+     *
+     * @param heading column heading text
+     * @return index of first column with the specified heading; -1 if no such column exists
+     */
+    public int getColumnIndex(final String heading) {
+        return headings.indexOf(heading);
+    }
+
+    /**
+     * Get the data rows of this table.
+     *
+     * @return unmodifiable list of data rows
+     */
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the data row at the specified index.
+     *
+     * @param index row index
+     * @return data row at the specified index
+     */
+    public Row getRow(final int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * Get the number of data rows in this table.
+     *
+     * @return data row count
+     */
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Get the text of every data row of this table.
+     *
+     * @return list of cell text lists, one per data row
+     */
+    public List<List<String>> getTexts() {
+        List<List<String>> texts = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            texts.add(row.getTexts());
+        }
+        return texts;
+    }
+
+    /**
+     * Convert the specified list of cell records to cell objects.
+     *
+     * @param cellNodes list of cell records produced by the extraction script
+     * @return unmodifiable list of cells
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Cell> toCells(final List<Object> cellNodes) {
+        List<Cell> cells = new ArrayList<>();
+        if (cellNodes != null) {
+            for (Object cellNode : cellNodes) {
+                cells.add(new Cell((Map<String, Object>) cellNode));
+            }
+        }
+        return Collections.unmodifiableList(cells);
+    }
+
+    /**
+     * Convert the specified attribute record to an unmodifiable map.
+     *
+     * @param attributeNode attribute record produced by the extraction script
+     * @return unmodifiable map of attribute names to values, in declaration order
+     */
+    private static Map<String, String> toAttributes(final Object attributeNode) {
+        Map<String, String> attributeMap = new LinkedHashMap<>();
+        if (attributeNode instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) attributeNode).entrySet()) {
+                attributeMap.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
+        }
+        return Collections.unmodifiableMap(attributeMap);
+    }
+
+    /**
+     * This class is an immutable record of a data row of an HTML table.
+     */
+    public static final class Row {
+
+        private final TableContent table;
+        private final int index;
+        private final Map<String, String> attributes;
+        private final List<Cell> cells;
+
+        /**
+         * Constructor for table row from script result
+         *
+         * @param table table content to which this row belongs
+         * @param index index of this row among the data rows of the table
+         * @param rowNode row record produced by the extraction script
+         */
+        @SuppressWarnings("unchecked")
+        private Row(final TableContent table, final int index, final Map<String, Object> rowNode) {
+            this.table = table;
+            this.index = index;
+            this.attributes = toAttributes(rowNode.get("attributes"));
+            this.cells = toCells((List<Object>) rowNode.get("cells"));
+        }
+
+        /**
+         * Get the index of this row among the data rows of the table.
+         *
+         * @return row index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Get the attributes declared by this row.
+         *
+         * @return unmodifiable map of attribute names to values, in declaration order
+         */
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        /**
+         * Get the value of the specified attribute of this row.
+         *
+         * @param name attribute name
+         * @return attribute value; 'null' if attribute is absent
+         */
+        public String getAttribute(final String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * Get the cells of this row.
+         *
+         * @return unmodifiable list of cells
+         */
+        public List<Cell> getCells() {
+            return cells;
+        }
+
+        /**
+         * Get the cell at the specified column index.
+         *
+         * @param column column index
+         * @return cell at the specified column
+         */
+        public Cell getCell(final int column) {
+            return cells.get(column);
+        }
+
+        /**
+         * Get the cell in the column with the specified heading.
+         *
+         * @param heading column heading text
+         * @return cell in the specified column; 'null' if no such column exists in this row
+         */
+        public Cell getCell(final String heading) {
+            int column = table.getColumnIndex(heading);
+            return ((column >= 0) && (column < cells.size())) ? cells.get(column) : null;
+        }
+
+        /**
+         * Get the text of the cell at the specified column index.
+         *
+         * @param column column index
+         * @return cell text
+         */
+        public String getText(final int column) {
+            return getCell(column).getText();
+        }
+
+        /**
+         * Get the text of the cell in the column with the specified heading.
+         *
+         * @param heading column heading text
+         * @return cell text; 'null' if no such column exists in this row
+         */
+        public String getText(final String heading) {
+            Cell cell = getCell(heading);
+            return (cell != null) ? cell.getText() : null;
+        }
+
+        /**
+         * Get the text of every cell of this row.
+         *
+         * @return list of cell text
+         */
+        public List<String> getTexts() {
+            List<String> texts = new ArrayList<>(cells.size());
+            for (Cell cell : cells) {
+                texts.add(cell.getText());
+            }
+            return texts;
+        }
+    }
+
+    /**
+     * This class is an immutable record of a cell of an HTML table.
+     */
+    public static final class Cell {
+
+        private final String text;
+        private final Map<String, String> attributes;
+
+        /**
+         * Constructor for table cell from script result
+         *
+         * @param cellNode cell record produced by the extraction script
+         */
+        private Cell(final Map<String, Object> cellNode) {
+            this.text = (String) cellNode.get("text");
+            this.attributes = toAttributes(cellNode.get("attributes"));
+        }
+
+        /**
+         * Get the text of this cell.
+         *
+         * @return cell text
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Get the attributes declared by this cell.
+         *
+         * @return unmodifiable map of attribute names to values, in declaration order
+         */
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        /**
+         * Get the value of the specified attribute of this cell.
+         *
+         * @param name attribute name
+         * @return attribute value; 'null' if attribute is absent
+         */
+        public String getAttribute(final String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.nordstrom.automation.selenium.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.WaitType;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.core.ByType;
+import com.nordstrom.automation.selenium.core.JsUtility;
+import com.nordstrom.automation.selenium.core.WebDriverUtils;
+import com.nordstrom.automation.selenium.interfaces.WrapsContext;
+
+/**
+ * This class extends {@link Coordinator} with a browser-side form of the condition it models. When compiled-wait
+ * mode is enabled (see {@link SeleniumSettings#COMPILED_WAIT_SLICE COMPILED_WAIT_SLICE}), each evaluation that finds
+ * the condition unsatisfied is followed by a single {@code executeAsyncScript} call that watches the DOM (via
+ * {@code MutationObserver} and {@code requestAnimationFrame}) and returns as soon as the browser-side predicate holds
+ * or the configured slice elapses. The condition is then re-evaluated by the driver, so the result of the wait is
+ * always produced by the standard WebDriver semantics of the condition.
+ * <p>
+ * This replaces the fixed 500 mS polling of {@link SearchContextWait} with one round trip per slice, and reacts to DOM
+ * changes as soon as they occur. If the locator can't be expressed as CSS or XPath, or the driver can't execute
+ * asynchronous scripts, the coordinator silently falls back to standard polling.
+ * <p>
+ * <b>NOTE</b>: The browser-side predicates don't replicate WebDriver semantics; they approximate them permissively, so
+ * that a predicate holds whenever the WebDriver form of the condition <i>might</i> hold. For example, visibility only
+ * requires rendered boxes and a non-hidden computed style (not the full {@code isDisplayed()} atom), and text checks
+ * accept a match against any of {@code innerText}, {@code textContent}, or whitespace-normalized text. A browser-side
+ * match that WebDriver doesn't confirm costs an extra evaluation, while the opposite would stall the wait for a full
+ * slice. Conditions that can't be approximated this way (e.g. - invisibility and attribute values, which depend on
+ * {@code isDisplayed()} and the property/attribute rules of {@code getAttribute()}) are evaluated by standard polling.
+ *
+ * @param <T> The return type
+ */
+public abstract class CompiledCoordinator<T> extends Coordinator<T> {
+
+    private static final String AWAIT_CONDITION = "awaitCondition.js";
+
+    private final String css;
+    private final String xpath;
+    private final String predicate;
+    private final String operand;
+    private final String expect;
+    private boolean compilable;
+
+    /**
+     * Constructor for compiled coordinator
+     *
+     * @param locator locator for the subject element
+     * @param predicate name of browser-side predicate
+     * @param operand predicate operand (may be 'null')
+     * @param expect expected value (may be 'null')
+     */
+    protected CompiledCoordinator(final By locator, final String predicate,
+                    final String operand, final String expect) {
+        if (locator instanceof By.ByXPath) {
+            this.css = null;
+            this.xpath = ByType.xpathLocatorFor(locator);
+        } else {
+            this.css = ByType.cssLocatorFor(locator);
+            this.xpath = (css == null) ? ByType.xpathLocatorFor(locator) : null;
+        }
+        this.predicate = predicate;
+        this.operand = operand;
+        this.expect = expect;
+        this.compilable = (css != null) || (xpath != null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T apply(final SearchContext context) {
+        long slice = getSlice();
+        if (!compilable || (slice <= 0)) {
+            return evaluate(context);
+        }
+        
+        try {
+            T result = evaluate(context);
+            if (!isUnsatisfied(result)) {
+                return result;
+            }
+        } catch (NotFoundException e) { //NOSONAR
+            // condition unsatisfied - wait for it in the browser
+        }
+        
+        return awaitInBrowser(context, slice) ? evaluate(context) : null;
+    }
+
+    /**
+     * Evaluate the condition modeled by this coordinator via standard WebDriver commands.
+     *
+     * @param context search context
+     * @return condition result; {@code null} or {@code false} if unsatisfied
+     */
+    protected abstract T evaluate(SearchContext context);
+
+    /**
+     * Wait in the browser for the browser-side form of this condition to be satisfied.
+     *
+     * @param context search context
+     * @param slice maximum interval to wait in milliseconds
+     * @return 'true' if the condition may have been satisfied; 'false' if the slice elapsed
+     */
+    boolean awaitInBrowser(final SearchContext context, final long slice) {
+        SearchContext target = context;
+        if (context instanceof WrapsContext) {
+            target = ((WrapsContext) context).getWrappedContext();
+        }
+        List<WebElement> contextArg = new ArrayList<>();
+        if (target instanceof WebElement) {
+            contextArg.add((WebElement) target);
+        }
+
+        // NOTE: Some drivers reject 'null' script arguments
+        try {
+            Object result = JsUtility.runRegisteredAsync(WebDriverUtils.getDriver(context), AWAIT_CONDITION,
+                            contextArg, StringUtils.defaultString(css), StringUtils.defaultString(xpath), predicate,
+                            StringUtils.defaultString(operand), StringUtils.defaultString(expect), slice);
+            return !Boolean.FALSE.equals(result);
+        } catch (UnsupportedOperationException e) {
+            compilable = false;
+        } catch (WebDriverException e) { //NOSONAR
+            // Stale contexts, script timeouts, and the like are handled by re-evaluating the condition.
+        }
+        return true;
+    }
+
+    /**
+     * Determine if the specified condition result indicates that the condition is unsatisfied.
+     *
+     * @param result condition result
+     * @return 'true' if result is {@code null} or {@code false}; otherwise 'false'
+     */
+    private static boolean isUnsatisfied(final Object result) {
+        return (result == null) || Boolean.FALSE.equals(result);
+    }
+
+    /**
+     * Get the maximum interval to wait in the browser per evaluation.
+     * <p>
+     * <b>NOTE</b>: This interval is constrained to leave a one-second margin within the script timeout.
+     *
+     * @return compiled wait slice in milliseconds; 0 if compiled-wait mode is disabled
+     */
+    private static long getSlice() {
+        long slice = SeleniumConfig.getConfig().getLong(SeleniumSettings.COMPILED_WAIT_SLICE.key());
+        long limit = TimeUnit.SECONDS.toMillis(WaitType.SCRIPT.getInterval()) - 1000;
+        return Math.max(0, Math.min(slice, limit));
+    }
+}
@@ -126,13 +126,13 @@ public final class Coordinators {
      * @return the WebElement once it is located
      */
     public static Coordinator<WebElement> presenceOfElementLocated(final By locator) {
-        return new Coordinator<WebElement>() {
+        return new CompiledCoordinator<WebElement>(locator, "present", null, null) {
             
             /**
              * {@inheritDoc}
              */
             @Override
-            public WebElement apply(SearchContext context) {
+            protected WebElement evaluate(SearchContext context) {
                 return context.findElement(locator);
             }
 
@@ -161,13 +161,13 @@ public final class Coordinators {
      * @return web element reference; 'null' if the indicated element is absent or hidden
      */
     public static Coordinator<WebElement> visibilityOfElementLocated(final By locator) {
-        return new Coordinator<WebElement>() {
+        return new CompiledCoordinator<WebElement>(locator, "visible", null, null) {
             
             /**
              * {@inheritDoc}
              */
             @Override
-            public WebElement apply(final SearchContext context) {
+            protected WebElement evaluate(final SearchContext context) {
                 try {
                     return elementIfVisible(context.findElement(locator));
                 } catch (StaleElementReferenceException e) { //NOSONAR
@@ -200,13 +200,13 @@ public final class Coordinators {
      * @return web element reference; 'null' if no matching elements are visible
      */
     public static Coordinator<WebElement> visibilityOfAnyElementLocated(final By locator) {
-        return new Coordinator<WebElement>() {
+        return new CompiledCoordinator<WebElement>(locator, "anyVisible", null, null) {
             
             /**
              * {@inheritDoc}
              */
             @Override
-            public WebElement apply(final SearchContext context) {
+            protected WebElement evaluate(final SearchContext context) {
                 try {
                     List<WebElement> visible = context.findElements(locator);
                     if (WebDriverUtils.filterHidden(visible)) {
@@ -517,13 +517,13 @@ public final class Coordinators {
      * @return true once the first element located by locator contains the given text
      */
     public static Coordinator<Boolean> textToBePresentInElementLocated(final By locator, final String text) {
-        return new Coordinator<Boolean>() {
+        return new CompiledCoordinator<Boolean>(locator, "text", text, null) {
             
             /**
              * {@inheritDoc}
              */
             @Override
-            public Boolean apply(SearchContext context) {
+            protected Boolean evaluate(SearchContext context) {
                 try {
                     String elementText = context.findElement(locator).getText();
                     return elementText.contains(text);
@@ -557,13 +557,13 @@ public final class Coordinators {
      * @return true once the first element located by locator does not have empty text
      */
     public static Coordinator<Boolean> textToNotBeEmptyInElementLocated(final By locator) {
-        return new Coordinator<Boolean>() {
+        return new CompiledCoordinator<Boolean>(locator, "notEmpty", null, null) {
             
             /**
              * {@inheritDoc}
              */
             @Override
-            public Boolean apply(SearchContext context) {
+            protected Boolean evaluate(SearchContext context) {
                 try {
                     String elementText = context.findElement(locator).getText();
                     return ! ((elementText == null) || elementText.isEmpty());
@@ -600,13 +600,13 @@ public final class Coordinators {
      *         given text
      */
     public static Coordinator<Boolean> textToBePresentInElementValue(final By locator, final String text) {
-        return new Coordinator<Boolean>() {
+        return new CompiledCoordinator<Boolean>(locator, "value", text, null) {
             
             /**
              * {@inheritDoc}
              */
             @Override
-            public Boolean apply(SearchContext context) {
+            protected Boolean evaluate(SearchContext context) {
                 try {
                     String elementText = context.findElement(locator).getAttribute("value");
                     return elementText != null && elementText.contains(text);
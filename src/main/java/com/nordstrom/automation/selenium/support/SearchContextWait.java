@@ -11,6 +11,7 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import com.nordstrom.automation.selenium.core.TimelineRecorder;
 import com.nordstrom.automation.selenium.core.WebDriverUtils;
 
 /**
@@ -60,6 +61,34 @@ public class SearchContextWait extends FluentWait<SearchContext> {
         this.context = context;
     }
 
+    /**
+     * Repeatedly applies the specified coordinator until it returns a value that's neither 'null' nor 'false', or
+     * until the timeout expires. The wait is recorded as a span in the timeline of the current test (if any).
+     * 
+     * @param <V> return type of the specified coordinator
+     * @param isTrue the coordinator to be applied
+     * @return output of the specified coordinator
+     * @see FluentWait#until
+     * @see TimelineRecorder
+     */
+    public <V> V until(final Coordinator<V> isTrue) {
+        long span = TimelineRecorder.enter(TimelineRecorder.WAIT, isTrue, null);
+        try {
+            return super.until(isTrue);
+        } finally {
+            TimelineRecorder.exit(span);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SearchContextWait ignoring(final Class<? extends Throwable> exceptionType) {
+        super.ignoring(exceptionType);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
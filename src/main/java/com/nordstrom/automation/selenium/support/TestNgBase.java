@@ -15,6 +15,7 @@ import org.testng.annotations.Test;
 import com.google.common.base.Optional;
 import com.google.common.reflect.TypeToken;
 import com.nordstrom.automation.selenium.core.TestBase;
+import com.nordstrom.automation.selenium.listeners.CommandBudgetListener;
 import com.nordstrom.automation.selenium.listeners.DriverListener;
 import com.nordstrom.automation.selenium.listeners.PageSourceCapture;
 import com.nordstrom.automation.selenium.listeners.PlatformInterceptor.PlatformIdentity;
@@ -34,8 +35,8 @@ import com.nordstrom.common.file.PathUtils;
 /**
  * This abstract class implements the contract for Selenium Foundation test classes for TestNG.
  */
-@LinkedListeners(
-        {ScreenshotCapture.class, PageSourceCapture.class, DriverListener.class, ExecutionFlowController.class})
+@LinkedListeners({ScreenshotCapture.class, PageSourceCapture.class, DriverListener.class,
+        CommandBudgetListener.class, ExecutionFlowController.class})
 public abstract class TestNgBase extends TestBase {
     
     static {
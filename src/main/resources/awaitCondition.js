@@ -0,0 +1,85 @@
+var context = (arguments[0].length) ? arguments[0][0] : document;
+var css = arguments[1];
+var xpath = arguments[2];
+var predicate = arguments[3];
+var operand = arguments[4];
+var expect = arguments[5];
+var limit = arguments[6];
+var callback = arguments[arguments.length - 1];
+var done = false;
+var observer = null;
+
+function locateAll() {
+  if (css) return Array.prototype.slice.call(context.querySelectorAll(css));
+  var found = [];
+  var snapshot = document.evaluate(xpath, context, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+  for (var i = 0; i < snapshot.snapshotLength; i++) found.push(snapshot.snapshotItem(i));
+  return found;
+}
+
+// NOTE: These predicates hold whenever the WebDriver form of the condition might hold.
+function isVisible(element) {
+  var tag = element.tagName.toLowerCase();
+  if ((tag == 'html') || (tag == 'body')) return true;
+  if ((tag == 'option') || (tag == 'optgroup')) {
+    var select = element.parentNode;
+    while (select && (select.nodeType == 1) && (select.tagName.toLowerCase() != 'select')) select = select.parentNode;
+    return !select || (select.nodeType != 1) || isVisible(select);
+  }
+  if (!element.getClientRects().length) return false;
+  return window.getComputedStyle(element).visibility != 'hidden';
+}
+
+function textsOf(element) {
+  var texts = [element.innerText || '', element.textContent || ''];
+  texts.push(texts[0].replace(/\s+/g, ' '), texts[1].replace(/\s+/g, ' '));
+  return texts;
+}
+
+function containsAny(texts, text) {
+  return texts.some(function(each) { return each.indexOf(text) >= 0; });
+}
+
+function holds() {
+  var found = locateAll();
+  var element = found[0];
+  switch (predicate) {
+    case 'present': return !!element;
+    case 'visible': return !!element && isVisible(element);
+    case 'anyVisible': return found.some(isVisible);
+    case 'text': return !!element && containsAny(textsOf(element), operand);
+    case 'notEmpty': return !!element && /\S/.test(textsOf(element)[1]);
+    case 'value': return !!element && containsAny([String(element.value), element.getAttribute('value') || ''], operand);
+  }
+  return true;
+}
+
+function finish(result) {
+  if (done) return;
+  done = true;
+  if (observer) observer.disconnect();
+  callback(result);
+}
+
+function check() {
+  try {
+    if (holds()) finish(true);
+  } catch (e) {
+    finish(true);
+  }
+}
+
+function onFrame() {
+  check();
+  if (!done) (window.requestAnimationFrame || function(f) { setTimeout(f, 50); })(onFrame);
+}
+
+check();
+if (!done) {
+  if (window.MutationObserver) {
+    observer = new MutationObserver(check);
+    observer.observe(document, {attributes: true, childList: true, characterData: true, subtree: true});
+  }
+  onFrame();
+  setTimeout(function() { finish(false); }, limit);
+}
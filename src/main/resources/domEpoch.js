@@ -0,0 +1,21 @@
+var epoch = window.__sfEpoch;
+if (!epoch) {
+  epoch = window.__sfEpoch = { id: Math.random().toString(36).slice(2), count: 0, observer: null };
+  if (typeof MutationObserver != 'undefined') {
+    // verify that mutations are actually recorded
+    var probe = document.createElement('div');
+    var observer = new MutationObserver(function() {});
+    observer.observe(probe, { attributes: true });
+    probe.setAttribute('data-probe', '');
+    if (observer.takeRecords().length) {
+      epoch.observer = new MutationObserver(function(mutations) {
+        epoch.count += mutations.length;
+      });
+      epoch.observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });
+    }
+    observer.disconnect();
+  }
+}
+if (!epoch.observer) return null;
+epoch.count += epoch.observer.takeRecords().length;
+return epoch.id + ':' + epoch.count;
@@ -0,0 +1,8 @@
+var elements = arguments[0];
+var extract = new Function('element', 'return (' + arguments[1] + ');');
+var keys = [];
+for (var i = 0; i < elements.length; i++) {
+  var key = extract(elements[i]);
+  keys.push((typeof key == 'undefined') ? null : key);
+}
+return keys;
@@ -0,0 +1,49 @@
+var table = arguments[0];
+
+function attributesOf(element) {
+  var attributes = {};
+  for (var i = 0; i < element.attributes.length; i++) {
+    attributes[element.attributes[i].name] = element.attributes[i].value;
+  }
+  return attributes;
+}
+
+function cellsOf(row) {
+  var cells = [];
+  for (var i = 0; i < row.cells.length; i++) {
+    var cell = row.cells[i];
+    cells.push({ text: (cell.innerText || cell.textContent || '').trim(), attributes: attributesOf(cell) });
+  }
+  return cells;
+}
+
+function isHeading(row) {
+  if (!row.cells.length) return false;
+  for (var i = 0; i < row.cells.length; i++) {
+    if (row.cells[i].tagName.toLowerCase() !== 'th') return false;
+  }
+  return true;
+}
+
+var bodyRows = [];
+for (var b = 0; b < table.tBodies.length; b++) {
+  for (var r = 0; r < table.tBodies[b].rows.length; r++) bodyRows.push(table.tBodies[b].rows[r]);
+}
+
+// headings are taken from the last row of the table head or from a leading row of body heading cells
+var heading = null;
+var offset = 0;
+if (table.tHead && table.tHead.rows.length) {
+  heading = table.tHead.rows[table.tHead.rows.length - 1];
+} else if (bodyRows.length && isHeading(bodyRows[0])) {
+  heading = bodyRows[0];
+  offset = 1;
+}
+
+var rows = [];
+var elements = [];
+for (var k = offset; k < bodyRows.length; k++) {
+  rows.push({ attributes: attributesOf(bodyRows[k]), cells: cellsOf(bodyRows[k]) });
+  elements.push(bodyRows[k]);
+}
+return { headings: heading ? cellsOf(heading) : [], rows: rows, elements: elements, offset: offset };
@@ -0,0 +1,16 @@
+var context = (arguments[0].length) ? arguments[0][0] : document;
+var entries = arguments[1];
+var elements = [];
+for (var i = 0; i < entries.length; i++) {
+  var css = entries[i][0];
+  var xpath = entries[i][1];
+  var position = entries[i][2];
+  var element;
+  if (css) {
+    element = (position > 0) ? context.querySelectorAll(css)[position] : context.querySelector(css);
+  } else {
+    element = document.evaluate(xpath, context, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotItem(position);
+  }
+  elements.push(element || null);
+}
+return elements;
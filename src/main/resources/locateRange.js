@@ -0,0 +1,17 @@
+var context = (arguments[0].length) ? arguments[0][0] : document;
+var css = arguments[1];
+var xpath = arguments[2];
+var start = arguments[3];
+var count = arguments[4];
+var elements = [];
+var total;
+if (css) {
+  var found = context.querySelectorAll(css);
+  total = found.length;
+  for (var i = start; (i < total) && (i < start + count); i++) elements.push(found[i]);
+} else {
+  var snapshot = document.evaluate(xpath, context, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+  total = snapshot.snapshotLength;
+  for (var j = start; (j < total) && (j < start + count); j++) elements.push(snapshot.snapshotItem(j));
+}
+return { total: total, elements: elements };
@@ -0,0 +1,53 @@
+var roots = (arguments[0].length) ? arguments[0] : [document.documentElement];
+var depth = arguments[1];
+var scrollX = window.pageXOffset || 0;
+var scrollY = window.pageYOffset || 0;
+
+function isVisible(element) {
+  if (!element.getClientRects().length) return false;
+  var style = window.getComputedStyle(element);
+  return (style.display != 'none') && (style.visibility != 'hidden') && (style.opacity != '0');
+}
+
+function attributesOf(element) {
+  var attributes = {};
+  for (var i = 0; i < element.attributes.length; i++) {
+    attributes[element.attributes[i].name] = element.attributes[i].value;
+  }
+  return attributes;
+}
+
+function childrenOf(element) {
+  var children = Array.prototype.slice.call(element.children || []);
+  if (element.shadowRoot) {
+    children = children.concat(Array.prototype.slice.call(element.shadowRoot.children));
+  }
+  return children;
+}
+
+function snapshot(element, level) {
+  var displayed = isVisible(element);
+  var rect = element.getBoundingClientRect();
+  var node = {
+    tag: element.tagName.toLowerCase(),
+    attributes: attributesOf(element),
+    text: displayed ? (element.innerText || element.textContent || '').trim() : '',
+    displayed: displayed,
+    value: (typeof element.value == 'undefined') ? null : String(element.value),
+    rect: [Math.round(rect.left + scrollX), Math.round(rect.top + scrollY), Math.round(rect.width), Math.round(rect.height)],
+    children: []
+  };
+  if ((depth < 0) || (level < depth)) {
+    var children = childrenOf(element);
+    for (var i = 0; i < children.length; i++) {
+      node.children.push(snapshot(children[i], level + 1));
+    }
+  }
+  return node;
+}
+
+var result = [];
+for (var i = 0; i < roots.length; i++) {
+  result.push(snapshot(roots[i], 0));
+}
+return result;
@@ -0,0 +1,116 @@
+var context = (arguments[0].length) ? arguments[0][0] : document;
+var entries = arguments[1];
+var byName = arguments[2];
+
+function locate(entry) {
+  var found = [];
+  if (entry[2].length) {
+    found.push(entry[2][0]);
+  } else if (entry[0]) {
+    var list = context.querySelectorAll(entry[0]);
+    for (var i = 0; i < list.length; i++) found.push(list[i]);
+  } else {
+    var snapshot = document.evaluate(entry[1], context, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+    for (var j = 0; j < snapshot.snapshotLength; j++) found.push(snapshot.snapshotItem(j));
+  }
+  return found;
+}
+
+function kindOf(element) {
+  var tag = element.tagName.toLowerCase();
+  if (tag === 'select') return 'select';
+  if (tag === 'textarea') return 'text';
+  if (tag !== 'input') return null;
+  var type = (element.getAttribute('type') || 'text').toLowerCase();
+  if ((type === 'checkbox') || (type === 'radio') || (type === 'file')) return type;
+  if ((type === 'button') || (type === 'submit') || (type === 'reset') || (type === 'image')) return null;
+  return 'text';
+}
+
+function fire(element, type) {
+  var event = document.createEvent('HTMLEvents');
+  event.initEvent(type, true, false);
+  element.dispatchEvent(event);
+}
+
+function setValue(element, value) {
+  // use the prototype setter, which bypasses value trackers installed on the element itself
+  var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(element), 'value');
+  if (descriptor && descriptor.set) {
+    descriptor.set.call(element, value);
+  } else {
+    element.value = value;
+  }
+}
+
+// read the current state of every field, resolving all targets before applying any changes
+var plans = [];
+for (var i = 0; i < entries.length; i++) {
+  var entry = entries[i];
+  var value = entry[4] ? '' : entry[3];
+  var found = locate(entry);
+  if (!found.length) return { missing: i };
+  var plan = { element: found[0], kind: kindOf(found[0]), value: value, changed: false, keys: false };
+  if ((plan.kind === 'radio') && byName) {
+    plan.element = null;
+    for (var r = 0; r < found.length; r++) {
+      if (found[r].value === value) plan.element = found[r];
+    }
+    if (!plan.element) return { missing: i, option: true };
+    plan.state = true;
+    plan.changed = !plan.element.checked;
+  } else if ((plan.kind === 'checkbox') || (plan.kind === 'radio')) {
+    plan.state = (String(value) === 'true');
+    plan.changed = (plan.element.checked !== plan.state);
+  } else if (plan.kind === 'select') {
+    var wanted = entry[4] ? [] : ((value instanceof Array) ? value : [value]);
+    var matched = 0;
+    plan.selections = [];
+    for (var o = 0; o < plan.element.options.length; o++) {
+      var option = plan.element.options[o];
+      var select = (wanted.indexOf(option.value) >= 0) && (plan.element.multiple || !matched);
+      if (select) matched++;
+      plan.selections.push(select);
+      if (option.selected !== select) plan.changed = true;
+    }
+    if (matched < (plan.element.multiple ? wanted.length : Math.min(wanted.length, 1))) return { missing: i, option: true };
+  } else if (plan.kind === 'text') {
+    plan.changed = (plan.element.value !== value);
+    plan.keys = entry[5] && (value !== '');
+  } else if (plan.kind === 'file') {
+    plan.changed = (value !== '') || (plan.element.value !== '');
+    plan.keys = (value !== '');
+  }
+  plans.push(plan);
+}
+
+// apply only the changes
+var results = [];
+for (var p = 0; p < plans.length; p++) {
+  var apply = plans[p];
+  if (apply.changed) {
+    if ((apply.kind === 'checkbox') || (apply.kind === 'radio')) {
+      apply.element.click();
+      if (apply.element.checked !== apply.state) {
+        apply.element.checked = apply.state;
+        fire(apply.element, 'input');
+        fire(apply.element, 'change');
+      }
+    } else if (apply.kind === 'select') {
+      for (var s = 0; s < apply.selections.length; s++) {
+        apply.element.options[s].selected = apply.selections[s];
+      }
+      fire(apply.element, 'input');
+      fire(apply.element, 'change');
+    } else if (apply.keys) {
+      // clear the field; keystrokes are sent by the caller
+      if (apply.kind === 'text') setValue(apply.element, '');
+    } else {
+      setValue(apply.element, apply.value);
+      fire(apply.element, 'input');
+      fire(apply.element, 'change');
+    }
+  }
+  results.push({ changed: apply.changed, keys: apply.changed && apply.keys, element: apply.element });
+}
+return { results: results };
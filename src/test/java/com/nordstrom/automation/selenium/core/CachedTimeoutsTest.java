@@ -0,0 +1,118 @@
+package com.nordstrom.automation.selenium.core;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.testng.annotations.Test;
+
+public class CachedTimeoutsTest {
+
+    private static final int LOOKUPS = 5;
+    private static final long IMPLIED = 3;
+    private static final By LOCATOR = By.id("target");
+    private static final String TIMEOUT = "timeout";
+    private static final String FIND = "find";
+
+    @Test
+    public void testDeferredImplicitWait() {
+        CountingExecutor counter = new CountingExecutor();
+        InstrumentedCommandExecutor executor = new InstrumentedCommandExecutor(counter, false);
+        RemoteWebDriver driver = new RemoteWebDriver(executor, new DesiredCapabilities());
+        executor.setDriver(driver);
+
+        performLookups(driver, counter);
+        // only the first lookup changes the implicit wait
+        assertEquals(counter.getCount(TIMEOUT), 1);
+        assertEquals(counter.getCount(FIND), LOOKUPS);
+
+        // searches outside of lookups restore the deferred interval first
+        driver.findElement(LOCATOR);
+        assertEquals(counter.getTail(2), Arrays.asList(TIMEOUT, FIND));
+        driver.findElement(LOCATOR);
+        assertEquals(counter.getCount(TIMEOUT), 2);
+    }
+
+    @Test
+    public void testImmediateImplicitWait() {
+        CountingExecutor counter = new CountingExecutor();
+        RemoteWebDriver driver = new RemoteWebDriver(counter, new DesiredCapabilities());
+
+        performLookups(driver, counter);
+        // each lookup disables and restores the implicit wait
+        assertEquals(counter.getCount(TIMEOUT), LOOKUPS * 2);
+        assertEquals(counter.getCount(FIND), LOOKUPS);
+    }
+
+    /**
+     * Perform element lookups the way robust elements acquire their references.
+     *
+     * @param driver driver object
+     * @param counter command counter of the driver
+     */
+    private static void performLookups(final RemoteWebDriver driver, final CountingExecutor counter) {
+        CachedTimeouts timeouts = CachedTimeouts.of(driver);
+        timeouts.implicitlyWait(IMPLIED, TimeUnit.SECONDS);
+        assertEquals(counter.reset(), 1, "Initial implicit wait should have been sent");
+        for (int i = 0; i < LOOKUPS; i++) {
+            timeouts.implicitlyWait(0, TimeUnit.SECONDS);
+            try {
+                driver.findElement(LOCATOR);
+            } finally {
+                timeouts.deferImplicitWait(IMPLIED, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * This command executor records the commands it receives and returns canned responses.
+     */
+    private static class CountingExecutor implements CommandExecutor {
+
+        private final List<String> commands = new ArrayList<>();
+
+        @Override
+        public Response execute(final Command command) {
+            Response response = new Response();
+            response.setSessionId("session");
+            response.setStatus(ErrorCodes.SUCCESS);
+            String name = command.getName();
+            if (DriverCommand.NEW_SESSION.equals(name)) {
+                response.setValue(new HashMap<String, Object>());
+            } else if (DriverCommand.FIND_ELEMENT.equals(name)) {
+                commands.add(FIND);
+                response.setValue(Collections.singletonMap("ELEMENT", "element"));
+            } else {
+                commands.add(TIMEOUT);
+            }
+            return response;
+        }
+
+        int reset() {
+            int count = getCount(TIMEOUT);
+            commands.clear();
+            return count;
+        }
+
+        int getCount(final String kind) {
+            return Collections.frequency(commands, kind);
+        }
+
+        List<String> getTail(final int count) {
+            return new ArrayList<>(commands.subList(commands.size() - count, commands.size()));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.nordstrom.automation.selenium.core;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+
+public class DriverPoolTest {
+
+    private String maxIdle;
+
+    @BeforeMethod
+    public void enablePooling() {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        maxIdle = config.getString(SeleniumSettings.POOL_MAX_IDLE.key());
+        config.setProperty(SeleniumSettings.POOL_MAX_IDLE.key(), "1");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void disablePooling() {
+        SeleniumConfig.getConfig().setProperty(SeleniumSettings.POOL_MAX_IDLE.key(), maxIdle);
+        DriverPool.drain();
+    }
+
+    @Test
+    public void testSessionIsReset() {
+        WebDriver driver = DriverPool.acquire();
+        driver.get("about:blank");
+        ((JavascriptExecutor) driver).executeScript("window.open('about:blank', 'extra');");
+        assertEquals(driver.getWindowHandles().size(), 2);
+        CachedTimeouts.of(driver).setScriptTimeout(7, TimeUnit.SECONDS);
+
+        long hits = DriverPool.getHitCount();
+        assertTrue(DriverPool.release(driver), "Pool should assume ownership of released driver");
+        WebDriver recycled = DriverPool.acquire();
+        try {
+            assertSame(recycled, driver, "Released session should have been recycled");
+            assertEquals(DriverPool.getHitCount(), hits + 1);
+            assertEquals(recycled.getWindowHandles().size(), 1, "Extra window should have been closed");
+            assertEquals(recycled.getCurrentUrl(), "about:blank");
+
+            // recorded timeouts were discarded by the reset
+            long issued = CachedTimeouts.getIssuedCount();
+            CachedTimeouts.of(recycled).setScriptTimeout(7, TimeUnit.SECONDS);
+            assertEquals(CachedTimeouts.getIssuedCount(), issued + 1);
+        } finally {
+            DriverPool.release(recycled);
+        }
+    }
+
+    @Test
+    public void testBrokenSessionIsEvicted() {
+        WebDriver driver = DriverPool.acquire();
+        assertTrue(DriverPool.release(driver), "Pool should assume ownership of released driver");
+        // end the idle session behind the pool's back
+        driver.quit();
+
+        long evictions = DriverPool.getEvictionCount();
+        long misses = DriverPool.getMissCount();
+        WebDriver replacement = DriverPool.acquire();
+        try {
+            assertNotSame(replacement, driver, "Broken session should not have been recycled");
+            assertEquals(DriverPool.getEvictionCount(), evictions + 1);
+            assertEquals(DriverPool.getMissCount(), misses + 1);
+            assertNotNull(replacement.getWindowHandle());
+        } finally {
+            DriverPool.release(replacement);
+        }
+    }
+
+    @Test
+    public void testUnpooledDriverIsNotRetained() {
+        SeleniumConfig.getConfig().setProperty(SeleniumSettings.POOL_MAX_IDLE.key(), "0");
+        WebDriver driver = DriverPool.acquire();
+        try {
+            assertFalse(DriverPool.release(driver), "Pool should not retain drivers when pooling is disabled");
+        } finally {
+            driver.quit();
+        }
+    }
+}
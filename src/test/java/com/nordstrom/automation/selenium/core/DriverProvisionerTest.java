@@ -0,0 +1,253 @@
+package com.nordstrom.automation.selenium.core;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.annotations.PageUrl;
+import com.nordstrom.automation.selenium.core.DriverProvisioner.SessionFactory;
+import com.nordstrom.automation.selenium.core.DriverProvisioner.UpcomingTest;
+import com.nordstrom.automation.selenium.interfaces.DriverProvider;
+import com.nordstrom.automation.selenium.model.Page;
+
+public class DriverProvisionerTest {
+
+    private static final long MAX_WAIT = 5000;
+
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private volatile CountDownLatch gate;
+    private String depth;
+    private String navigate;
+    private String hostTimeout;
+
+    @BeforeMethod
+    public void enableProvisioning() {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        depth = config.getString(SeleniumSettings.PROVISION_DEPTH.key());
+        navigate = config.getString(SeleniumSettings.PROVISION_NAVIGATE.key());
+        hostTimeout = config.getString(SeleniumSettings.HOST_TIMEOUT.key());
+        // discard tests expected by the suite
+        DriverProvisioner.drain();
+        config.setProperty(SeleniumSettings.PROVISION_DEPTH.key(), "2");
+        config.setProperty(SeleniumSettings.PROVISION_NAVIGATE.key(), "true");
+        sessionCount.set(0);
+        gate = null;
+        DriverProvisioner.setSessionFactory(new SessionFactory() {
+            @Override
+            public WebDriver newSession(final SeleniumConfig config, final Capabilities capabilities) {
+                sessionCount.incrementAndGet();
+                CountDownLatch latch = gate;
+                if (latch != null) {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return mock(WebDriver.class);
+            }
+        });
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void disableProvisioning() {
+        if (gate != null) {
+            gate.countDown();
+        }
+        DriverProvisioner.drain();
+        DriverProvisioner.setSessionFactory(null);
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        config.setProperty(SeleniumSettings.PROVISION_DEPTH.key(), depth);
+        config.setProperty(SeleniumSettings.PROVISION_NAVIGATE.key(), navigate);
+        config.setProperty(SeleniumSettings.HOST_TIMEOUT.key(), hostTimeout);
+    }
+
+    @Test
+    public void testClaimsSessionProvisionedForTest() throws NoSuchMethodException {
+        UpcomingTest alpha = upcoming(AlphaTests.class, "testAlpha");
+        UpcomingTest bravo = upcoming(BravoTests.class, "testBravo");
+        DriverProvisioner.expect(Arrays.asList(alpha, bravo));
+
+        WebDriver driver = DriverProvisioner.claim(getKey(), bravo);
+        assertNotNull(driver, "Session provisioned for test should have been claimed");
+        assertTrue(DriverProvisioner.isPreparedFor(driver, getInitialUrl(BravoTests.class)),
+                        "Claimed session should have been provisioned for the requesting test");
+
+        driver = DriverProvisioner.claim(getKey(), alpha);
+        assertNotNull(driver, "Session provisioned for test should have been claimed");
+        assertTrue(DriverProvisioner.isPreparedFor(driver, getInitialUrl(AlphaTests.class)),
+                        "Claimed session should have been provisioned for the requesting test");
+    }
+
+    @Test
+    public void testLeavesSessionForUpcomingTest() throws NoSuchMethodException, InterruptedException {
+        UpcomingTest alpha = upcoming(AlphaTests.class, "testAlpha");
+        UpcomingTest bravo = upcoming(BravoTests.class, "testBravo");
+        DriverProvisioner.expect(Collections.singletonList(alpha));
+
+        assertNull(DriverProvisioner.claim(getKey(), bravo),
+                        "Session provisioned for an upcoming test should have been left for that test");
+
+        // simulate acquisition of a pooled session by the test for which the session was provisioned
+        DriverProvisioner.advance(alpha);
+        WebDriver driver = awaitClaim(bravo);
+        assertNotNull(driver, "Session provisioned for a test that no longer needs it should have been claimed");
+        assertTrue(DriverProvisioner.isPreparedFor(driver, getInitialUrl(AlphaTests.class)));
+        assertNull(DriverProvisioner.claim(getKey(), alpha), "No provisioned sessions should remain");
+    }
+
+    @Test
+    public void testReplenishesUnrequestedTests() throws NoSuchMethodException {
+        UpcomingTest alpha = upcoming(AlphaTests.class, "testAlpha");
+        UpcomingTest bravo = upcoming(BravoTests.class, "testBravo");
+        UpcomingTest charlie = upcoming(CharlieTests.class, "testCharlie");
+        DriverProvisioner.expect(Arrays.asList(alpha, bravo, charlie));
+
+        // simulate acquisition of a pooled session, which leaves the request for 'alpha' in flight
+        DriverProvisioner.advance(alpha);
+        WebDriver driver = DriverProvisioner.claim(getKey(), charlie);
+        assertNotNull(driver, "Session should have been provisioned for the next unrequested test");
+        assertTrue(DriverProvisioner.isPreparedFor(driver, getInitialUrl(CharlieTests.class)));
+
+        driver = DriverProvisioner.claim(getKey(), bravo);
+        assertNotNull(driver, "Session provisioned for test should have been claimed");
+        assertTrue(DriverProvisioner.isPreparedFor(driver, getInitialUrl(BravoTests.class)));
+        assertEquals(sessionCount.get(), 3);
+    }
+
+    @Test
+    public void testClaimWaitIsBounded() throws NoSuchMethodException {
+        UpcomingTest alpha = upcoming(AlphaTests.class, "testAlpha");
+        SeleniumConfig.getConfig().setProperty(SeleniumSettings.HOST_TIMEOUT.key(), "2");
+        gate = new CountDownLatch(1);
+        DriverProvisioner.expect(Collections.singletonList(alpha));
+
+        long before = System.currentTimeMillis();
+        assertNull(DriverProvisioner.claim(getKey(), alpha), "Hung session request should not have been claimed");
+        long elapsed = System.currentTimeMillis() - before;
+        assertTrue(elapsed < MAX_WAIT, "Claim should have stopped waiting for hung session request");
+
+        gate.countDown();
+        assertNotNull(DriverProvisioner.claim(getKey(), alpha), "Completed session request should have been claimed");
+    }
+
+    @Test
+    public void testIgnoresDriverProviderInstances() throws NoSuchMethodException {
+        Method method = CommonTests.class.getMethod("testCommon");
+        UpcomingTest provided = new UpcomingTest(ProvidedTests.class, method);
+        DriverProvisioner.expect(Collections.singletonList(provided));
+        assertNull(DriverProvisioner.claim(getKey(), provided), "No session should be provisioned for driver providers");
+        assertEquals(sessionCount.get(), 0);
+
+        UpcomingTest common = new UpcomingTest(CommonTests.class, method);
+        DriverProvisioner.expect(Collections.singletonList(common));
+        assertNotNull(DriverProvisioner.claim(getKey(), common), "Session should be provisioned for inherited method");
+        assertEquals(sessionCount.get(), 1);
+    }
+
+    @Test
+    public void testClaimsAreNotPoolHits() throws Exception {
+        // provision a session for no particular test
+        SeleniumConfig.getConfig().setProperty(SeleniumSettings.PROVISION_DEPTH.key(), "1");
+        DriverProvisioner.advance(upcoming(AlphaTests.class, "testAlpha"));
+
+        long hits = DriverPool.getHitCount();
+        long misses = DriverPool.getMissCount();
+        long provisioned = DriverPool.getProvisionedCount();
+        Capabilities capabilities = SeleniumConfig.getConfig().getCurrentCapabilities();
+        WebDriver driver = DriverPool.acquire(new URL("http://localhost:4444/wd/hub"), capabilities);
+        assertNotNull(driver);
+        assertEquals(sessionCount.get(), 1);
+        assertEquals(DriverPool.getHitCount(), hits);
+        assertEquals(DriverPool.getMissCount(), misses);
+        assertEquals(DriverPool.getProvisionedCount(), provisioned + 1);
+        assertFalse(DriverPool.release(driver), "Pool should not retain drivers when pooling is disabled");
+    }
+
+    /**
+     * Claim a provisioned session for the specified test, waiting for one to become ready.
+     *
+     * @param test test for which the session is claimed
+     * @return provisioned driver; 'null' if none became ready
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static WebDriver awaitClaim(final UpcomingTest test) throws InterruptedException {
+        long maxTime = System.currentTimeMillis() + MAX_WAIT;
+        WebDriver driver;
+        while ((null == (driver = DriverProvisioner.claim(getKey(), test)))
+                        && (System.currentTimeMillis() < maxTime)) {
+            Thread.sleep(100);
+        }
+        return driver;
+    }
+
+    private static UpcomingTest upcoming(final Class<?> testClass, final String methodName)
+                    throws NoSuchMethodException {
+        return new UpcomingTest(testClass, testClass.getMethod(methodName));
+    }
+
+    private static Map<String, ?> getKey() {
+        return new HashMap<>(SeleniumConfig.getConfig().getCurrentCapabilities().asMap());
+    }
+
+    private static String getInitialUrl(final Class<?> testClass) {
+        InitialPage initialPage = testClass.getAnnotation(InitialPage.class);
+        return Page.getInitialUrl(initialPage, SeleniumConfig.getConfig().getTargetUri());
+    }
+
+    @InitialPage(pageUrl = @PageUrl("/alpha"))
+    public static class AlphaTests {
+        public void testAlpha() {
+            // declaration only
+        }
+    }
+
+    @InitialPage(pageUrl = @PageUrl("/bravo"))
+    public static class BravoTests {
+        public void testBravo() {
+            // declaration only
+        }
+    }
+
+    @InitialPage(pageUrl = @PageUrl("/charlie"))
+    public static class CharlieTests {
+        public void testCharlie() {
+            // declaration only
+        }
+    }
+
+    @InitialPage(pageUrl = @PageUrl("/common"))
+    public static class CommonTests {
+        public void testCommon() {
+            // declaration only
+        }
+    }
+
+    public static class ProvidedTests extends CommonTests implements DriverProvider {
+        @Override
+        public WebDriver provideDriver(final Method method) {
+            return mock(WebDriver.class);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.nordstrom.automation.selenium.core;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeoutException;
+
+import org.openqa.grid.common.GridRole;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.core.LocalSeleniumGrid.LocalGridServer;
+
+public class GridServerWatcherTest {
+
+    private static final int OUTPUT_SIZE = 1024 * 1024;
+    private static final long MAX_WAIT = 30000;
+
+    @Test
+    public void testOutputDrainedAfterReady() throws IOException, InterruptedException, TimeoutException {
+        String javaPath = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(javaPath, "-cp", System.getProperty("java.class.path"),
+                        ChattyServer.class.getName(), Integer.toString(OUTPUT_SIZE));
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+        try {
+            LocalGridServer server = new LocalGridServer("localhost", 4444, GridRole.NODE, process);
+            GridServerWatcher.waitUntilReady(server, null, MAX_WAIT);
+            assertTrue(server.getLaunchOutput().contains(server.getReadyMessage()));
+
+            // the server writes far more than a pipe buffer after its "ready" message
+            long maxTime = System.currentTimeMillis() + MAX_WAIT;
+            while (true) {
+                try {
+                    assertEquals(process.exitValue(), 0);
+                    break;
+                } catch (IllegalThreadStateException e) {
+                    if (System.currentTimeMillis() > maxTime) {
+                        fail("Server process stalled writing output after indicating readiness");
+                    }
+                    Thread.sleep(100);
+                }
+            }
+        } finally {
+            process.destroy();
+        }
+    }
+
+    /**
+     * This class simulates a Grid node that writes a large volume of output after indicating readiness.
+     */
+    public static class ChattyServer {
+
+        /**
+         * Write the node "ready" messages, followed by the specified volume of output.
+         *
+         * @param args output size in bytes
+         */
+        public static void main(final String[] args) {
+            System.out.println("Registering the node to the hub: http://localhost:4444/grid/register");
+            System.out.println("The node is registered to the hub and ready to use");
+            System.out.flush();
+
+            char[] line = new char[1023];
+            Arrays.fill(line, 'x');
+            String text = new String(line);
+            int count = Integer.parseInt(args[0]) / (line.length + 1);
+            for (int i = 0; i < count; i++) {
+                System.out.println(text);
+            }
+            System.out.flush();
+        }
+    }
+}
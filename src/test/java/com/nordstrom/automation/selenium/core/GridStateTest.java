@@ -0,0 +1,224 @@
+package com.nordstrom.automation.selenium.core;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.openqa.grid.common.GridRole;
+import org.openqa.selenium.net.PortProber;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.core.LocalSeleniumGrid.LocalGridServer;
+
+public class GridStateTest {
+
+    private static final String BROWSER_NAME = "htmlunit";
+    private static final String HUB_HASH = "hub-hash";
+    private static final String NODE_HASH = "node-hash";
+
+    private String logsFolder;
+    private Path hubConfigPath;
+
+    @BeforeMethod
+    public void useTempLogsFolder() throws IOException {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        logsFolder = config.getString(SeleniumSettings.GRID_LOGS_FOLDER.key());
+        Path logsPath = Files.createTempDirectory("gridState");
+        logsPath.toFile().deleteOnExit();
+        config.setProperty(SeleniumSettings.GRID_LOGS_FOLDER.key(), logsPath.toString());
+        hubConfigPath = Files.createTempFile("hubConfig", ".json");
+        hubConfigPath.toFile().deleteOnExit();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreLogsFolder() throws IOException {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        Files.deleteIfExists(GridState.getStatePath(config));
+        Files.deleteIfExists(GridState.getStatePath(config).getParent());
+        config.setProperty(SeleniumSettings.GRID_LOGS_FOLDER.key(), logsFolder);
+    }
+
+    @Test
+    public void testStateRoundTrip() throws IOException {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        URL hubUrl = newServerUrl();
+        URL nodeUrl = newServerUrl();
+        GridState state = GridState.create(config);
+        state.putHub(new LocalGridServer(hubUrl, GridRole.HUB), HUB_HASH);
+        state.putNode(BROWSER_NAME, new LocalGridServer(nodeUrl, GridRole.NODE), NODE_HASH);
+        state.save();
+
+        GridState loaded = GridState.load(config);
+        assertNotNull(loaded, "Saved state should have been loaded");
+        assertEquals(loaded.getHubUrl(), hubUrl);
+        assertEquals(loaded.getHubHash(), HUB_HASH);
+        assertEquals(loaded.getNodeNames(), Arrays.asList(BROWSER_NAME));
+        assertEquals(loaded.getNodeUrl(BROWSER_NAME), nodeUrl);
+        assertEquals(loaded.getNodeHash(BROWSER_NAME), NODE_HASH);
+        assertTrue(loaded.isHubAlive(), "Server without recorded process should be assumed alive");
+
+        loaded.delete();
+        assertNull(GridState.load(config), "Deleted state should not have been loaded");
+    }
+
+    @Test
+    public void testHashOf() {
+        String hash = GridState.hashOf("launcher", Arrays.asList("a.jar", "b.jar"), 4444);
+        assertEquals(hash.length(), 64, "Hash should be a SHA-256 hex digest");
+        assertEquals(GridState.hashOf("launcher", Arrays.asList("a.jar", "b.jar"), 4444), hash);
+        assertNotEquals(GridState.hashOf("launcher", Arrays.asList("a.jar", "c.jar"), 4444), hash);
+        assertNotEquals(GridState.hashOf("ab", "c"), GridState.hashOf("a", "bc"),
+                        "Adjacent values should not run together");
+    }
+
+    @Test
+    public void testProcessLiveness() throws IOException, InterruptedException {
+        Process process = launchProcess();
+        long pid = GridState.getPid(process);
+        try {
+            assertTrue(GridState.isProcessAlive(pid), "Running process should be alive");
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+        assertFalse(GridState.isProcessAlive(pid), "Terminated process should not be alive");
+    }
+
+    @Test
+    public void testReuseRejectsHashMismatch() throws IOException, InterruptedException {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        GridState state = GridState.create(config);
+        state.putHub(new LocalGridServer(newServerUrl(), GridRole.HUB), HUB_HASH);
+        state.save();
+
+        assertNull(LocalSeleniumGrid.reuse(config, hubConfigPath), "Mismatched Grid should not have been reused");
+        assertNull(GridState.load(config), "State of rejected Grid should have been deleted");
+    }
+
+    @Test
+    public void testHeartbeatDefersIdleShutdown() throws IOException, InterruptedException {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        String idleTimeout = config.getString(SeleniumSettings.GRID_IDLE_TIMEOUT.key());
+        config.setProperty(SeleniumSettings.GRID_IDLE_TIMEOUT.key(), "2");
+        try {
+            GridState state = GridState.create(config);
+            state.putHub(new LocalGridServer(newServerUrl(), GridRole.HUB), HUB_HASH);
+            state.save();
+            Thread reaper = startReaper(config);
+            
+            GridState.startHeartbeat(config);
+            try {
+                // run for more than twice the idle timeout
+                Thread.sleep(5000);
+                assertTrue(reaper.isAlive(), "Reaper should still be waiting for the Grid to go idle");
+                long lastUsed = Long.parseLong(loadState(config).getProperty(GridState.LAST_USED));
+                assertTrue(System.currentTimeMillis() - lastUsed < 2000, "Heartbeat should have marked Grid as used");
+            } finally {
+                GridState.stopHeartbeat();
+            }
+            
+            reaper.join(10000);
+            assertFalse(reaper.isAlive(), "Reaper should have shut down idle Grid");
+            assertNull(GridState.load(config), "State of idle Grid should have been deleted");
+        } finally {
+            config.setProperty(SeleniumSettings.GRID_IDLE_TIMEOUT.key(), idleTimeout);
+        }
+    }
+
+    @Test
+    public void testReuseRejectsDeadHub() throws IOException, InterruptedException {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        Process process = launchProcess();
+        process.destroy();
+        process.waitFor();
+
+        GridState state = GridState.create(config);
+        state.putHub(new LocalGridServer("localhost", PortProber.findFreePort(), GridRole.HUB, process),
+                        LocalSeleniumGrid.getHubHash(config, hubConfigPath));
+        state.save();
+
+        assertFalse(GridState.load(config).isHubAlive(), "Recorded hub process should have been found dead");
+        assertNull(LocalSeleniumGrid.reuse(config, hubConfigPath), "Grid with dead hub should not have been reused");
+        assertNull(GridState.load(config), "State of rejected Grid should have been deleted");
+    }
+
+    /**
+     * Get the URL of an unused local port.
+     *
+     * @return local server URL
+     * @throws IOException if the URL is malformed
+     */
+    private static URL newServerUrl() throws IOException {
+        return new URL("http://localhost:" + PortProber.findFreePort());
+    }
+
+    /**
+     * Run the Grid reaper in a background thread, watching the current Grid state file.
+     *
+     * @param config {@link SeleniumConfig} object
+     * @return reaper thread
+     * @throws IOException if the state file can't be loaded
+     */
+    private static Thread startReaper(final SeleniumConfig config) throws IOException {
+        final String[] args = { GridState.getStatePath(config).toString(),
+                        loadState(config).getProperty(GridState.LAUNCH_ID) };
+        Thread reaper = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    GridReaper.main(args);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "GridReaper");
+        reaper.setDaemon(true);
+        reaper.start();
+        return reaper;
+    }
+
+    /**
+     * Load the raw properties of the current Grid state file.
+     *
+     * @param config {@link SeleniumConfig} object
+     * @return Grid state properties
+     * @throws IOException if the state file can't be loaded
+     */
+    private static Properties loadState(final SeleniumConfig config) throws IOException {
+        try (InputStream in = Files.newInputStream(GridState.getStatePath(config))) {
+            Properties state = new Properties();
+            state.load(in);
+            return state;
+        }
+    }
+
+    /**
+     * Launch an idle process.
+     *
+     * @return idle process
+     * @throws IOException if the process can't be started
+     */
+    private static Process launchProcess() throws IOException {
+        String javaPath = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(javaPath, "-cp", System.getProperty("java.class.path"),
+                        LocalSeleniumGridTest.FakeNode.class.getName(), "silent");
+        builder.redirectErrorStream(true);
+        return builder.start();
+    }
+}
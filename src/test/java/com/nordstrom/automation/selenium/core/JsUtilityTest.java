@@ -1,12 +1,14 @@
 package com.nordstrom.automation.selenium.core;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.util.List;
 
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
@@ -22,6 +24,8 @@ import com.nordstrom.automation.selenium.support.TestNgBase;
 
 @InitialPage(ExamplePage.class)
 public class JsUtilityTest extends TestNgBase {
+    
+    private static final String JOIN_ARGUMENTS = "joinArguments.js";
 
     @NoDriver
     @Test(expectedExceptions = {AssertionError.class},
@@ -70,6 +74,44 @@ public class JsUtilityTest extends TestNgBase {
         assertTrue(hasFunction);
     }
     
+    @Test
+    public void testRunRegistered() {
+        WebDriver driver = getPage().getDriver();
+        assertEquals(JsUtility.runRegistered(driver, JOIN_ARGUMENTS, "a", "b"), "a|b");
+        String function = getRegisteredFunction(driver);
+        
+        // replace the registered function to prove that it's invoked by name
+        JsUtility.run(driver, "window.__sf[arguments[0]] = function() { return 'reused'; };", function);
+        assertEquals(JsUtility.runRegistered(driver, JOIN_ARGUMENTS, "a", "b"), "reused");
+    }
+    
+    @Test
+    public void testRunRegisteredNullResult() {
+        WebDriver driver = getPage().getDriver();
+        assertNull(JsUtility.runRegistered(driver, JOIN_ARGUMENTS));
+        String function = getRegisteredFunction(driver);
+        
+        // a 'null' result must not be mistaken for an absent function
+        JsUtility.run(driver, "window.__sf[arguments[0]] = function() { return null; };", function);
+        assertNull(JsUtility.runRegistered(driver, JOIN_ARGUMENTS, "a"));
+        assertEquals(getRegisteredFunction(driver), function);
+    }
+    
+    @Test
+    public void testRunRegisteredReinstalls() {
+        WebDriver driver = getPage().getDriver();
+        assertEquals(JsUtility.runRegistered(driver, JOIN_ARGUMENTS, "a"), "a");
+        
+        // discard registered functions, as navigation to a new document would
+        JsUtility.run(driver, "delete window.__sf;");
+        assertEquals(JsUtility.runRegistered(driver, JOIN_ARGUMENTS, "b"), "b");
+        getRegisteredFunction(driver);
+        
+        driver.navigate().refresh();
+        assertNull(JsUtility.runAndReturn(driver, "return window.__sf || null;"));
+        assertEquals(JsUtility.runRegistered(driver, JOIN_ARGUMENTS, "c"), "c");
+    }
+    
     @Test
     public void testPropagate() {
         ExamplePage page = getPage();
@@ -93,6 +135,23 @@ public class JsUtilityTest extends TestNgBase {
         }
     }
     
+    /**
+     * Get the name of the function that's registered in the current document for the test script.
+     * 
+     * @param driver driver object
+     * @return registered function name
+     */
+    private static String getRegisteredFunction(final WebDriver driver) {
+        List<String> names = JsUtility.runAndReturn(driver, "return Object.keys(window.__sf || {});");
+        for (String name : names) {
+            if (name.startsWith(JOIN_ARGUMENTS + "#")) {
+                return name;
+            }
+        }
+        fail("Test script isn't registered: " + names);
+        return null;
+    }
+    
     private ExamplePage getPage() {
         return (ExamplePage) getInitialPage();
     }
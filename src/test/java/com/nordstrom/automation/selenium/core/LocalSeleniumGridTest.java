@@ -0,0 +1,210 @@
+package com.nordstrom.automation.selenium.core;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.openqa.grid.common.GridRole;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.core.LocalSeleniumGrid.LocalGridServer;
+import com.nordstrom.automation.selenium.exceptions.GridServerLaunchFailedException;
+
+public class LocalSeleniumGridTest {
+
+    private static final long MAX_WAIT = 10000;
+    private static final String READY = "ready";
+    private static final String EXIT = "exit";
+    private static final String SILENT = "silent";
+    private static final String AGENT_CONTEXT = "net.bytebuddy.agent.Installer";
+
+    @Test
+    public void testNodeFailuresAreReported() throws IOException, InterruptedException {
+        List<String> browserNames = Arrays.asList(READY, EXIT, SILENT);
+        List<LocalGridServer> servers = new ArrayList<>();
+        List<Path> outputPaths = new ArrayList<>();
+        try {
+            for (String behavior : browserNames) {
+                servers.add(new LocalGridServer("localhost", 4444, GridRole.NODE, launchFakeNode(behavior)));
+                outputPaths.add(null);
+            }
+
+            Map<String, Throwable> nodeFailures = new LinkedHashMap<>();
+            List<LocalGridServer> readyServers = LocalSeleniumGrid.waitUntilReady(
+                            servers, outputPaths, browserNames, MAX_WAIT, nodeFailures);
+
+            assertEquals(readyServers, Arrays.asList(servers.get(0)), "Only the ready node should be reported ready");
+            assertEquals(new ArrayList<>(nodeFailures.keySet()), Arrays.asList(EXIT, SILENT));
+            assertTrue(nodeFailures.get(EXIT) instanceof IOException, "Terminated node should report I/O failure");
+            assertTrue(nodeFailures.get(SILENT) instanceof TimeoutException, "Silent node should report timeout");
+            // the node that timed out should have been shut down
+            awaitExit(servers.get(2).getProcess());
+        } finally {
+            for (LocalGridServer server : servers) {
+                server.getProcess().destroy();
+            }
+        }
+    }
+
+    @Test
+    public void testLaunchFailureCollectsAllNodes() {
+        Map<String, Throwable> nodeFailures = new LinkedHashMap<>();
+        IOException exited = new IOException("exited");
+        TimeoutException timedOut = new TimeoutException("timed out");
+        nodeFailures.put(EXIT, exited);
+        nodeFailures.put(SILENT, timedOut);
+
+        GridServerLaunchFailedException failure = LocalSeleniumGrid.getLaunchFailure(nodeFailures);
+        assertSame(failure.getCause(), exited);
+        assertEquals(failure.getSuppressed().length, 1);
+        assertSame(failure.getSuppressed()[0], timedOut);
+    }
+
+    @Test
+    public void testInProcessLaunch() throws IOException, InterruptedException {
+        Path configPath = newConfigPath();
+        LocalGridServer server = LocalSeleniumGrid.startInProcess(FakeLauncher.class.getName(),
+                        new String[] {FakeLauncher.class.getName()}, GridRole.HUB, -1, configPath, null);
+        assertNotNull(server);
+        assertTrue(server.isInProcess());
+        assertNull(server.getProcess());
+        assertTrue(server.shutdown(true));
+    }
+
+    @Test
+    public void testInProcessDeclinedWithoutLaunchMethod() throws IOException {
+        assertNull(LocalSeleniumGrid.startInProcess(FakeNode.class.getName(),
+                        new String[] {FakeNode.class.getName()}, GridRole.HUB, -1, newConfigPath(), null),
+                        "Launcher without 'launch' method should be declined");
+    }
+
+    @Test
+    public void testInProcessDeclinedForAgent() throws IOException {
+        assertNull(LocalSeleniumGrid.startInProcess(FakeLauncher.class.getName(),
+                        new String[] {FakeLauncher.class.getName(), AGENT_CONTEXT}, GridRole.HUB, -1,
+                        newConfigPath(), null), "Dependency on Java agent should be declined");
+    }
+
+    @Test
+    public void testFallbackToSeparateProcess() throws IOException {
+        LocalGridServer server = LocalSeleniumGrid.startServer(true, FakeNode.class.getName(),
+                        new String[] {FakeNode.class.getName()}, GridRole.HUB, -1, newConfigPath(), null, null);
+        try {
+            assertFalse(server.isInProcess());
+            assertNotNull(server.getProcess(), "Server should have been started in a separate process");
+        } finally {
+            server.getProcess().destroy();
+        }
+    }
+
+    /**
+     * Create an empty temporary server configuration file.
+     *
+     * @return path to server configuration file
+     * @throws IOException if the file can't be created
+     */
+    private static Path newConfigPath() throws IOException {
+        Path configPath = Files.createTempFile("gridConfig", ".json");
+        configPath.toFile().deleteOnExit();
+        return configPath;
+    }
+
+    /**
+     * Launch a process that simulates a Grid node with the specified behavior.
+     *
+     * @param behavior simulated behavior ({@link #READY}, {@link #EXIT}, or {@link #SILENT})
+     * @return simulated node process
+     * @throws IOException if the process can't be started
+     */
+    private static Process launchFakeNode(final String behavior) throws IOException {
+        String javaPath = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(javaPath, "-cp", System.getProperty("java.class.path"),
+                        FakeNode.class.getName(), behavior);
+        builder.redirectErrorStream(true);
+        return builder.start();
+    }
+
+    /**
+     * Wait for the specified process to exit.
+     *
+     * @param process process object
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void awaitExit(final Process process) throws InterruptedException {
+        long maxTime = System.currentTimeMillis() + MAX_WAIT;
+        while (true) {
+            try {
+                process.exitValue();
+                return;
+            } catch (IllegalThreadStateException e) {
+                if (System.currentTimeMillis() > maxTime) {
+                    fail("Failed node process wasn't shut down");
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    /**
+     * This class simulates a Grid node that either starts, exits, or never indicates readiness. Because it lacks a
+     * {@code launch} method, it also serves as a launcher that can't run in-process.
+     */
+    public static class FakeNode {
+
+        /**
+         * Simulate the specified Grid node behavior.
+         *
+         * @param args simulated behavior
+         * @throws InterruptedException if interrupted while idling
+         */
+        public static void main(final String[] args) throws InterruptedException {
+            if (EXIT.equals(args[0])) {
+                System.exit(1);
+            }
+            if (READY.equals(args[0])) {
+                System.out.println("Registering the node to the hub: http://localhost:4444/grid/register");
+                System.out.println("The node is registered to the hub and ready to use");
+                System.out.flush();
+            }
+            Thread.sleep(MAX_WAIT * 3);
+        }
+    }
+
+    /**
+     * This class simulates a Grid launcher that can run in-process.
+     */
+    public static class FakeLauncher {
+
+        /**
+         * Simulate the launch of a Grid server.
+         *
+         * @param args server arguments
+         * @return simulated server object
+         */
+        public Object launch(final String[] args) {
+            return new FakeLauncher();
+        }
+
+        /**
+         * Simulate stopping a Grid server.
+         */
+        public void stop() {
+            // nothing to stop
+        }
+    }
+}
@@ -2,18 +2,31 @@ package com.nordstrom.automation.selenium.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.openqa.selenium.By;
 import org.testng.SkipException;
 
 import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.core.CommandMetrics.CommandStats;
 import com.nordstrom.automation.selenium.exceptions.ShadowRootContextException;
+import com.nordstrom.automation.selenium.model.ComponentList;
+import com.nordstrom.automation.selenium.model.ComponentMap;
+import com.nordstrom.automation.selenium.model.ElementSnapshot;
 import com.nordstrom.automation.selenium.model.ExamplePage;
 import com.nordstrom.automation.selenium.model.FrameComponent;
+import com.nordstrom.automation.selenium.model.HtmlTable;
+import com.nordstrom.automation.selenium.model.PagedComponentList;
 import com.nordstrom.automation.selenium.model.ShadowRootComponent;
+import com.nordstrom.automation.selenium.model.TableContent;
 import com.nordstrom.automation.selenium.model.TableComponent;
+import com.nordstrom.automation.selenium.model.TableRowComponent;
 
 @InitialPage(ExamplePage.class)
 public class ModelTestCore {
@@ -62,6 +75,115 @@ public class ModelTestCore {
         assertArrayEquals(content.get(2).toArray(), CONTENT[2]);
     }
     
+    public static void testHtmlTable(TestBase instance) {
+        ExamplePage page = getPage(instance);
+        HtmlTable table = page.getHtmlTable();
+        TableContent content = table.getContent();
+        assertArrayEquals(content.getHeadings().toArray(), HEADINGS);
+        assertEquals(content.getRowCount(), 3);
+        assertArrayEquals(content.getRow(0).getTexts().toArray(), CONTENT[0]);
+        assertArrayEquals(content.getRow(1).getTexts().toArray(), CONTENT[1]);
+        assertArrayEquals(content.getRow(2).getTexts().toArray(), CONTENT[2]);
+        assertEquals(content.getRow(1).getText("Age"), CONTENT[1][2]);
+        assertEquals(content.getRow(1).getAttribute("id"), TABLE_ID + "-r2");
+        assertEquals(content.getRow(1).getCell(0).getAttribute("id"), TABLE_ID + "-r2-c1");
+        
+        TableRowComponent row = table.getRow(1, TableRowComponent.class);
+        assertEquals(row.getWrappedElement().getAttribute("id"), TABLE_ID + "-r2");
+        assertArrayEquals(row.getContent().toArray(), CONTENT[1]);
+    }
+    
+    public static void testCommandMetrics(TestBase instance) {
+        ExamplePage page = getPage(instance);
+        CommandMetrics metrics = CommandMetrics.current();
+        assertNotNull(metrics);
+        long prior = metrics.getCommandCount();
+        assertArrayEquals(page.getParagraphs().toArray(), PARAS);
+        assertTrue(metrics.getCommandCount() > prior);
+        
+        boolean attributed = false;
+        for (CommandStats stats : metrics.getStats()) {
+            if ("ExamplePage".equals(stats.getPageClass()) && "getParagraphs".equals(stats.getPageMethod())) {
+                assertEquals(stats.getTest(), metrics.getTestName());
+                assertTrue(stats.getResponseBytes() > 0);
+                attributed = true;
+            }
+        }
+        assertTrue(attributed);
+        assertTrue(metrics.toJson().contains("\"pageMethod\":\"getParagraphs\""));
+        assertTrue(metrics.toPrometheus().contains("page_method=\"getParagraphs\""));
+    }
+    
+    public static void testTimeline(TestBase instance) {
+        ExamplePage page = getPage(instance);
+        TimelineRecorder prior = TimelineRecorder.endTest();
+        try {
+            TimelineRecorder recorder = TimelineRecorder.beginTest("timeline", 256);
+            page.getParagraphs();
+            String trace = recorder.toTraceJson();
+            assertTrue(trace.contains("\"name\":\"ExamplePage.getParagraphs\",\"cat\":\"page\""));
+            assertTrue(trace.contains("\"cat\":\"command\""));
+            assertTrue(trace.contains("\"depth\":1"));
+            assertEquals(0, recorder.getDroppedCount());
+            
+            recorder = TimelineRecorder.beginTest("ring", 2);
+            page.getParagraphs();
+            page.getParagraphs();
+            assertEquals(recorder.getSpanCount() - 2, recorder.getDroppedCount());
+            assertTrue(recorder.getDroppedCount() > 0);
+            assertEquals(2, recorder.toTraceJson().split("\"ph\":\"X\"", -1).length - 1);
+        } finally {
+            TimelineRecorder.endTest();
+            if (prior != null) {
+                TimelineRecorder.beginTest(prior.getTestName());
+            }
+        }
+    }
+    
+    public static void testSnapshot(TestBase instance) {
+        ExamplePage page = getPage(instance);
+        ElementSnapshot table = page.getTable().snapshot();
+        assertEquals(table.getTagName(), "table");
+        assertEquals(table.getAttribute("id"), TABLE_ID);
+        assertTrue(table.isDisplayed());
+        verifySnapshot(table);
+        
+        List<ElementSnapshot> snapshots = ((ComponentList<TableComponent>) page.getTableList()).snapshot();
+        assertEquals(snapshots.size(), 1);
+        verifySnapshot(snapshots.get(0));
+        
+        Map<Object, ElementSnapshot> snapshotMap = ((ComponentMap<TableComponent>) page.getTableMap()).snapshot();
+        verifySnapshot(snapshotMap.get(TABLE_ID));
+    }
+    
+    /**
+     * Verify the contents of the specified table snapshot
+     * 
+     * @param table table snapshot to be verified
+     */
+    private static void verifySnapshot(ElementSnapshot table) {
+        List<ElementSnapshot> rows = table.getChildren().get(0).getChildren();
+        assertEquals(rows.size(), 4);
+        assertArrayEquals(getCellText(rows.get(0)), HEADINGS);
+        assertArrayEquals(getCellText(rows.get(1)), CONTENT[0]);
+        assertArrayEquals(getCellText(rows.get(2)), CONTENT[1]);
+        assertArrayEquals(getCellText(rows.get(3)), CONTENT[2]);
+    }
+    
+    /**
+     * Get the text of the cells in the specified table row snapshot
+     * 
+     * @param row table row snapshot
+     * @return array of cell text
+     */
+    private static String[] getCellText(ElementSnapshot row) {
+        String[] text = new String[row.getChildren().size()];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = row.getChildren().get(i).getText();
+        }
+        return text;
+    }
+    
     public static void testFrameByLocator(TestBase instance) {
         ExamplePage page = getPage(instance);
         FrameComponent component = page.getFrameByLocator();
@@ -92,6 +214,38 @@ public class ModelTestCore {
         verifyTable(componentList.get(0));
     }
     
+    public static void testPagedComponentList(TestBase instance) {
+        ExamplePage page = getPage(instance);
+        PagedComponentList<TableRowComponent> rowList =
+                page.getTable().newPagedComponentList(TableRowComponent.class, By.cssSelector("tr[id*='-r']"), 2);
+        assertEquals(rowList.getLoadedCount(), 0);
+        assertArrayEquals(rowList.get(0).getContent().toArray(), CONTENT[0]);
+        assertEquals(rowList.getLoadedCount(), 2);
+        
+        int index = 0;
+        for (TableRowComponent row : rowList) {
+            assertArrayEquals(row.getContent().toArray(), CONTENT[index++]);
+        }
+        assertEquals(index, 3);
+        assertEquals(rowList.getLoadedCount(), 3);
+        assertEquals(rowList.size(), 3);
+    }
+    
+    public static void testUpdateValues(TestBase instance) {
+        ExamplePage page = getPage(instance);
+        assertEquals(page.setFormValues("bulk", true), 2);
+        assertEquals(page.getInputValue(), "bulk");
+        assertTrue(page.isBoxChecked());
+        assertEquals(page.setFormValues("bulk", true), 0);
+        
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("input-field", null);
+        fields.put("checkbox", false);
+        assertEquals(page.setFormFields(fields), fields.keySet());
+        assertEquals(page.getInputValue(), "");
+        assertFalse(page.isBoxChecked());
+    }
+    
     public static void testComponentMap(TestBase instance) {
         ExamplePage page = getPage(instance);
         Map<Object, TableComponent> componentMap = page.getTableMap();
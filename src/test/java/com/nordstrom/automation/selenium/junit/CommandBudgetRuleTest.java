@@ -0,0 +1,70 @@
+package com.nordstrom.automation.selenium.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import com.nordstrom.automation.selenium.annotations.CommandBudget;
+import com.nordstrom.automation.selenium.core.CommandBudgetVerifier;
+import com.nordstrom.automation.selenium.core.CommandMetrics;
+import com.nordstrom.automation.selenium.exceptions.CommandBudgetExceededException;
+
+public class CommandBudgetRuleTest {
+
+    @Test(expected = CommandBudgetExceededException.class)
+    public void testRuleFailsOverBudget() throws Throwable {
+        evaluate("instantaneous");
+    }
+
+    @Test
+    public void testRuleReportsOnlyOverrun() throws Throwable {
+        Method method = evaluate("reportOnly");
+        CommandMetrics metrics = CommandMetrics.lastEnded();
+        assertNotNull(metrics);
+        assertEquals("reportOnly", metrics.getTestName());
+        String overrun = CommandBudgetVerifier.verify(method.getAnnotation(CommandBudget.class), metrics);
+        assertTrue(overrun.contains("ms (limit 1ms)"));
+    }
+
+    /**
+     * Evaluate a simulated test through the command budget rule.
+     *
+     * @param methodName name of the method that declares the budget of the simulated test
+     * @return method that declares the budget
+     * @throws Throwable if the rule rejects the simulated test
+     */
+    private static Method evaluate(final String methodName) throws Throwable {
+        Method method = Budgets.class.getDeclaredMethod(methodName);
+        Description description =
+                        Description.createTestDescription(Budgets.class, methodName, method.getAnnotations());
+        Statement statement = new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                CommandMetrics.beginTest(methodName);
+                Thread.sleep(10);
+                CommandMetrics.endTest();
+            }
+        };
+        new CommandBudgetRule().apply(statement, description).evaluate();
+        return method;
+    }
+
+    static class Budgets {
+
+        @CommandBudget(maxMillis = 1)
+        void instantaneous() {
+            // budget declaration only
+        }
+
+        @CommandBudget(maxCommands = 1, maxMillis = 1, reportOnly = true)
+        void reportOnly() {
+            // budget declaration only
+        }
+    }
+}
@@ -27,6 +27,30 @@ public class JUnitModelTest extends JUnitBase {
         ModelTestCore.testTable(this);
     }
 
+    @Test
+    @Ignore
+    public void testHtmlTable() {
+        ModelTestCore.testHtmlTable(this);
+    }
+
+    @Test
+    @Ignore
+    public void testCommandMetrics() {
+        ModelTestCore.testCommandMetrics(this);
+    }
+
+    @Test
+    @Ignore
+    public void testTimeline() {
+        ModelTestCore.testTimeline(this);
+    }
+
+    @Test
+    @Ignore
+    public void testSnapshot() {
+        ModelTestCore.testSnapshot(this);
+    }
+
     @Test
     @Ignore
     public void testFrameByLocator() {
@@ -57,6 +81,18 @@ public class JUnitModelTest extends JUnitBase {
         ModelTestCore.testComponentList(this);
     }
     
+    @Test
+    @Ignore
+    public void testPagedComponentList() {
+        ModelTestCore.testPagedComponentList(this);
+    }
+    
+    @Test
+    @Ignore
+    public void testUpdateValues() {
+        ModelTestCore.testUpdateValues(this);
+    }
+    
     @Test
     @Ignore
     public void testComponentMap() {
@@ -0,0 +1,144 @@
+package com.nordstrom.automation.selenium.listeners;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.IInvokedMethod;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+
+import com.nordstrom.automation.selenium.annotations.CommandBudget;
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.annotations.NoDriver;
+import com.nordstrom.automation.selenium.core.CommandBudgetVerifier;
+import com.nordstrom.automation.selenium.core.CommandMetrics;
+import com.nordstrom.automation.selenium.exceptions.CommandBudgetExceededException;
+import com.nordstrom.automation.selenium.model.ExamplePage;
+import com.nordstrom.automation.selenium.support.TestNgBase;
+
+@InitialPage(ExamplePage.class)
+public class CommandBudgetTest extends TestNgBase {
+    
+    @Test
+    @CommandBudget(maxCommands = 1000, maxMillis = 60000)
+    public void testWithinBudget() throws NoSuchMethodException {
+        ((ExamplePage) getInitialPage()).getParagraphs();
+        CommandBudget budget = CommandBudgetVerifier.getBudget(getClass().getMethod("testWithinBudget"));
+        assertNull(CommandBudgetVerifier.verify(budget, CommandMetrics.current()));
+    }
+    
+    @Test(expectedExceptions = {CommandBudgetExceededException.class},
+            expectedExceptionsMessageRegExp = ".*exceeded its command budget: \\d+ commands \\(limit 1\\)")
+    public void testBudgetExceeded() throws NoSuchMethodException {
+        ((ExamplePage) getInitialPage()).getParagraphs();
+        CommandBudget budget = CommandBudgetVerifier.getBudget(Budgets.class.getDeclaredMethod("singleCommand"));
+        CommandBudgetVerifier.verify(budget, CommandMetrics.current());
+    }
+    
+    @Test
+    public void testReportOnly() throws NoSuchMethodException, InterruptedException {
+        ((ExamplePage) getInitialPage()).getParagraphs();
+        Thread.sleep(10);
+        CommandBudget budget = CommandBudgetVerifier.getBudget(Budgets.class.getDeclaredMethod("reportOnly"));
+        String overrun = CommandBudgetVerifier.verify(budget, CommandMetrics.current());
+        assertNotNull(overrun);
+        assertTrue(overrun.contains("commands (limit 1)"));
+        assertTrue(overrun.contains("ms (limit 1ms)"));
+    }
+    
+    @NoDriver
+    @Test
+    public void testListenerFailsOverBudget() throws NoSuchMethodException, InterruptedException {
+        ITestResult testResult = invokeListener(Budgets.class.getDeclaredMethod("instantaneous"));
+        verify(testResult).setStatus(ITestResult.FAILURE);
+        verify(testResult).setThrowable(any(CommandBudgetExceededException.class));
+    }
+    
+    @NoDriver
+    @Test
+    public void testListenerRecordsReportOnlyOverrun() throws NoSuchMethodException, InterruptedException {
+        ITestResult testResult = invokeListener(Budgets.class.getDeclaredMethod("reportOnly"));
+        verify(testResult).setAttribute(eq(CommandBudgetListener.BUDGET_OVERRUN), contains("ms (limit 1ms)"));
+        verify(testResult, never()).setStatus(anyInt());
+    }
+    
+    /**
+     * Invoke the command budget listener for a passing test with the specified budget declaration.
+     * 
+     * @param method method that declares the budget of the simulated test
+     * @return mock test result, with the simulated test's metrics attached
+     * @throws InterruptedException if interrupted while simulating the test
+     */
+    private static ITestResult invokeListener(final Method method) throws InterruptedException {
+        ITestNGMethod testMethod = mock(ITestNGMethod.class);
+        when(testMethod.getConstructorOrMethod()).thenReturn(new ConstructorOrMethod(method));
+        IInvokedMethod invokedMethod = mock(IInvokedMethod.class);
+        when(invokedMethod.isTestMethod()).thenReturn(true);
+        when(invokedMethod.getTestMethod()).thenReturn(testMethod);
+        ITestResult testResult = mock(ITestResult.class);
+        when(testResult.getStatus()).thenReturn(ITestResult.SUCCESS);
+        when(testResult.getAttribute(DriverListener.COMMAND_METRICS)).thenReturn(simulateTest(method.getName()));
+        
+        new CommandBudgetListener().afterInvocation(invokedMethod, testResult);
+        return testResult;
+    }
+    
+    /**
+     * Record the metrics of a simulated test on a separate thread, leaving those of the current test untouched.
+     * 
+     * @param testName name of simulated test
+     * @return metrics of the simulated test
+     * @throws InterruptedException if interrupted while waiting for the simulated test
+     */
+    private static CommandMetrics simulateTest(final String testName) throws InterruptedException {
+        final AtomicReference<CommandMetrics> ended = new AtomicReference<>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                CommandMetrics.beginTest(testName);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                CommandMetrics.endTest();
+                ended.set(CommandMetrics.lastEnded());
+            }
+        });
+        thread.start();
+        thread.join();
+        return ended.get();
+    }
+    
+    static class Budgets {
+        
+        @CommandBudget(maxCommands = 1)
+        void singleCommand() {
+            // budget declaration only
+        }
+        
+        @CommandBudget(maxMillis = 1)
+        void instantaneous() {
+            // budget declaration only
+        }
+        
+        @CommandBudget(maxCommands = 1, maxMillis = 1, reportOnly = true)
+        void reportOnly() {
+            // budget declaration only
+        }
+    }
+}
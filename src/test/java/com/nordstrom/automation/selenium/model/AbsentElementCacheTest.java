@@ -0,0 +1,78 @@
+package com.nordstrom.automation.selenium.model;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.net.URI;
+
+import org.openqa.selenium.By;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.core.JsUtility;
+import com.nordstrom.automation.selenium.support.TestNgBase;
+
+@InitialPage(ExamplePage.class)
+public class AbsentElementCacheTest extends TestNgBase {
+
+    private static final String TIME_TO_LIVE = "60000";
+    private static final By LATE = By.id("late");
+    private static final By HEADING = By.tagName("h1");
+    private static final By CHECKED = By.cssSelector("input#checkbox:checked");
+
+    private String timeToLive;
+
+    @BeforeMethod
+    public void enableCache() {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        timeToLive = config.getString(SeleniumSettings.OPTIONAL_CACHE_TTL.key());
+        config.setProperty(SeleniumSettings.OPTIONAL_CACHE_TTL.key(), TIME_TO_LIVE);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreCache() {
+        SeleniumConfig.getConfig().setProperty(SeleniumSettings.OPTIONAL_CACHE_TTL.key(), timeToLive);
+    }
+
+    @Test
+    public void testAbsenceIsCached() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        RobustWebElement element = page.findOptional(LATE);
+        assertFalse(element.hasReference());
+        By locator = ((RobustElementFactory.InterceptionAccessor) element).getInterceptor().getLocator();
+        assertTrue(page.getAbsentElements().isAbsent(locator, getDriver()), "Absence should have been recorded");
+        assertFalse(page.findOptional(LATE).hasReference());
+    }
+
+    @Test
+    public void testScriptDrivenInvalidation() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        assertFalse(page.findOptional(LATE).hasReference());
+
+        JsUtility.run(getDriver(), "var p = document.createElement('p'); p.id = 'late'; document.body.appendChild(p);");
+        assertTrue(page.findOptional(LATE).hasReference(), "Element added by script should have been found");
+    }
+
+    @Test
+    public void testNavigationInvalidation() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        assertFalse(page.findOptional(HEADING).hasReference());
+
+        getDriver().get(URI.create(getDriver().getCurrentUrl()).resolve("frame_a.html").toString());
+        assertTrue(page.findOptional(HEADING).hasReference(), "Element in new document should have been found");
+    }
+
+    @Test
+    public void testFormUpdateInvalidation() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        assertFalse(page.findOptional(CHECKED).hasReference());
+
+        // checking the box changes a property, which doesn't advance the DOM mutation epoch
+        page.setFormValues("value", true);
+        assertTrue(page.findOptional(CHECKED).hasReference(), "Checked box should have been found");
+    }
+}
@@ -0,0 +1,71 @@
+package com.nordstrom.automation.selenium.model;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.core.DriverPool;
+import com.nordstrom.automation.selenium.support.TestNgBase;
+
+@InitialPage(ExamplePage.class)
+public class BrowsingContextTest extends TestNgBase {
+
+    private static final String FRAME_A = "Frame A";
+
+    @Test
+    public void testDirectSwitchIsDetected() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        List<String> paraList = page.getParagraphs();
+        assertTrue(BrowsingContext.isTracked(getDriver()));
+
+        // move focus behind the model's back
+        getDriver().switchTo().frame(ExamplePage.FRAME_A_ID);
+        assertFalse(BrowsingContext.isTracked(getDriver()), "Direct frame switch should discard context model");
+        assertEquals(page.getParagraphs(), paraList, "Focus should have been restored to the page");
+    }
+
+    @Test
+    public void testNavigationDiscardsContext() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        assertEquals(page.getFrameByLocator().getPageContent(), FRAME_A);
+        assertTrue(BrowsingContext.isTracked(getDriver()));
+
+        getDriver().get(getDriver().getCurrentUrl());
+        assertFalse(BrowsingContext.isTracked(getDriver()), "Navigation should discard context model");
+
+        page = (ExamplePage) prepInitialPage(Page.openInitialPage(getClass().getAnnotation(InitialPage.class),
+                        getDriver(), SeleniumConfig.getConfig().getTargetUri()));
+        assertEquals(page.getFrameByLocator().getPageContent(), FRAME_A);
+        assertTrue(BrowsingContext.isTracked(getDriver()));
+    }
+
+    @Test
+    public void testPoolResetDiscardsContext() {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        String maxIdle = config.getString(SeleniumSettings.POOL_MAX_IDLE.key());
+        config.setProperty(SeleniumSettings.POOL_MAX_IDLE.key(), "1");
+        try {
+            WebDriver driver = DriverPool.acquire();
+            ExamplePage page = Page.openInitialPage(getClass().getAnnotation(InitialPage.class), driver,
+                            config.getTargetUri());
+            page.setWindowHandle(driver.getWindowHandle());
+            page = (ExamplePage) page.enhanceContainer(page);
+            assertEquals(page.getFrameByLocator().getPageContent(), FRAME_A);
+            assertTrue(BrowsingContext.isTracked(driver));
+
+            assertTrue(DriverPool.release(driver), "Pool should assume ownership of released driver");
+            assertFalse(BrowsingContext.isTracked(driver), "Session reset should discard context model");
+        } finally {
+            config.setProperty(SeleniumSettings.POOL_MAX_IDLE.key(), maxIdle);
+            DriverPool.drain();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.nordstrom.automation.selenium.model;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.annotations.KeyScript;
+import com.nordstrom.automation.selenium.core.JsUtility;
+import com.nordstrom.automation.selenium.support.TestNgBase;
+
+@InitialPage(ExamplePage.class)
+public class ContainerMapTest extends TestNgBase {
+
+    private static final String TABLE_ID = "t1";
+    private static final By TABLE = By.cssSelector("table#" + TABLE_ID);
+    private static final By FRAME = By.cssSelector("iframe[id^='frame-']");
+
+    @Test
+    public void testKeysWithEvalBlocked() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        // emulate a Content Security Policy that disallows 'unsafe-eval'
+        JsUtility.run(getDriver(), "window.Function = function() { throw new EvalError('unsafe-eval'); };");
+        WebElement table = getDriver().findElement(TABLE);
+        try {
+            JsUtility.runRegistered(getDriver(), "extractKeys.js", Collections.singletonList(table), "element.id");
+            fail("Batch key script should have been blocked");
+        } catch (WebDriverException e) { //NOSONAR
+            // expected
+        }
+
+        Map<Object, ScriptKeyedTable> tableMap = page.newComponentMap(ScriptKeyedTable.class, TABLE);
+        assertEquals(tableMap.keySet(), Collections.singleton(TABLE_ID));
+
+        Map<Object, ScriptKeyedFrame> frameMap = page.newFrameMap(ScriptKeyedFrame.class, FRAME);
+        assertEquals(frameMap.size(), 4);
+        assertTrue(frameMap.containsKey("Frame A"));
+    }
+
+    @Test
+    public void testFailedKeyScriptWithGetKey() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        Map<Object, FallbackKeyedTable> tableMap = page.newComponentMap(FallbackKeyedTable.class, TABLE);
+        assertEquals(tableMap.keySet(), Collections.singleton(TABLE_ID));
+    }
+
+    @Test
+    public void testFailedKeyScriptWithoutGetKey() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        try {
+            page.newComponentMap(BrokenKeyedTable.class, TABLE);
+            fail("Map creation should have failed");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains(BrokenKeyedTable.class.getSimpleName()), e.getMessage());
+        }
+    }
+
+    @KeyScript("element.id")
+    public static class ScriptKeyedTable extends PageComponent {
+        public ScriptKeyedTable(final RobustWebElement element, final ComponentContainer parent) {
+            super(element, parent);
+        }
+    }
+
+    @KeyScript("element.contentDocument.querySelector('h1').textContent")
+    public static class ScriptKeyedFrame extends Frame {
+        public ScriptKeyedFrame(final RobustWebElement element, final ComponentContainer parent) {
+            super(element, parent);
+        }
+    }
+
+    @KeyScript("element.missing.id")
+    public static class FallbackKeyedTable extends PageComponent {
+        public FallbackKeyedTable(final RobustWebElement element, final ComponentContainer parent) {
+            super(element, parent);
+        }
+
+        public static Object getKey(final SearchContext context) {
+            return ((WebElement) context).getAttribute("id");
+        }
+    }
+
+    @KeyScript("element.missing.id")
+    public static class BrokenKeyedTable extends PageComponent {
+        public BrokenKeyedTable(final RobustWebElement element, final ComponentContainer parent) {
+            super(element, parent);
+        }
+    }
+}
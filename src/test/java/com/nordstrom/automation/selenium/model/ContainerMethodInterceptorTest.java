@@ -0,0 +1,146 @@
+package com.nordstrom.automation.selenium.model;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.annotations.Navigates;
+import com.nordstrom.automation.selenium.annotations.OpensWindow;
+import com.nordstrom.automation.selenium.interfaces.DetectsLoadCompletion;
+import com.nordstrom.automation.selenium.model.ContainerMethodInterceptor.MethodTraits;
+
+public class ContainerMethodInterceptorTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    @Test
+    public void testTraitsDerivedOnce() throws Exception {
+        final Method method = TraitsPage.class.getMethod("concurrent");
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<MethodTraits>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                futures.add(executor.submit(new Callable<MethodTraits>() {
+                    @Override
+                    public MethodTraits call() throws InterruptedException {
+                        start.await();
+                        return ContainerMethodInterceptor.getTraits(method);
+                    }
+                }));
+            }
+            start.countDown();
+
+            MethodTraits traits = futures.get(0).get();
+            for (Future<MethodTraits> future : futures) {
+                assertSame(future.get(), traits, "All threads should get the same traits object");
+            }
+            assertSame(ContainerMethodInterceptor.getTraits(TraitsPage.class.getMethod("concurrent")), traits);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPageTraits() throws NoSuchMethodException {
+        MethodTraits traits = ContainerMethodInterceptor.getTraits(TraitsPage.class.getMethod("openPage"));
+        assertTrue(traits.returnsContainer);
+        assertTrue(traits.returnsPage);
+        assertFalse(traits.detectsCompletion);
+        assertTrue(traits.capturesHandles);
+        assertTrue(traits.capturesReference);
+
+        traits = ContainerMethodInterceptor.getTraits(TraitsPage.class.getMethod("navigate"));
+        assertTrue(traits.returnsPage);
+        assertFalse(traits.capturesHandles);
+        assertTrue(traits.capturesReference);
+
+        traits = ContainerMethodInterceptor.getTraits(TraitsPage.class.getMethod("openWindow"));
+        assertTrue(traits.returnsPage);
+        assertTrue(traits.capturesHandles);
+        assertFalse(traits.capturesReference);
+
+        traits = ContainerMethodInterceptor.getTraits(TraitsPage.class.getMethod("openLoadingPage"));
+        assertTrue(traits.returnsPage);
+        assertTrue(traits.detectsCompletion);
+        assertTrue(traits.capturesHandles);
+        assertFalse(traits.capturesReference);
+    }
+
+    @Test
+    public void testNonPageTraits() throws NoSuchMethodException {
+        MethodTraits traits = ContainerMethodInterceptor.getTraits(TraitsPage.class.getMethod("getFrame"));
+        assertTrue(traits.returnsContainer);
+        assertFalse(traits.returnsPage);
+        assertFalse(traits.capturesHandles);
+        assertFalse(traits.capturesReference);
+
+        traits = ContainerMethodInterceptor.getTraits(TraitsPage.class.getMethod("getText"));
+        assertFalse(traits.returnsContainer);
+        assertFalse(traits.returnsPage);
+        assertFalse(traits.detectsCompletion);
+        assertFalse(traits.capturesHandles);
+        assertFalse(traits.capturesReference);
+    }
+
+    public static class TraitsPage extends Page {
+
+        public TraitsPage(final WebDriver driver) {
+            super(driver);
+        }
+
+        public TraitsPage concurrent() {
+            return this;
+        }
+
+        public TraitsPage openPage() {
+            return this;
+        }
+
+        @Navigates
+        public TraitsPage navigate() {
+            return this;
+        }
+
+        @OpensWindow
+        public TraitsPage openWindow() {
+            return this;
+        }
+
+        public LoadingPage openLoadingPage() {
+            return null;
+        }
+
+        public Frame getFrame() {
+            return null;
+        }
+
+        public String getText() {
+            return null;
+        }
+    }
+
+    public static class LoadingPage extends Page implements DetectsLoadCompletion {
+
+        public LoadingPage(final WebDriver driver) {
+            super(driver);
+        }
+
+        @Override
+        public boolean isLoadComplete() {
+            return true;
+        }
+    }
+}
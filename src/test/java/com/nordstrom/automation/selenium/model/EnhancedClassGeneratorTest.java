@@ -0,0 +1,174 @@
+package com.nordstrom.automation.selenium.model;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+public class EnhancedClassGeneratorTest {
+
+    @Test
+    public void testGeneratesFromConstructors() throws IOException {
+        File folder = newClassFolder(GeneratedPage.class, GeneratedComponent.class);
+        List<String> generated = EnhancedClassGenerator.generate(folder, folder);
+        assertEquals(new HashSet<>(generated), new HashSet<>(Arrays.asList(
+                        GeneratedPage.class.getName(), GeneratedComponent.class.getName())));
+        assertTrue(getProxyFile(folder, GeneratedPage.class).isFile());
+        assertTrue(getProxyFile(folder, GeneratedComponent.class).isFile());
+    }
+
+    @Test
+    public void testMatchingProxyIsUsed() throws Exception {
+        File folder = newClassFolder(GeneratedPage.class);
+        EnhancedClassGenerator.generate(folder, folder);
+
+        try (IsolatingLoader loader = new IsolatingLoader(folder, GeneratedPage.class)) {
+            Class<?> containerClass = loader.loadClass(GeneratedPage.class.getName());
+            Class<?> proxyClass = Enhanceable.getPregeneratedProxy(containerClass);
+            assertNotNull(proxyClass, "Pre-generated proxy should match its container class");
+            assertSame(proxyClass.getClassLoader(), loader);
+            assertSame(enhance(containerClass).getClass(), proxyClass);
+        }
+    }
+
+    @Test
+    public void testStaleProxyIsIgnored() throws Exception {
+        File folder = newClassFolder(GeneratedPage.class);
+        GeneratedPage prototype = new GeneratedPage(mock(WebDriver.class));
+        Enhanceable.makeProxy(GeneratedPage.class, prototype, "stale").saveIn(folder);
+
+        try (IsolatingLoader loader = new IsolatingLoader(folder, GeneratedPage.class)) {
+            Class<?> containerClass = loader.loadClass(GeneratedPage.class.getName());
+            Class<?> staleClass = loader.loadClass(Enhanceable.getProxyName(GeneratedPage.class));
+            assertSame(staleClass.getClassLoader(), loader);
+            assertNull(Enhanceable.getPregeneratedProxy(containerClass), "Stale proxy should have been rejected");
+
+            Object container = enhance(containerClass);
+            assertTrue(container instanceof Enhanced, "Container should have been enhanced dynamically");
+            assertNotSame(container.getClass(), staleClass);
+            assertSame(container.getClass().getSuperclass(), containerClass);
+        }
+    }
+
+    @Test
+    public void testUnfingerprintedProxyIsIgnored() throws Exception {
+        File folder = newClassFolder(GeneratedPage.class);
+        GeneratedPage prototype = new GeneratedPage(mock(WebDriver.class));
+        Enhanceable.makeProxy(GeneratedPage.class, prototype, null).saveIn(folder);
+
+        try (IsolatingLoader loader = new IsolatingLoader(folder, GeneratedPage.class)) {
+            Class<?> containerClass = loader.loadClass(GeneratedPage.class.getName());
+            assertNull(Enhanceable.getPregeneratedProxy(containerClass),
+                            "Proxy without fingerprint should be ignored");
+        }
+    }
+
+    /**
+     * Create an enhanced instance of the specified page class.
+     *
+     * @param containerClass page class
+     * @return enhanced page object
+     * @throws ReflectiveOperationException if the page cannot be instantiated
+     */
+    private static Object enhance(final Class<?> containerClass) throws ReflectiveOperationException {
+        Page page = (Page) containerClass.getConstructor(WebDriver.class).newInstance(mock(WebDriver.class));
+        return page.enhanceContainer(page);
+    }
+
+    /**
+     * Create a temporary class folder that contains copies of the class files of the specified member classes and
+     * of this test class, which declares them.
+     *
+     * @param classes classes to copy
+     * @return temporary class folder
+     * @throws IOException if class files cannot be copied
+     */
+    private static File newClassFolder(final Class<?>... classes) throws IOException {
+        Path folder = Files.createTempDirectory("enhanced");
+        folder.toFile().deleteOnExit();
+        List<Class<?>> classList = new ArrayList<>(Arrays.asList(classes));
+        classList.add(EnhancedClassGeneratorTest.class);
+        for (Class<?> clazz : classList) {
+            String resource = clazz.getName().replace('.', '/') + ".class";
+            Path target = folder.resolve(resource);
+            Files.createDirectories(target.getParent());
+            try (InputStream is = clazz.getClassLoader().getResourceAsStream(resource)) {
+                Files.copy(is, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return folder.toFile();
+    }
+
+    private static File getProxyFile(final File folder, final Class<?> containerClass) {
+        return new File(folder, Enhanceable.getProxyName(containerClass).replace('.', '/') + ".class");
+    }
+
+    /**
+     * This class loader defines the specified container class, its proxy, and this test class from a class folder,
+     * so they can be examined in isolation from the copies on the test class path.
+     */
+    private static class IsolatingLoader extends URLClassLoader {
+
+        private final List<String> classNames;
+
+        IsolatingLoader(final File folder, final Class<?> containerClass) throws IOException {
+            super(new URL[] {folder.toURI().toURL()}, containerClass.getClassLoader());
+            classNames = Arrays.asList(containerClass.getName(), Enhanceable.getProxyName(containerClass),
+                            EnhancedClassGeneratorTest.class.getName());
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!classNames.contains(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null) {
+                    clazz = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
+            }
+        }
+    }
+
+    public static class GeneratedPage extends Page {
+
+        public GeneratedPage(final WebDriver driver) {
+            super(driver);
+        }
+
+        public String getLabel() {
+            return null;
+        }
+    }
+
+    public static class GeneratedComponent extends PageComponent {
+
+        public GeneratedComponent(final RobustWebElement element, final ComponentContainer parent) {
+            super(element, parent);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.nordstrom.automation.selenium.model;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
@@ -24,6 +26,7 @@ public class ExamplePage extends Page {
     private FrameComponent frameByIndex;
     private FrameComponent frameById;
     private TableComponent table;
+    private HtmlTable htmlTable;
     private List<TableComponent> tableList;
     private Map<Object, TableComponent> tableMap;
     private List<FrameComponent> frameList;
@@ -104,6 +107,13 @@ public class ExamplePage extends Page {
         return table;
     }
     
+    public HtmlTable getHtmlTable() {
+        if (htmlTable == null) {
+            htmlTable = new HtmlTable(Using.TABLE.locator, this);
+        }
+        return htmlTable;
+    }
+    
     public List<TableComponent> getTableList() {
         if (tableList == null) {
             tableList = newComponentList(TableComponent.class, Using.TABLE.locator);
@@ -177,4 +187,16 @@ public class ExamplePage extends Page {
         return findElement(Using.CHECK).isSelected();
     }
     
+    public int setFormValues(String input, boolean checked) {
+        Map<Using, Object> values = new LinkedHashMap<>();
+        values.put(Using.INPUT, input);
+        values.put(Using.CHECK, checked);
+        Set<Using> changed = updateValues(values);
+        return changed.size();
+    }
+    
+    public Set<String> setFormFields(Map<String, ?> fields) {
+        return updateFields(fields);
+    }
+    
 }
@@ -24,6 +24,26 @@ public class ModelTest extends TestNgBase {
         ModelTestCore.testTable(this);
     }
 
+    @Test
+    public void testHtmlTable() {
+        ModelTestCore.testHtmlTable(this);
+    }
+
+    @Test
+    public void testCommandMetrics() {
+        ModelTestCore.testCommandMetrics(this);
+    }
+
+    @Test
+    public void testTimeline() {
+        ModelTestCore.testTimeline(this);
+    }
+
+    @Test
+    public void testSnapshot() {
+        ModelTestCore.testSnapshot(this);
+    }
+
     @Test
     public void testFrameByLocator() {
         ModelTestCore.testFrameByLocator(this);
@@ -49,6 +69,16 @@ public class ModelTest extends TestNgBase {
         ModelTestCore.testComponentList(this);
     }
     
+    @Test
+    public void testPagedComponentList() {
+        ModelTestCore.testPagedComponentList(this);
+    }
+    
+    @Test
+    public void testUpdateValues() {
+        ModelTestCore.testUpdateValues(this);
+    }
+    
     @Test
     public void testComponentMap() {
         ModelTestCore.testComponentMap(this);
@@ -0,0 +1,105 @@
+package com.nordstrom.automation.selenium.model;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.core.JsUtility;
+import com.nordstrom.automation.selenium.support.TestNgBase;
+
+@InitialPage(ExamplePage.class)
+public class RobustElementWrapperTest extends TestNgBase {
+
+    private static final By PARA_1 = By.id("para-1");
+    private static final String PARA_1_ID = "para-1";
+    private static final String PARA_1_TEXT = "This is paragraph one.";
+    private static final String RE_RENDER =
+                    "var p = document.getElementById('para-1');"
+                  + "p.parentNode.replaceChild(p.cloneNode(true), p);";
+
+    @Test
+    public void testProxyRefreshAfterStale() {
+        WebElement para1 = getInitialPage().findElement(PARA_1);
+        RobustElementWrapper wrapper = getWrapper(para1);
+        assertEquals(para1.getText(), PARA_1_TEXT);
+
+        long acquiredAt = makeStale(wrapper);
+        assertEquals(para1.getText(), PARA_1_TEXT);
+        assertRefreshed(wrapper, acquiredAt);
+    }
+
+    @Test
+    public void testTypedMethodsRefreshAfterStale() {
+        RobustElementWrapper wrapper = getWrapper(getInitialPage().findElement(PARA_1));
+        assertEquals(wrapper.getText(), PARA_1_TEXT);
+
+        long acquiredAt = makeStale(wrapper);
+        assertEquals(wrapper.getText(), PARA_1_TEXT);
+        assertRefreshed(wrapper, acquiredAt);
+
+        acquiredAt = makeStale(wrapper);
+        assertEquals(wrapper.getTagName(), "p");
+        assertRefreshed(wrapper, acquiredAt);
+
+        acquiredAt = makeStale(wrapper);
+        assertEquals(wrapper.getAttribute("id"), PARA_1_ID);
+        assertRefreshed(wrapper, acquiredAt);
+
+        acquiredAt = makeStale(wrapper);
+        assertTrue(wrapper.isDisplayed());
+        assertRefreshed(wrapper, acquiredAt);
+
+        acquiredAt = makeStale(wrapper);
+        assertTrue(wrapper.isEnabled());
+        assertRefreshed(wrapper, acquiredAt);
+
+        acquiredAt = makeStale(wrapper);
+        assertNotNull(wrapper.getLocation());
+        assertRefreshed(wrapper, acquiredAt);
+
+        acquiredAt = makeStale(wrapper);
+        assertNotNull(wrapper.getSize());
+        assertRefreshed(wrapper, acquiredAt);
+
+        acquiredAt = makeStale(wrapper);
+        assertNotNull(wrapper.getCssValue("display"));
+        assertRefreshed(wrapper, acquiredAt);
+
+        acquiredAt = makeStale(wrapper);
+        wrapper.click();
+        assertRefreshed(wrapper, acquiredAt);
+    }
+
+    /**
+     * Replace the target element with a copy, leaving the reference held by the specified wrapper stale.
+     *
+     * @param wrapper robust element wrapper
+     * @return acquisition sequence number of the stale reference
+     */
+    private long makeStale(final RobustElementWrapper wrapper) {
+        JsUtility.run(getDriver(), RE_RENDER);
+        assertTrue(wrapper.isStale(), "Reference to replaced element should be stale");
+        return wrapper.acquiredAt();
+    }
+
+    /**
+     * Verify that the specified wrapper acquired a fresh reference.
+     *
+     * @param wrapper robust element wrapper
+     * @param acquiredAt acquisition sequence number of the stale reference
+     */
+    private static void assertRefreshed(final RobustElementWrapper wrapper, final long acquiredAt) {
+        assertFalse(wrapper.isStale(), "Stale reference should have been refreshed");
+        assertTrue(wrapper.acquiredAt() > acquiredAt, "Reference should have been re-acquired");
+    }
+
+    private static RobustElementWrapper getWrapper(final WebElement element) {
+        return ((RobustElementFactory.InterceptionAccessor) element).getInterceptor();
+    }
+}
@@ -0,0 +1,81 @@
+package com.nordstrom.automation.selenium.model;
+
+import static org.testng.Assert.assertEquals;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.AbstractSeleniumConfig.SeleniumSettings;
+import com.nordstrom.automation.selenium.SeleniumConfig;
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.core.JsUtility;
+import com.nordstrom.automation.selenium.support.TestNgBase;
+
+@InitialPage(ExamplePage.class)
+public class SiblingReferencesTest extends TestNgBase {
+
+    private static final By PARA_1 = By.id("para-1");
+    private static final By PARA_2 = By.id("para-2");
+    private static final String PARA_1_TEXT = "This is paragraph one.";
+    private static final String PARA_2_TEXT = "This is paragraph two.";
+    private static final String RE_RENDER =
+                    "var ids = ['para-1', 'para-2'];"
+                  + "for (var i = 0; i < ids.length; i++) {"
+                  + "  var p = document.getElementById(ids[i]);"
+                  + "  p.parentNode.replaceChild(p.cloneNode(true), p);"
+                  + "}";
+
+    private String batchRefresh;
+
+    @BeforeMethod
+    public void enableBatch() {
+        SeleniumConfig config = SeleniumConfig.getConfig();
+        batchRefresh = config.getString(SeleniumSettings.BATCH_REFRESH.key());
+        config.setProperty(SeleniumSettings.BATCH_REFRESH.key(), "true");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreBatch() {
+        SeleniumConfig.getConfig().setProperty(SeleniumSettings.BATCH_REFRESH.key(), batchRefresh);
+    }
+
+    @Test
+    public void testBatchRefresh() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        WebElement para1 = page.findElement(PARA_1);
+        WebElement para2 = page.findElement(PARA_2);
+        assertEquals(para1.getText(), PARA_1_TEXT);
+        assertEquals(para2.getText(), PARA_2_TEXT);
+
+        JsUtility.run(getDriver(), RE_RENDER);
+        // refreshing one stale element acquires candidates for its siblings
+        assertEquals(para1.getText(), PARA_1_TEXT);
+        WebElement candidate = page.getSiblingReferences().refresh(getWrapper(para2));
+        assertEquals(candidate, getDriver().findElement(PARA_2), "Sibling candidate should match current element");
+        assertEquals(para2.getText(), PARA_2_TEXT);
+    }
+
+    @Test
+    public void testStaleCandidate() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        WebElement para1 = page.findElement(PARA_1);
+        WebElement para2 = page.findElement(PARA_2);
+        assertEquals(para1.getText(), PARA_1_TEXT);
+        assertEquals(para2.getText(), PARA_2_TEXT);
+
+        JsUtility.run(getDriver(), RE_RENDER);
+        assertEquals(para1.getText(), PARA_1_TEXT);
+
+        // re-render again, leaving the candidate acquired for the sibling stale
+        JsUtility.run(getDriver(), RE_RENDER);
+        assertEquals(para2.getText(), PARA_2_TEXT);
+        assertEquals(para1.getText(), PARA_1_TEXT);
+    }
+
+    private static RobustElementWrapper getWrapper(final WebElement element) {
+        return ((RobustElementFactory.InterceptionAccessor) element).getInterceptor();
+    }
+}
@@ -0,0 +1,129 @@
+package com.nordstrom.automation.selenium.model;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.annotations.NoDriver;
+import com.nordstrom.automation.selenium.support.TestNgBase;
+
+@InitialPage(ExamplePage.class)
+public class StaleContextTest extends TestNgBase {
+
+    private static final String FRAME_B = "Frame B";
+
+    @NoDriver
+    @Test
+    public void testStaleProbe() {
+        assertFalse(RobustElementWrapper.isStale(mock(WebElement.class)));
+        assertTrue(RobustElementWrapper.isStale(failingElement(new StaleElementReferenceException("stale"))));
+        assertTrue(RobustElementWrapper.isStale(failingElement(new NoSuchElementException("missing"))),
+                        "Missing reference should be treated as stale");
+    }
+
+    @NoDriver
+    @Test(expectedExceptions = {TimeoutException.class})
+    public void testStaleProbeFailure() {
+        RobustElementWrapper.isStale(failingElement(new TimeoutException("timed out")));
+    }
+
+    @NoDriver
+    @Test(expectedExceptions = {NoSuchSessionException.class})
+    public void testStaleProbeSessionLoss() {
+        RobustElementWrapper.isStale(failingElement(new NoSuchSessionException("gone")));
+    }
+
+    @Test
+    public void testComponentRefreshAfterNavigation() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        TableComponent table = page.getTable();
+        ReferenceFetcher element = (ReferenceFetcher) table.getWrappedElement();
+        long acquiredAt = table.acquiredAt();
+
+        // live context isn't re-acquired, even if past the expiration
+        table.refreshContext(acquiredAt);
+        assertFalse(element.isStale());
+        assertEquals(table.acquiredAt(), acquiredAt, "Live context should not have been re-acquired");
+
+        getDriver().navigate().refresh();
+        assertTrue(element.isStale(), "Context from prior document should be stale");
+        table.refreshContext(table.acquiredAt());
+        assertFalse(element.isStale());
+        assertTrue(table.acquiredAt() > acquiredAt, "Stale context should have been re-acquired");
+    }
+
+    @Test
+    public void testFrameRefreshAfterNavigation() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        FrameComponent frame = page.getFrameByElement();
+        assertEquals(frame.getPageContent(), FRAME_B);
+        long acquiredAt = frame.acquiredAt();
+
+        // live frame element isn't re-acquired, even if past the expiration
+        frame.refreshContext(acquiredAt);
+        assertEquals(frame.acquiredAt(), acquiredAt, "Live frame element should not have been re-acquired");
+
+        // reload the top-level document, not just the frame
+        getDriver().switchTo().defaultContent();
+        getDriver().navigate().refresh();
+        frame.refreshContext(frame.acquiredAt());
+        assertTrue(frame.acquiredAt() > acquiredAt, "Stale frame element should have been re-acquired");
+        assertEquals(frame.getPageContent(), FRAME_B);
+    }
+
+    @Test
+    public void testFrameSwitchRetriesOnce() {
+        ExamplePage page = (ExamplePage) getInitialPage();
+        RobustWebElement element = (RobustWebElement) page.findElement(By.cssSelector("iframe#frame-b"));
+        StuckFrame frame = new StuckFrame(element, page);
+        try {
+            frame.switchTo();
+            fail("Switch to stuck frame should have failed");
+        } catch (StaleElementReferenceException e) {
+            assertEquals(e.getMessage().split("\n")[0], StuckFrame.MESSAGE + 1,
+                            "Original exception should have been thrown");
+        }
+        assertEquals(frame.attempts.get(), 2, "Switch should have been retried once");
+    }
+
+    private static WebElement failingElement(final WebDriverException exception) {
+        WebElement element = mock(WebElement.class);
+        when(element.getTagName()).thenThrow(exception);
+        return element;
+    }
+
+    /**
+     * This class models a frame whose element is reported as stale on every switch, even after refresh.
+     */
+    private static class StuckFrame extends Frame {
+
+        static final String MESSAGE = "stuck frame switch #";
+
+        final AtomicInteger attempts = new AtomicInteger();
+
+        StuckFrame(final RobustWebElement element, final ComponentContainer parent) {
+            super(element, parent);
+        }
+
+        @Override
+        protected SearchContext switchToContext() {
+            throw new StaleElementReferenceException(MESSAGE + attempts.incrementAndGet());
+        }
+    }
+}
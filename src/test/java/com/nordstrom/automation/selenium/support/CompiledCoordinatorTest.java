@@ -0,0 +1,119 @@
+package com.nordstrom.automation.selenium.support;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.testng.annotations.Test;
+
+import com.nordstrom.automation.selenium.annotations.InitialPage;
+import com.nordstrom.automation.selenium.core.JsUtility;
+import com.nordstrom.automation.selenium.model.ExamplePage;
+
+@InitialPage(ExamplePage.class)
+public class CompiledCoordinatorTest extends TestNgBase {
+
+    private static final long SLICE = 100;
+    private static final String FIXTURE = "<div id='shown'>Some   spaced\n text</div>"
+                    + "<div id='hidden' style='display:none'>Hidden text</div>"
+                    + "<div id='unseen' style='visibility:hidden'>Unseen text</div>"
+                    + "<div id='blank'>  </div>"
+                    + "<span class='item' style='display:none'>first</span><span class='item'>second</span>"
+                    + "<select><option id='option'>One</option></select>"
+                    + "<input id='field' value='entered'>";
+
+    @Test
+    public void testPresence() {
+        addFixture();
+        verifyHolds(Coordinators.presenceOfElementLocated(By.id("shown")));
+        verifyFails(Coordinators.presenceOfElementLocated(By.id("absent")));
+    }
+
+    @Test
+    public void testVisibility() {
+        addFixture();
+        verifyHolds(Coordinators.visibilityOfElementLocated(By.id("shown")));
+        verifyHolds(Coordinators.visibilityOfElementLocated(By.xpath("//div[@id='shown']")));
+        verifyFails(Coordinators.visibilityOfElementLocated(By.id("hidden")));
+        verifyFails(Coordinators.visibilityOfElementLocated(By.id("unseen")));
+        verifyConsistent(Coordinators.visibilityOfElementLocated(By.id("option")));
+        verifyHolds(Coordinators.visibilityOfAnyElementLocated(By.className("item")));
+        verifyFails(Coordinators.visibilityOfAnyElementLocated(By.id("hidden")));
+    }
+
+    @Test
+    public void testText() {
+        addFixture();
+        verifyHolds(Coordinators.textToBePresentInElementLocated(By.id("shown"), "Some spaced text"));
+        verifyFails(Coordinators.textToBePresentInElementLocated(By.id("shown"), "missing"));
+        verifyHolds(Coordinators.textToNotBeEmptyInElementLocated(By.id("shown")));
+        verifyFails(Coordinators.textToNotBeEmptyInElementLocated(By.id("blank")));
+        verifyConsistent(Coordinators.textToNotBeEmptyInElementLocated(By.id("hidden")));
+    }
+
+    @Test
+    public void testValue() {
+        addFixture();
+        verifyHolds(Coordinators.textToBePresentInElementValue(By.id("field"), "enter"));
+        verifyFails(Coordinators.textToBePresentInElementValue(By.id("field"), "other"));
+    }
+
+    @Test
+    public void testUncompiledConditions() {
+        assertFalse(Coordinators.invisibilityOfElementLocated(By.id("hidden")) instanceof CompiledCoordinator,
+                        "Invisibility should be evaluated by standard polling");
+        assertFalse(Coordinators.elementToHaveAttributeValue(By.id("field"), "value", "entered")
+                        instanceof CompiledCoordinator, "Attribute value should be evaluated by standard polling");
+    }
+
+    /**
+     * Verify that the specified condition is satisfied, both in WebDriver and in the browser.
+     *
+     * @param coordinator compiled coordinator
+     */
+    private void verifyHolds(final Coordinator<?> coordinator) {
+        assertTrue(holdsInDriver(coordinator), "WebDriver should find condition satisfied: " + coordinator);
+        assertTrue(holdsInBrowser(coordinator), "Browser should find condition satisfied: " + coordinator);
+    }
+
+    /**
+     * Verify that the specified condition is unsatisfied, both in WebDriver and in the browser.
+     *
+     * @param coordinator compiled coordinator
+     */
+    private void verifyFails(final Coordinator<?> coordinator) {
+        assertFalse(holdsInDriver(coordinator), "WebDriver should find condition unsatisfied: " + coordinator);
+        assertFalse(holdsInBrowser(coordinator), "Browser should find condition unsatisfied: " + coordinator);
+    }
+
+    /**
+     * Verify that the browser finds the specified condition satisfied if WebDriver does.
+     *
+     * @param coordinator compiled coordinator
+     */
+    private void verifyConsistent(final Coordinator<?> coordinator) {
+        if (holdsInDriver(coordinator)) {
+            assertTrue(holdsInBrowser(coordinator), "Browser should find condition satisfied: " + coordinator);
+        }
+    }
+
+    private boolean holdsInDriver(final Coordinator<?> coordinator) {
+        try {
+            Object result = ((CompiledCoordinator<?>) coordinator).evaluate(getDriver());
+            return (result != null) && !Boolean.FALSE.equals(result);
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    private boolean holdsInBrowser(final Coordinator<?> coordinator) {
+        return ((CompiledCoordinator<?>) coordinator).awaitInBrowser(getDriver(), SLICE);
+    }
+
+    private void addFixture() {
+        String script = "var div = document.createElement('div'); div.id = 'fixture';"
+                        + "div.innerHTML = arguments[0]; document.body.appendChild(div);";
+        JsUtility.run(getDriver(), script, FIXTURE);
+    }
+}
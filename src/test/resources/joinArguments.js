@@ -0,0 +1,2 @@
+var args = Array.prototype.slice.call(arguments);
+return args.length ? args.join('|') : null;